@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Throughput and p99 latency of the platform-thread and virtual-thread request modes.
+#
+# Starts the application twice against the same MySQL database, once with
+# DOCTORHUB_VIRTUAL_THREADS=false and once with true, and drives the JDBC-bound list
+# endpoints with wrk at a connection count well above the Tomcat worker pool (200).
+# Seed the database first so the list endpoints return full pages.
+#
+# Requires wrk and a built jar:
+#   ./gradlew bootJar
+#   benchmark/load/threading_modes.sh [connections] [duration]
+#
+# Prints one line per mode and endpoint with requests/sec, p99 latency and non-2xx
+# responses (requests rejected with 503 by connection admission control).
+
+set -euo pipefail
+
+CONNECTIONS=${1:-1000}
+DURATION=${2:-60s}
+PORT=${PORT:-8080}
+JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+ENDPOINTS=(
+    "/api/v1/doctors?limit=50"
+    "/api/v1/users?limit=50"
+    "/api/v1/appointment-slots?limit=50"
+)
+
+wait_for_port() {
+    for _ in $(seq 1 60); do
+        if curl -sf -o /dev/null "http://localhost:${PORT}/api/v1/doctors?limit=1"; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "application did not start" >&2
+    return 1
+}
+
+for virtual in false true; do
+    DOCTORHUB_VIRTUAL_THREADS=$virtual java -jar "$JAR" --server.port="$PORT" > "build/threading_${virtual}.log" 2>&1 &
+    app=$!
+    trap 'kill $app 2>/dev/null' EXIT
+    wait_for_port
+
+    for endpoint in "${ENDPOINTS[@]}"; do
+        # Warm up the JIT and the connection pool before measuring
+        wrk -t4 -c100 -d15s "http://localhost:${PORT}${endpoint}" > /dev/null
+        result=$(wrk -t8 -c"$CONNECTIONS" -d"$DURATION" --latency "http://localhost:${PORT}${endpoint}")
+        rps=$(awk '/Requests\/sec/ {print $2}' <<< "$result")
+        p99=$(awk '$1 == "99%" {print $2}' <<< "$result")
+        errors=$(awk '/Non-2xx/ {print $NF}' <<< "$result")
+        printf "virtual=%-5s %-38s %10s req/s  p99 %8s  non-2xx %s\n" "$virtual" "$endpoint" "$rps" "$p99" "${errors:-0}"
+    done
+
+    kill $app
+    wait $app 2>/dev/null || true
+done
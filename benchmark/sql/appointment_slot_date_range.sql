@@ -0,0 +1,125 @@
+-- Query plan and latency comparison for the appointment_slot date lookups at 10M rows.
+--
+-- Compares the old DATE(start_time) = ? predicate with the half-open
+-- start_time >= ? AND start_time < ? range now issued by AppointmentSlotRepository
+-- and AppointmentRepository, with and without the composite indexes declared on
+-- the AppointmentSlot and Appointment entities.
+--
+-- Requires MySQL 8.0.18+ (EXPLAIN ANALYZE). Run against a scratch server:
+--   mysql -u root < benchmark/sql/appointment_slot_date_range.sql
+-- Seeding takes a few minutes; EXPLAIN ANALYZE prints the chosen plan together
+-- with the actual rows examined and elapsed time of every step.
+
+DROP DATABASE IF EXISTS doctorhub_bench;
+CREATE DATABASE doctorhub_bench;
+USE doctorhub_bench;
+
+CREATE TABLE appointment_slot (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    doctor_id BIGINT NOT NULL,
+    start_time DATETIME(6) NOT NULL,
+    end_time DATETIME(6) NOT NULL,
+    is_available BIT(1) NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6)
+) ENGINE = InnoDB;
+
+CREATE TABLE appointment (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    appointment_slot_id BIGINT NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    patient_id BIGINT NOT NULL,
+    appointment_status TINYINT NOT NULL,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    UNIQUE KEY uk_appointment_slot (appointment_slot_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE digits (d INT PRIMARY KEY);
+INSERT INTO digits VALUES (0), (1), (2), (3), (4), (5), (6), (7), (8), (9);
+
+-- 10,000,000 slots: 5,000 doctors x 2,000 fifteen-minute slots spread over ~11 months
+INSERT INTO appointment_slot (doctor_id, start_time, end_time, is_available, created_at, updated_at)
+SELECT 1 + (seq.n % 5000),
+       TIMESTAMP('2025-01-01 08:00:00') + INTERVAL ((seq.n DIV 5000) * 4) HOUR,
+       TIMESTAMP('2025-01-01 08:15:00') + INTERVAL ((seq.n DIV 5000) * 4) HOUR,
+       (seq.n % 3) <> 0,
+       NOW(6),
+       NOW(6)
+FROM (
+    SELECT d1.d + 10 * d2.d + 100 * d3.d + 1000 * d4.d + 10000 * d5.d + 100000 * d6.d + 1000000 * d7.d AS n
+    FROM digits d1, digits d2, digits d3, digits d4, digits d5, digits d6, digits d7
+) seq;
+
+-- Every booked slot gets an appointment (~3.3M rows)
+INSERT INTO appointment (appointment_slot_id, doctor_id, patient_id, appointment_status, created_at, updated_at)
+SELECT s.id, s.doctor_id, 1 + (s.id % 200000), 1, NOW(6), NOW(6)
+FROM appointment_slot s
+WHERE s.is_available = 0;
+
+ANALYZE TABLE appointment_slot, appointment;
+
+-- ---------------------------------------------------------------------------
+-- 1. Without secondary indexes
+-- ---------------------------------------------------------------------------
+
+-- findByDoctorIdAndDate, old predicate
+EXPLAIN ANALYZE
+SELECT s.* FROM appointment_slot s
+WHERE s.doctor_id = 42 AND DATE(s.start_time) = '2025-06-01';
+
+-- findByDoctorIdAndDate, new predicate
+EXPLAIN ANALYZE
+SELECT s.* FROM appointment_slot s
+WHERE s.doctor_id = 42 AND s.start_time >= '2025-06-01' AND s.start_time < '2025-06-02';
+
+-- ---------------------------------------------------------------------------
+-- 2. With the indexes declared on the entities
+-- ---------------------------------------------------------------------------
+
+CREATE INDEX idx_slot_doctor_start_available ON appointment_slot (doctor_id, start_time, is_available);
+CREATE INDEX idx_slot_start_available ON appointment_slot (start_time, is_available);
+CREATE INDEX idx_appointment_doctor_status ON appointment (doctor_id, appointment_status);
+CREATE INDEX idx_appointment_patient_status ON appointment (patient_id, appointment_status);
+CREATE INDEX idx_appointment_status ON appointment (appointment_status);
+ANALYZE TABLE appointment_slot, appointment;
+
+-- findByDoctorIdAndDate, old predicate: DATE() still hides start_time, only doctor_id is usable
+EXPLAIN ANALYZE
+SELECT s.* FROM appointment_slot s
+WHERE s.doctor_id = 42 AND DATE(s.start_time) = '2025-06-01';
+
+-- findByDoctorIdAndDate, new predicate: range scan on (doctor_id, start_time)
+EXPLAIN ANALYZE
+SELECT s.* FROM appointment_slot s
+WHERE s.doctor_id = 42 AND s.start_time >= '2025-06-01' AND s.start_time < '2025-06-02';
+
+-- findAvailableSlotsByDoctorAndDate, old predicate
+EXPLAIN ANALYZE
+SELECT s.* FROM appointment_slot s
+WHERE s.doctor_id = 42 AND DATE(s.start_time) = '2025-06-01' AND s.is_available = true;
+
+-- findAvailableSlotsByDoctorAndDate, new predicate
+EXPLAIN ANALYZE
+SELECT s.* FROM appointment_slot s
+WHERE s.doctor_id = 42 AND s.start_time >= '2025-06-01' AND s.start_time < '2025-06-02' AND s.is_available = true;
+
+-- AppointmentRepository.findByDate, old predicate: full scan of appointment_slot
+EXPLAIN ANALYZE
+SELECT a.* FROM appointment a JOIN appointment_slot s ON a.appointment_slot_id = s.id
+WHERE DATE(s.start_time) = '2025-06-01';
+
+-- AppointmentRepository.findByDate, new predicate: range scan on (start_time, is_available)
+EXPLAIN ANALYZE
+SELECT a.* FROM appointment a JOIN appointment_slot s ON a.appointment_slot_id = s.id
+WHERE s.start_time >= '2025-06-01' AND s.start_time < '2025-06-02';
+
+-- AppointmentRepository.findByDateRange, old predicate
+EXPLAIN ANALYZE
+SELECT a.* FROM appointment a JOIN appointment_slot s ON a.appointment_slot_id = s.id
+WHERE DATE(s.start_time) BETWEEN '2025-06-01' AND '2025-06-07';
+
+-- AppointmentRepository.findByDateRange, new predicate
+EXPLAIN ANALYZE
+SELECT a.* FROM appointment a JOIN appointment_slot s ON a.appointment_slot_id = s.id
+WHERE s.start_time >= '2025-06-01' AND s.start_time < '2025-06-08';
@@ -0,0 +1,144 @@
+package com.example.DoctorHub.benchmark;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+
+import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.cache.DaySlotCache;
+import com.example.DoctorHub.dto.AppointmentRequestDTO;
+import com.example.DoctorHub.dto.AppointmentResponseDTO;
+import com.example.DoctorHub.events.SlotEventBroadcaster;
+import com.example.DoctorHub.index.DoctorAvailabilityIndex;
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.model.Appointment;
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.Doctor;
+import com.example.DoctorHub.model.User;
+import com.example.DoctorHub.repository.AppointmentSlotRepository;
+import com.example.DoctorHub.repository.DoctorRepository;
+import com.example.DoctorHub.service.AppointmentServiceImpl;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+
+/**
+ * Booking throughput of {@link AppointmentServiceImpl#createAppointment} with application
+ * logging off, at INFO through a synchronous appender, and at INFO through the same
+ * AsyncAppender settings as logback-spring.xml. Output goes to a null stream so the numbers
+ * show formatting and hand-off cost rather than terminal or disk speed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BookingLoggingBenchmark {
+
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+    @Param({ "off", "sync", "async" })
+    public String logging;
+
+    private AppointmentServiceImpl appointmentService;
+    private AppointmentRequestDTO request;
+    private AppointmentSlot slot;
+    private Map<Long, Appointment> appointments;
+    private Logger applicationLogger;
+
+    @Setup
+    public void setUp() {
+        configureLogging();
+
+        Map<Long, Doctor> doctors = InMemoryRepositories.store();
+        Map<Long, User> users = InMemoryRepositories.store();
+        Map<Long, AppointmentSlot> slots = InMemoryRepositories.store();
+        appointments = InMemoryRepositories.store();
+
+        Doctor doctor = Fixtures.doctor(1, Fixtures.user(1, Role.DOCTOR));
+        User patient = Fixtures.user(2, Role.PATIENT);
+        slot = Fixtures.slot(1, doctor, LocalDateTime.now().plusDays(1), 30);
+        doctors.put(doctor.getId(), doctor);
+        users.put(patient.getId(), patient);
+        slots.put(slot.getId(), slot);
+
+        AppointmentSlotRepository appointmentSlotRepository = InMemoryRepositories.slots(slots);
+        DoctorRepository doctorRepository = InMemoryRepositories.doctors(doctors);
+        appointmentService = new AppointmentServiceImpl(InMemoryRepositories.appointments(appointments),
+            appointmentSlotRepository, doctorRepository, InMemoryRepositories.users(users),
+            new DoctorAvailabilityIndex(appointmentSlotRepository, doctorRepository, 366),
+            new DaySlotCache(10_000, Duration.ofMinutes(5)), new SlotEventBroadcaster(Duration.ofMinutes(30), Duration.ofSeconds(15), 64));
+
+        request = new AppointmentRequestDTO();
+        request.setAppointmentSlotId(Mapper.toIdString(slot.getId()));
+        request.setDoctorId(Mapper.toIdString(doctor.getId()));
+        request.setPatientId(Mapper.toIdString(patient.getId()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        applicationLogger.detachAndStopAllAppenders();
+    }
+
+    @Benchmark
+    public AppointmentResponseDTO createAppointment() {
+        AppointmentResponseDTO result = appointmentService.createAppointment(request);
+        // Free the slot again so every invocation books the same way
+        appointments.clear();
+        slot.setAvailable(true);
+        return result;
+    }
+
+    private void configureLogging() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        applicationLogger = context.getLogger("com.example.DoctorHub");
+        applicationLogger.detachAndStopAllAppenders();
+        applicationLogger.setAdditive(false);
+        if (logging.equals("off")) {
+            applicationLogger.setLevel(ch.qos.logback.classic.Level.OFF);
+            return;
+        }
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> sink = new OutputStreamAppender<>();
+        sink.setContext(context);
+        sink.setEncoder(encoder);
+        sink.setOutputStream(OutputStream.nullOutputStream());
+        sink.start();
+        Appender<ILoggingEvent> appender = sink;
+
+        if (logging.equals("async")) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setNeverBlock(true);
+            async.setIncludeCallerData(false);
+            async.addAppender(sink);
+            async.start();
+            appender = async;
+        }
+
+        applicationLogger.addAppender(appender);
+        applicationLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.DoctorHub.benchmark;
+
+import java.time.LocalDateTime;
+
+import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.Doctor;
+import com.example.DoctorHub.model.User;
+
+/**
+ * Entities shared by the benchmarks, filled the way the database would return them.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static User user(long id, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Dr. Jane Smith");
+        user.setEmail("user" + id + "@example.com");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoO5wG3GwLLl7c8Ji/bPbsUZ8QAJgR.8Pu");
+        user.setRole(role);
+        user.setCreatedAt(LocalDateTime.of(2024, 3, 1, 12, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 12, 0));
+        return user;
+    }
+
+    static Doctor doctor(long id, User user) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        doctor.setUser(user);
+        doctor.setSpecialization("Cardiology");
+        doctor.setLicenseNumber("LIC-" + id);
+        doctor.setRating(4.7);
+        doctor.setCreatedAt(user.getCreatedAt());
+        doctor.setUpdatedAt(user.getUpdatedAt());
+        return doctor;
+    }
+
+    static AppointmentSlot slot(long id, Doctor doctor, LocalDateTime startTime, int lengthMinutes) {
+        AppointmentSlot slot = new AppointmentSlot();
+        slot.setId(id);
+        slot.setDoctor(doctor);
+        slot.setStartTime(startTime);
+        slot.setEndTime(startTime.plusMinutes(lengthMinutes));
+        slot.setAvailable(true);
+        return slot;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.DoctorHub.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.DoctorHub.model.Appointment;
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.BaseModel;
+import com.example.DoctorHub.model.Doctor;
+import com.example.DoctorHub.model.User;
+import com.example.DoctorHub.repository.AppointmentRepository;
+import com.example.DoctorHub.repository.AppointmentSlotRepository;
+import com.example.DoctorHub.repository.DoctorRepository;
+import com.example.DoctorHub.repository.UserRepository;
+
+/**
+ * Map-backed stand-ins for the Spring Data repositories, implementing only the methods the
+ * benchmarked code paths call. Anything else throws, so a benchmark cannot silently measure
+ * an unimplemented call.
+ */
+final class InMemoryRepositories {
+
+    // Generated ids start well above the hand-assigned fixture ids
+    private static final AtomicLong IDS = new AtomicLong(1_000_000_000L);
+
+    private InMemoryRepositories() {
+    }
+
+    static DoctorRepository doctors(Map<Long, Doctor> doctors) {
+        return proxy(DoctorRepository.class, (name, args) -> switch (name) {
+            case "findById" -> Optional.ofNullable(doctors.get((Long) args[0]));
+            case "save" -> save(doctors, (Doctor) args[0]);
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    static AppointmentSlotRepository slots(Map<Long, AppointmentSlot> slots) {
+        return proxy(AppointmentSlotRepository.class, (name, args) -> switch (name) {
+            case "findById" -> Optional.ofNullable(slots.get((Long) args[0]));
+            case "findByDoctorId" -> slots.values().stream()
+                .filter(slot -> slot.getDoctor().getId().equals(args[0]))
+                .toList();
+            case "findByDoctorIdAndEndTimeAfter" -> slots.values().stream()
+                .filter(slot -> slot.getDoctor().getId().equals(args[0]))
+                .filter(slot -> slot.getEndTime().isAfter((LocalDateTime) args[1]))
+                .toList();
+            case "save" -> save(slots, (AppointmentSlot) args[0]);
+            case "claimSlot" -> {
+                AppointmentSlot slot = slots.get((Long) args[0]);
+                if (slot == null || !slot.isAvailable()) {
+                    yield 0;
+                }
+                slot.setAvailable(false);
+                yield 1;
+            }
+            case "saveAll" -> {
+                List<AppointmentSlot> saved = new ArrayList<>();
+                for (Object slot : (Iterable<?>) args[0]) {
+                    saved.add(save(slots, (AppointmentSlot) slot));
+                }
+                yield saved;
+            }
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    static UserRepository users(Map<Long, User> users) {
+        return proxy(UserRepository.class, (name, args) -> switch (name) {
+            case "findById" -> Optional.ofNullable(users.get((Long) args[0]));
+            case "save" -> save(users, (User) args[0]);
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    static AppointmentRepository appointments(Map<Long, Appointment> appointments) {
+        return proxy(AppointmentRepository.class, (name, args) -> switch (name) {
+            case "findById" -> Optional.ofNullable(appointments.get((Long) args[0]));
+            case "save" -> save(appointments, (Appointment) args[0]);
+            case "deleteById" -> {
+                appointments.remove((Long) args[0]);
+                yield null;
+            }
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    static <T extends BaseModel> T save(Map<Long, T> store, T entity) {
+        if (entity.getId() == null) {
+            entity.setId(IDS.incrementAndGet());
+        }
+        store.put(entity.getId(), entity);
+        return entity;
+    }
+
+    static <T extends BaseModel> Map<Long, T> store() {
+        return new ConcurrentHashMap<>();
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(String methodName, Object[] args);
+    }
+
+    private static <R> R proxy(Class<R> repository, Handler handler) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[] { repository },
+            (proxy, method, args) -> switch (method.getName()) {
+                case "toString" -> "InMemory" + repository.getSimpleName();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> handler.handle(method.getName(), args);
+            }));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.DoctorHub.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.DoctorHub.Enum.AppointmentStatus;
+import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.dto.AppointmentResponseDTO;
+import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.DoctorResponseDTO;
+import com.example.DoctorHub.dto.RecurringSlotResponseDTO;
+import com.example.DoctorHub.dto.UserResponseDTO;
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.model.Doctor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * JSON serialization of every response DTO, configured like the Spring Boot ObjectMapper
+ * (java.time support, ISO dates rather than timestamps).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonSerializationBenchmark {
+
+    @Param({ "doctor", "user", "appointment", "appointmentSlot", "recurringSlot" })
+    public String dto;
+
+    private ObjectWriter writer;
+    private Object value;
+
+    @Setup
+    public void setUp() {
+        JsonMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        value = switch (dto) {
+            case "doctor" -> doctor();
+            case "user" -> user();
+            case "appointment" -> appointment();
+            case "appointmentSlot" -> appointmentSlot();
+            case "recurringSlot" -> new RecurringSlotResponseDTO("1", 480, 470, 10);
+            default -> throw new IllegalArgumentException("Unknown DTO: " + dto);
+        };
+        writer = objectMapper.writerFor(value.getClass());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(value);
+    }
+
+    private static DoctorResponseDTO doctor() {
+        return Mapper.toDoctorResponseDTO(Fixtures.doctor(1, Fixtures.user(1, Role.DOCTOR)));
+    }
+
+    private static UserResponseDTO user() {
+        return Mapper.toUserResponseDTO(Fixtures.user(2, Role.PATIENT));
+    }
+
+    private static AppointmentResponseDTO appointment() {
+        AppointmentResponseDTO appointment = new AppointmentResponseDTO();
+        appointment.setAppointmentSlotId("1");
+        appointment.setDoctorId("1");
+        appointment.setPatientId("2");
+        appointment.setAppointmentStatus(AppointmentStatus.CONFIRMED);
+        return appointment;
+    }
+
+    private static AppointmentSlotResponseDTO appointmentSlot() {
+        Doctor doctor = Fixtures.doctor(1, Fixtures.user(1, Role.DOCTOR));
+        return Mapper.toAppointmentSlotResponseDTO(Fixtures.slot(1, doctor, LocalDateTime.of(2030, 1, 15, 9, 0), 30));
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.DoctorHub.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.DoctorHub.Enum.AppointmentStatus;
+import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.dto.AppointmentResponseDTO;
+import com.example.DoctorHub.dto.DoctorResponseDTO;
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.model.Appointment;
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.Doctor;
+import com.example.DoctorHub.model.User;
+
+/**
+ * Entity to response DTO mapping, run once per row by every list endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private Doctor doctor;
+    private Appointment appointment;
+
+    @Setup
+    public void setUp() {
+        doctor = Fixtures.doctor(1, Fixtures.user(1, Role.DOCTOR));
+        User patient = Fixtures.user(2, Role.PATIENT);
+        AppointmentSlot slot = Fixtures.slot(1, doctor, LocalDateTime.of(2030, 1, 15, 9, 0), 30);
+
+        appointment = new Appointment();
+        appointment.setId(1L);
+        appointment.setAppointmentSlot(slot);
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setAppointmentStatus(AppointmentStatus.SCHEDULED);
+    }
+
+    @Benchmark
+    public DoctorResponseDTO toDoctorResponseDTO() {
+        return Mapper.toDoctorResponseDTO(doctor);
+    }
+
+    @Benchmark
+    public AppointmentResponseDTO toAppointmentResponseDTO() {
+        return Mapper.toAppointmentResponseDTO(appointment);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.DoctorHub.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.example.DoctorHub.Enum.RecurrencePattern;
+import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.cache.DaySlotCache;
+import com.example.DoctorHub.cache.DoctorExistenceCache;
+import com.example.DoctorHub.dto.RecurringSlotRequestDTO;
+import com.example.DoctorHub.dto.RecurringSlotResponseDTO;
+import com.example.DoctorHub.events.SlotEventBroadcaster;
+import com.example.DoctorHub.index.DoctorAvailabilityIndex;
+import com.example.DoctorHub.index.SlotIntervalIndex;
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.Doctor;
+import com.example.DoctorHub.repository.AppointmentSlotRepository;
+import com.example.DoctorHub.repository.DoctorRepository;
+import com.example.DoctorHub.service.AppointmentSlotServiceImpl;
+
+/**
+ * Slot conflict detection in {@link AppointmentSlotServiceImpl} for a doctor whose calendar
+ * already holds bookedDays of 30-minute slots from 09:00 to 17:00.
+ *
+ * The recurring benchmark re-submits a week that is fully booked, so every generated slot
+ * is a conflict and the calendar does not grow between invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SlotConflictBenchmark {
+
+    private static final long DOCTOR_KEY = 1;
+    private static final String DOCTOR_ID = String.valueOf(DOCTOR_KEY);
+    private static final int SLOT_MINUTES = 30;
+
+    @Param({ "30", "365" })
+    public int bookedDays;
+
+    private SlotIntervalIndex slotIntervalIndex;
+    private AppointmentSlotServiceImpl appointmentSlotService;
+    private RecurringSlotRequestDTO bookedWeek;
+    private LocalDateTime busyStart;
+    private LocalDateTime freeStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Map<Long, Doctor> doctors = InMemoryRepositories.store();
+        Map<Long, AppointmentSlot> slots = InMemoryRepositories.store();
+        Doctor doctor = Fixtures.doctor(DOCTOR_KEY, Fixtures.user(1, Role.DOCTOR));
+        doctors.put(DOCTOR_KEY, doctor);
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        long id = 0;
+        for (int day = 0; day < bookedDays; day++) {
+            LocalDateTime start = LocalDateTime.of(firstDay.plusDays(day), LocalTime.of(9, 0));
+            for (int i = 0; i < 16; i++) {
+                id++;
+                slots.put(id, Fixtures.slot(id, doctor, start.plusMinutes((long) i * SLOT_MINUTES), SLOT_MINUTES));
+            }
+        }
+
+        AppointmentSlotRepository appointmentSlotRepository = InMemoryRepositories.slots(slots);
+        DoctorRepository doctorRepository = InMemoryRepositories.doctors(doctors);
+        slotIntervalIndex = new SlotIntervalIndex(appointmentSlotRepository);
+        appointmentSlotService = new AppointmentSlotServiceImpl(appointmentSlotRepository, doctorRepository,
+            slotIntervalIndex, new DoctorAvailabilityIndex(appointmentSlotRepository, doctorRepository, 366),
+            new DaySlotCache(10_000, Duration.ofMinutes(5)), new SlotEventBroadcaster(Duration.ofMinutes(30), Duration.ofSeconds(15), 64),
+            new DoctorExistenceCache(10_000, Duration.ofMinutes(30), Duration.ofSeconds(30)));
+
+        LocalDate middle = firstDay.plusDays(bookedDays / 2);
+        busyStart = LocalDateTime.of(middle, LocalTime.of(12, 15));
+        freeStart = LocalDateTime.of(middle, LocalTime.of(18, 0));
+        bookedWeek = new RecurringSlotRequestDTO(DOCTOR_ID, middle, middle.plusDays(6), LocalTime.of(9, 0),
+            LocalTime.of(17, 0), SLOT_MINUTES, RecurrencePattern.DAILY, null);
+
+        // Load the doctor's calendar before measuring
+        reserveAndRelease(freeStart);
+    }
+
+    @Benchmark
+    public boolean tryReserve_overlapping() {
+        return reserveAndRelease(busyStart);
+    }
+
+    @Benchmark
+    public boolean tryReserveAndRelease_free() {
+        return reserveAndRelease(freeStart);
+    }
+
+    @Benchmark
+    public RecurringSlotResponseDTO createRecurringAppointmentSlots_fullyBooked() {
+        return appointmentSlotService.createRecurringAppointmentSlots(bookedWeek);
+    }
+
+    // The write path's reservation, given back at once so the calendar stays the same between invocations
+    private boolean reserveAndRelease(LocalDateTime start) {
+        Optional<SlotIntervalIndex.Reservation> reservation = slotIntervalIndex.tryReserve(DOCTOR_ID, start, start.plusMinutes(SLOT_MINUTES));
+        reservation.ifPresent(SlotIntervalIndex.Reservation::release);
+        return reservation.isPresent();
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.DoctorHub.loadtest;
+
+import static com.example.DoctorHub.loadtest.LoadTestDataSeeder.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Boots the application on a random port against an embedded H2 database in MySQL mode,
+ * seeds it and replays a mix of patient traffic from loadtest.concurrency virtual threads:
+ *
+ * 25% doctor profile reads, 15% user profile reads, 25% slot searches for a doctor and day,
+ * 10% available-doctor searches, 15% bookings and 10% cancellations of earlier bookings.
+ *
+ * Requests during the warm-up are discarded. The test fails when more than
+ * loadtest.max-error-rate of the measured requests end in a 5xx or a transport error.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@Import(LoadTestDataSeeder.class)
+class DoctorHubLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+    private final Queue<String> bookedAppointments = new ConcurrentLinkedQueue<>();
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    @Test
+    void trafficMix() throws IOException {
+        run(settings.warmUp(), new LatencyReport());
+
+        LatencyReport report = new LatencyReport();
+        run(settings.duration(), report);
+
+        System.out.printf("%nLoad test: %d patients, %d doctors, %d slots per doctor, %d concurrent clients, %s%n",
+            settings.patients(), settings.doctors(), settings.slotsPerDoctor(), settings.concurrency(), settings.duration());
+        System.out.printf("Throughput: %.1f requests/s%n", report.requests() / (double) settings.duration().toSeconds());
+        report.lines().forEach(System.out::println);
+        report.writeCsv(settings.reportDir().resolve("summary.csv"));
+
+        assertTrue(report.requests() > 0, "No requests were measured");
+        double errorRate = report.errors() / (double) report.requests();
+        assertTrue(errorRate <= settings.maxErrorRate(),
+            String.format("Error rate %.4f exceeds %.4f", errorRate, settings.maxErrorRate()));
+    }
+
+    private void run(Duration duration, LatencyReport report) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.concurrency(); i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        nextRequest(report);
+                    }
+                });
+            }
+        }
+    }
+
+    private void nextRequest(LatencyReport report) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int roll = random.nextInt(100);
+        int doctor = random.nextInt(settings.doctors());
+        int slot = random.nextInt(settings.slotsPerDoctor());
+
+        if (roll < 25) {
+            send(report, "GET /api/v1/doctors/{id}", get("/api/v1/doctors/" + doctorId(doctor)));
+        } else if (roll < 40) {
+            send(report, "GET /api/v1/users/{id}", get("/api/v1/users/" + patientId(random.nextInt(settings.patients()))));
+        } else if (roll < 65) {
+            LocalDate date = slotStart(slot).toLocalDate();
+            send(report, "GET /api/v1/appointment-slots/doctor/{doctorId}/date/{date}",
+                get("/api/v1/appointment-slots/doctor/" + doctorId(doctor) + "/date/" + date));
+        } else if (roll < 75) {
+            LocalDateTime time = slotStart(slot);
+            String specialty = SPECIALTIES[random.nextInt(SPECIALTIES.length)];
+            send(report, "GET /api/v1/doctors/available",
+                get("/api/v1/doctors/available?date=" + time.toLocalDate() + "&time=" + time.toLocalTime() + ":00&specialty="
+                    + URLEncoder.encode(specialty, StandardCharsets.UTF_8)));
+        } else if (roll < 90 || bookedAppointments.isEmpty()) {
+            book(report, doctor, slot, random.nextInt(settings.patients()));
+        } else {
+            cancel(report);
+        }
+    }
+
+    private void book(LatencyReport report, int doctor, int slot, int patient) {
+        long slotId = slotId(doctor, slot);
+        String body = String.format("{\"appointmentSlotId\":\"%d\",\"doctorId\":\"%d\",\"patientId\":\"%d\"}",
+            slotId, doctorId(doctor), patientId(patient));
+        HttpRequest request = HttpRequest.newBuilder(uri("/api/v1/appointments"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        if (send(report, "POST /api/v1/appointments", request) == 201) {
+            // The response does not carry the appointment ID; look it up outside the measurement
+            bookedAppointments.addAll(jdbcTemplate.queryForList(
+                "SELECT id FROM appointment WHERE appointment_slot_id = ?", String.class, slotId));
+        }
+    }
+
+    private void cancel(LatencyReport report) {
+        String appointmentId = bookedAppointments.poll();
+        if (appointmentId != null) {
+            send(report, "DELETE /api/v1/appointments/{id}",
+                HttpRequest.newBuilder(uri("/api/v1/appointments/" + appointmentId)).DELETE().build());
+        }
+    }
+
+    private int send(LatencyReport report, String route, HttpRequest request) {
+        long started = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = -1;
+        }
+        report.record(route, System.nanoTime() - started, status);
+        return status;
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
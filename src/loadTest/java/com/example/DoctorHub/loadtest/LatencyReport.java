@@ -0,0 +1,111 @@
+package com.example.DoctorHub.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Latency samples and outcomes per route template ("GET /api/v1/doctors/{id}").
+ *
+ * Statuses are split into rejections (4xx, such as booking a slot that was taken a moment
+ * earlier) and errors (5xx and transport failures); only errors count towards the error rate.
+ */
+final class LatencyReport {
+
+    private final Map<String, RouteStats> routes = new ConcurrentSkipListMap<>();
+
+    void record(String route, long latencyNanos, int status) {
+        routes.computeIfAbsent(route, r -> new RouteStats()).record(latencyNanos, status);
+    }
+
+    long requests() {
+        return routes.values().stream().mapToLong(RouteStats::count).sum();
+    }
+
+    long errors() {
+        return routes.values().stream().mapToLong(RouteStats::errors).sum();
+    }
+
+    List<String> lines() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-60s %9s %9s %9s %9s %9s %7s %7s",
+            "route", "requests", "p50 ms", "p95 ms", "p99 ms", "max ms", "4xx", "errors"));
+        routes.forEach((route, stats) -> {
+            long[] sorted = stats.sortedLatencies();
+            lines.add(String.format(Locale.ROOT, "%-60s %9d %9.2f %9.2f %9.2f %9.2f %7d %7d",
+                route, sorted.length, millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                millis(percentile(sorted, 99)), millis(percentile(sorted, 100)), stats.rejections(), stats.errors()));
+        });
+        return lines;
+    }
+
+    void writeCsv(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("route,requests,p50_ms,p95_ms,p99_ms,max_ms,rejections,errors");
+        routes.forEach((route, stats) -> {
+            long[] sorted = stats.sortedLatencies();
+            lines.add(String.format(Locale.ROOT, "\"%s\",%d,%.3f,%.3f,%.3f,%.3f,%d,%d",
+                route, sorted.length, millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                millis(percentile(sorted, 99)), millis(percentile(sorted, 100)), stats.rejections(), stats.errors()));
+        });
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines);
+    }
+
+    // Nearest-rank percentile
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class RouteStats {
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long rejections;
+        private long errors;
+
+        synchronized void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status >= 500 || status < 0) {
+                errors++;
+            } else if (status >= 400) {
+                rejections++;
+            }
+        }
+
+        synchronized long count() {
+            return count;
+        }
+
+        synchronized long rejections() {
+            return rejections;
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+
+        synchronized long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
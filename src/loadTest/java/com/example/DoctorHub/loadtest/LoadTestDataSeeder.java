@@ -0,0 +1,121 @@
+package com.example.DoctorHub.loadtest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.DoctorHub.Enum.Role;
+
+/**
+ * Bulk-loads patients, doctors and slots with JDBC batches before the application reports
+ * ready, so the indexes warmed up on ApplicationReadyEvent see the seeded data.
+ *
+ * IDs are derived from row numbers so the traffic generator can address any row without
+ * querying for it first. Each table gets its own numeric range, and the shared ID sequence is
+ * moved past all of them so rows the application inserts never collide with seeded ones.
+ */
+class LoadTestDataSeeder implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+    static final LocalDate FIRST_DAY = LocalDate.now().plusDays(1);
+    static final int SLOTS_PER_DAY = 16;
+    static final int SLOT_MINUTES = 30;
+    static final LocalTime DAY_START = LocalTime.of(9, 0);
+    static final String[] SPECIALTIES = {
+        "Cardiology", "Dermatology", "Neurology", "Pediatrics", "Orthopedics",
+        "Oncology", "Psychiatry", "Radiology", "Ophthalmology", "General Practice"
+    };
+
+    private static final int BATCH_SIZE = 10_000;
+    private static final long DOCTOR_USER_OFFSET = 1_000_000_000L;
+    private static final long SLOT_ID_STRIDE = 1_000_000L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+    LoadTestDataSeeder(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    static long patientId(int patient) {
+        return patient + 1L;
+    }
+
+    static long doctorUserId(int doctor) {
+        return DOCTOR_USER_OFFSET + doctor + 1;
+    }
+
+    static long doctorId(int doctor) {
+        return doctor + 1L;
+    }
+
+    static long slotId(int doctor, int slot) {
+        return doctor * SLOT_ID_STRIDE + slot + 1;
+    }
+
+    static LocalDateTime slotStart(int slot) {
+        return LocalDateTime.of(FIRST_DAY.plusDays(slot / SLOTS_PER_DAY), DAY_START)
+            .plusMinutes((long) (slot % SLOTS_PER_DAY) * SLOT_MINUTES);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        String insertUser = "INSERT INTO user (id, created_at, updated_at, name, email, password, role) VALUES (?, ?, ?, ?, ?, ?, ?)";
+        insert(insertUser, settings.patients(), i -> new Object[] {
+            patientId(i), now, now, "Patient " + i, "patient-" + i + "@example.com", "password", Role.PATIENT.ordinal()
+        });
+        insert(insertUser, settings.doctors(), i -> new Object[] {
+            doctorUserId(i), now, now, "Dr. " + i, "doctor-" + i + "@example.com", "password", Role.DOCTOR.ordinal()
+        });
+        insert("INSERT INTO doctor (id, created_at, updated_at, user_id, specialization, license_number, rating) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            settings.doctors(), i -> new Object[] {
+                doctorId(i), now, now, doctorUserId(i), SPECIALTIES[i % SPECIALTIES.length], "LIC-" + i, 1.0 + (i % 400) / 100.0
+            });
+        int slotsPerDoctor = settings.slotsPerDoctor();
+        if (slotsPerDoctor >= SLOT_ID_STRIDE) {
+            throw new IllegalStateException("At most " + (SLOT_ID_STRIDE - 1) + " slots per doctor are supported");
+        }
+        insert("INSERT INTO appointment_slot (id, created_at, updated_at, doctor_id, start_time, end_time, is_available) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            Math.multiplyExact(settings.doctors(), slotsPerDoctor), i -> {
+                int doctor = i / slotsPerDoctor;
+                int slot = i % slotsPerDoctor;
+                LocalDateTime start = slotStart(slot);
+                return new Object[] {
+                    slotId(doctor, slot), now, now, doctorId(doctor), start, start.plusMinutes(SLOT_MINUTES), true
+                };
+            });
+
+        long nextId = Math.max(doctorUserId(settings.doctors()), slotId(settings.doctors(), 0)) + 1;
+        jdbcTemplate.execute("ALTER SEQUENCE doctorhub_id_seq RESTART WITH " + nextId);
+
+        logger.warn("Seeded {} patients, {} doctors and {} slots in {} s", settings.patients(), settings.doctors(),
+            (long) settings.doctors() * slotsPerDoctor, (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private void insert(String sql, int rows, IntFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
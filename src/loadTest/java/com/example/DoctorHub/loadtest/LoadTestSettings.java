@@ -0,0 +1,23 @@
+package com.example.DoctorHub.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Data volume and traffic shape of a load test run, read from loadtest.* system properties.
+ */
+record LoadTestSettings(int patients, int doctors, int slotsPerDoctor, int concurrency,
+                        Duration warmUp, Duration duration, double maxErrorRate, Path reportDir) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+            Integer.getInteger("loadtest.patients", 1_000_000),
+            Integer.getInteger("loadtest.doctors", 20_000),
+            Integer.getInteger("loadtest.slots-per-doctor", 100),
+            Integer.getInteger("loadtest.concurrency", 64),
+            Duration.parse(System.getProperty("loadtest.warm-up", "PT30S")),
+            Duration.parse(System.getProperty("loadtest.duration", "PT2M")),
+            Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01")),
+            Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest")));
+    }
+}
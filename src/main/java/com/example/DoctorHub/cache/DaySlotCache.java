@@ -0,0 +1,120 @@
+package com.example.DoctorHub.cache;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.DaySlotsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of one doctor's slots on one day, keyed by (doctor ID, start date).
+ *
+ * Cached days are patched in place when a slot is created, moved, deleted, booked or freed,
+ * so pollers keep hitting the cache while the calendar changes; days that are not cached are
+ * left alone and loaded on the next read. Each entry carries an ETag computed from its content,
+ * which lets the controller answer If-None-Match with 304. The TTL bounds staleness from writes
+ * that bypass the services. Published to Micrometer as the daySlots cache.
+ */
+@Component
+public class DaySlotCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DaySlotCache.class);
+
+    private static final Comparator<AppointmentSlotResponseDTO> BY_START =
+        Comparator.comparing(AppointmentSlotResponseDTO::getStartTime).thenComparing(AppointmentSlotResponseDTO::getId);
+
+    private final Cache<DayKey, DaySlotsDTO> days;
+
+    public DaySlotCache(@Value("${doctorhub.cache.day-slots.max-size:50000}") long maxSize,
+                        @Value("${doctorhub.cache.day-slots.ttl:PT5M}") Duration ttl) {
+        logger.info("Initializing DaySlotCache with max size {} and TTL {}", maxSize, ttl);
+        this.days = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Return the cached day, loading it on a miss; exceptions thrown by the loader propagate
+     * and nothing is cached
+     */
+    public DaySlotsDTO get(String doctorId, LocalDate date, Supplier<List<AppointmentSlotResponseDTO>> loader) {
+        return days.get(new DayKey(doctorId, date), key -> toDay(key, new ArrayList<>(loader.get())));
+    }
+
+    /**
+     * Insert or replace the slot in its day, if that day is cached
+     */
+    public void put(AppointmentSlotResponseDTO slot) {
+        DayKey key = new DayKey(slot.getDoctorId(), slot.getStartTime().toLocalDate());
+        days.asMap().computeIfPresent(key, (k, day) -> {
+            List<AppointmentSlotResponseDTO> slots = without(day, slot.getId());
+            slots.add(slot);
+            return toDay(k, slots);
+        });
+    }
+
+    /**
+     * Drop the slot from the given day, if that day is cached
+     */
+    public void remove(String doctorId, LocalDate date, String slotId) {
+        days.asMap().computeIfPresent(new DayKey(doctorId, date), (k, day) -> toDay(k, without(day, slotId)));
+    }
+
+    public void invalidateDoctor(String doctorId) {
+        days.asMap().keySet().removeIf(key -> key.doctorId().equals(doctorId));
+    }
+
+    public void invalidateAll() {
+        days.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, days, "daySlots");
+    }
+
+    private static List<AppointmentSlotResponseDTO> without(DaySlotsDTO day, String slotId) {
+        List<AppointmentSlotResponseDTO> slots = new ArrayList<>(day.getSlots().size() + 1);
+        for (AppointmentSlotResponseDTO slot : day.getSlots()) {
+            if (!slot.getId().equals(slotId)) {
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+
+    private static DaySlotsDTO toDay(DayKey key, List<AppointmentSlotResponseDTO> slots) {
+        slots.sort(BY_START);
+        List<AppointmentSlotResponseDTO> ordered = List.copyOf(slots);
+        return new DaySlotsDTO(key.doctorId(), key.date(), ordered, etag(ordered));
+    }
+
+    // Content hash rather than a version counter, so every instance derives the same tag for the same day
+    private static String etag(List<AppointmentSlotResponseDTO> slots) {
+        long hash = 17;
+        for (AppointmentSlotResponseDTO slot : slots) {
+            hash = 31 * hash + slot.hashCode();
+        }
+        return "\"" + Long.toHexString(hash) + "-" + slots.size() + "\"";
+    }
+
+    private record DayKey(String doctorId, LocalDate date) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.DoctorHub.cache;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Whether a doctor ID exists, so slot reads can validate the doctor without an extra query.
+ *
+ * Unknown IDs are cached too, for a much shorter time than known ones, so repeated lookups of
+ * a bad ID do not reach the database either. The services record creations and deletions as
+ * they happen; the TTLs bound staleness from other instances. Published to Micrometer as the
+ * doctorExists cache.
+ */
+@Component
+public class DoctorExistenceCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorExistenceCache.class);
+
+    private final Cache<Long, Boolean> doctors;
+
+    public DoctorExistenceCache(@Value("${doctorhub.cache.doctor-exists.max-size:100000}") long maxSize,
+                                @Value("${doctorhub.cache.doctor-exists.ttl:PT30M}") Duration ttl,
+                                @Value("${doctorhub.cache.doctor-exists.negative-ttl:PT30S}") Duration negativeTtl) {
+        logger.info("Initializing DoctorExistenceCache with max size {}, TTL {} and negative TTL {}", maxSize, ttl, negativeTtl);
+        this.doctors = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new Expiry<Long, Boolean>() {
+                @Override
+                public long expireAfterCreate(Long doctorId, Boolean exists, long currentTime) {
+                    return (exists ? ttl : negativeTtl).toNanos();
+                }
+
+                @Override
+                public long expireAfterUpdate(Long doctorId, Boolean exists, long currentTime, long currentDuration) {
+                    return (exists ? ttl : negativeTtl).toNanos();
+                }
+
+                @Override
+                public long expireAfterRead(Long doctorId, Boolean exists, long currentTime, long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Return the cached answer, asking lookup on a miss
+     */
+    public boolean exists(Long doctorId, Predicate<Long> lookup) {
+        return doctors.get(doctorId, lookup::test);
+    }
+
+    public void markCreated(Long doctorId) {
+        doctors.put(doctorId, Boolean.TRUE);
+    }
+
+    public void markDeleted(Long doctorId) {
+        doctors.put(doctorId, Boolean.FALSE);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, doctors, "doctorExists");
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.DoctorHub.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.DoctorHub.dto.CacheStatsDTO;
+import com.example.DoctorHub.dto.DoctorResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of doctor profiles by doctor ID.
+ *
+ * Entries are bounded by count and expire after a fixed time since they were written, so
+ * profiles changed outside {@link com.example.DoctorHub.service.DoctorService} are stale
+ * for at most one TTL. Missing doctors are not cached. Hit, miss and eviction counts are
+ * published to Micrometer as the doctorProfiles cache.
+ */
+@Component
+public class DoctorProfileCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorProfileCache.class);
+
+    private final Cache<String, DoctorResponseDTO> profiles;
+
+    public DoctorProfileCache(@Value("${doctorhub.cache.doctor-profiles.max-size:10000}") long maxSize,
+                              @Value("${doctorhub.cache.doctor-profiles.ttl:PT10M}") Duration ttl) {
+        logger.info("Initializing DoctorProfileCache with max size {} and TTL {}", maxSize, ttl);
+        this.profiles = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Return the cached profile, loading it on a miss; exceptions thrown by the loader propagate
+     */
+    public DoctorResponseDTO get(String doctorId, Function<String, DoctorResponseDTO> loader) {
+        return profiles.get(doctorId, loader);
+    }
+
+    /**
+     * Return the profiles of the given doctors in the same order, loading all misses with one
+     * call to the loader; doctors the loader does not return are skipped
+     */
+    public List<DoctorResponseDTO> getAll(List<String> doctorIds,
+                                          Function<Set<? extends String>, Map<String, DoctorResponseDTO>> loader) {
+        Map<String, DoctorResponseDTO> found = profiles.getAll(doctorIds, loader);
+        return doctorIds.stream()
+            .map(found::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    public void invalidate(String doctorId) {
+        profiles.invalidate(doctorId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, profiles, "doctorProfiles");
+    }
+
+    public CacheStatsDTO stats() {
+        CacheStats stats = profiles.stats();
+        return new CacheStatsDTO(profiles.estimatedSize(), stats.hitCount(), stats.missCount(),
+            stats.hitRate(), stats.evictionCount(), stats.loadFailureCount());
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.DoctorHub.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.DoctorHub.exception.IdempotencyKeyReusedException;
+import com.example.DoctorHub.exception.IdempotentRequestInProgressException;
+import com.example.DoctorHub.exception.InvalidIdempotencyKeyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Results of requests sent with an Idempotency-Key header, so a client retry gets the first
+ * response back instead of running the operation again.
+ *
+ * The first request with a key runs; a retry with the same key and an equal request body waits
+ * for it and receives its result, and a retry with a different body is rejected. Failed attempts
+ * are forgotten so the client can retry them. Entries are bounded in number and expire after the
+ * TTL. Published to Micrometer as the idempotencyKeys cache.
+ */
+@Component
+public class IdempotencyStore implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final Cache<String, Attempt> attempts;
+    private final long waitMillis;
+
+    public IdempotencyStore(@Value("${doctorhub.idempotency.max-size:100000}") long maxSize,
+                            @Value("${doctorhub.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${doctorhub.idempotency.wait-timeout:PT10S}") Duration waitTimeout) {
+        logger.info("Initializing IdempotencyStore with max size {}, TTL {} and wait timeout {}", maxSize, ttl, waitTimeout);
+        this.attempts = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.waitMillis = waitTimeout.toMillis();
+    }
+
+    /**
+     * Run the action once per key within the scope (the endpoint) and return its result to every
+     * request with that key. The key is the client's header value and is validated as sent.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String clientKey, Object request, Supplier<T> action) {
+        if (clientKey.isBlank() || clientKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String key = scope + " " + clientKey;
+        Attempt attempt = new Attempt(request, new CompletableFuture<>());
+        Attempt existing = attempts.asMap().putIfAbsent(key, attempt);
+        if (existing != null) {
+            return (T) replay(key, request, existing);
+        }
+
+        try {
+            T result = action.get();
+            attempt.response().complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            attempts.asMap().remove(key, attempt);
+            attempt.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, attempts, "idempotencyKeys");
+    }
+
+    private Object replay(String key, Object request, Attempt existing) {
+        if (!existing.request().equals(request)) {
+            throw new IdempotencyKeyReusedException("Idempotency key was already used with a different request");
+        }
+        logger.debug("Replaying result for idempotency key {}", key);
+        try {
+            return existing.response().get(waitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The first attempt failed; its caller already got the error, this retry gets the same one
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotentRequestInProgressException("A request with this idempotency key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotentRequestInProgressException("A request with this idempotency key is still in progress");
+        }
+    }
+
+    private record Attempt(Object request, CompletableFuture<Object> response) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.DoctorHub.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Connection admission control for virtual-thread mode (spring.threads.virtual.enabled=true).
+ *
+ * On platform threads the Tomcat worker pool already caps concurrent requests. On virtual
+ * threads every request gets its own thread, so the Hikari pool is fronted by a
+ * {@link ConnectionLimitingDataSource} sized to the pool, which bounds the queue in front of it.
+ *
+ * The pool stays a bean of its own, built the way Boot's auto-configuration builds it, so code
+ * that injects or unwraps HikariDataSource (pool metrics, health, pool metadata) still finds it.
+ * The limiter is the primary DataSource that JPA and JDBC pick up.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource hikariDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(HikariDataSource hikariDataSource,
+                          @Value("${doctorhub.datasource.max-waiting:200}") int maxWaiting,
+                          @Value("${doctorhub.datasource.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        return new ConnectionLimitingDataSource(hikariDataSource, hikariDataSource.getMaximumPoolSize(), maxWaiting, acquireTimeout);
+    }
+}
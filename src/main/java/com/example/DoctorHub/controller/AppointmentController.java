@@ -7,6 +7,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,14 +15,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.example.DoctorHub.Enum.AppointmentStatus;
+import com.example.DoctorHub.cache.IdempotencyStore;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.AppointmentRequestDTO;
 import com.example.DoctorHub.dto.AppointmentResponseDTO;
+import com.example.DoctorHub.dto.BatchAppointmentRequestDTO;
+import com.example.DoctorHub.dto.BatchAppointmentResponseDTO;
 import com.example.DoctorHub.service.IAppointmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 
@@ -32,23 +40,48 @@ public class AppointmentController {
     private static final Logger logger = LoggerFactory.getLogger(AppointmentController.class);
     
     private final IAppointmentService appointmentService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
     
-    public AppointmentController(IAppointmentService appointmentService) {
+    public AppointmentController(IAppointmentService appointmentService, ObjectMapper objectMapper, IdempotencyStore idempotencyStore) {
         logger.info("Initializing AppointmentController with AppointmentService");
         this.appointmentService = appointmentService;
+        this.objectMapper = objectMapper;
+        this.idempotencyStore = idempotencyStore;
     }
     
     @PostMapping
-    public ResponseEntity<AppointmentResponseDTO> createAppointment(@RequestBody @Valid AppointmentRequestDTO appointmentRequestDTO) {
-        logger.info("POST /api/v1/appointments - Creating appointment for slot: {}, doctor: {}, patient: {}", 
-                   appointmentRequestDTO.getAppointmentSlotId(), 
-                   appointmentRequestDTO.getDoctorId(), 
-                   appointmentRequestDTO.getPatientId());
-        AppointmentResponseDTO result = appointmentService.createAppointment(appointmentRequestDTO);
-        logger.info("Successfully created appointment with ID: {}", result.getAppointmentSlotId());
+    public ResponseEntity<AppointmentResponseDTO> createAppointment(@RequestBody @Valid AppointmentRequestDTO appointmentRequestDTO,
+                                                                    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        // Guarded: three arguments allocate a varargs array even when debug is off
+        if (logger.isDebugEnabled()) {
+            logger.debug("POST /api/v1/appointments - Creating appointment for slot: {}, doctor: {}, patient: {}", 
+                       appointmentRequestDTO.getAppointmentSlotId(), 
+                       appointmentRequestDTO.getDoctorId(), 
+                       appointmentRequestDTO.getPatientId());
+        }
+        // A retried request with the same key gets the first result back instead of booking again
+        AppointmentResponseDTO result = idempotencyKey == null
+            ? appointmentService.createAppointment(appointmentRequestDTO)
+            : idempotencyStore.execute("POST /api/v1/appointments", idempotencyKey, appointmentRequestDTO,
+                () -> appointmentService.createAppointment(appointmentRequestDTO));
+        logger.debug("Successfully created appointment for slot ID: {}", result.getAppointmentSlotId());
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<BatchAppointmentResponseDTO> createAppointments(@RequestBody @Valid BatchAppointmentRequestDTO request,
+                                                                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        logger.debug("POST /api/v1/appointments/batch - Booking {} appointments", request.getAppointments().size());
+        // Items fail independently, so the batch answers 200 and each result carries its own status
+        BatchAppointmentResponseDTO result = idempotencyKey == null
+            ? appointmentService.createAppointments(request.getAppointments())
+            : idempotencyStore.execute("POST /api/v1/appointments/batch", idempotencyKey, request,
+                () -> appointmentService.createAppointments(request.getAppointments()));
+        logger.debug("Booked {} appointments, {} failed", result.getBooked(), result.getFailed());
+        return ResponseEntity.ok(result);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<AppointmentResponseDTO> getAppointmentById(@PathVariable String id) {
         logger.debug("GET /api/v1/appointments/{} - Fetching appointment by ID", id);
@@ -59,26 +92,33 @@ public class AppointmentController {
     
     @PutMapping("/{id}")
     public ResponseEntity<AppointmentResponseDTO> updateAppointment(@PathVariable String id, @RequestBody @Valid AppointmentRequestDTO appointmentRequestDTO) {
-        logger.info("PUT /api/v1/appointments/{} - Updating appointment", id);
+        logger.debug("PUT /api/v1/appointments/{} - Updating appointment", id);
         AppointmentResponseDTO result = appointmentService.updateAppointment(id, appointmentRequestDTO);
-        logger.info("Successfully updated appointment with ID: {}", id);
+        logger.debug("Successfully updated appointment with ID: {}", id);
         return ResponseEntity.ok(result);
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAppointment(@PathVariable String id) {
-        logger.info("DELETE /api/v1/appointments/{} - Deleting appointment", id);
+        logger.debug("DELETE /api/v1/appointments/{} - Deleting appointment", id);
         appointmentService.deleteAppointment(id);
-        logger.info("Successfully deleted appointment with ID: {}", id);
+        logger.debug("Successfully deleted appointment with ID: {}", id);
         return ResponseEntity.noContent().build();
     }
     
     @GetMapping
-    public ResponseEntity<List<AppointmentResponseDTO>> getAllAppointments() {
-        logger.debug("GET /api/v1/appointments - Fetching all appointments");
-        List<AppointmentResponseDTO> result = appointmentService.getAllAppointments();
-        logger.debug("Successfully fetched {} appointments", result.size());
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<AppointmentResponseDTO>> getAllAppointments(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        logger.debug("GET /api/v1/appointments - Fetching appointments page after cursor: {}", cursor);
+        CursorPageDTO<AppointmentResponseDTO> result = appointmentService.getAppointmentsPage(cursor, limit);
+        logger.debug("Successfully fetched {} appointments", result.getItems().size());
+        return ListResponses.page(result);
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAppointments() {
+        logger.debug("GET /api/v1/appointments/stream - Streaming all appointments");
+        return ListResponses.ndjson(objectMapper, appointmentService::streamAllAppointments);
     }
     
     @GetMapping("/user/{userId}")
@@ -112,7 +152,9 @@ public class AppointmentController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         logger.debug("GET /api/v1/appointments/date-range - Fetching appointments from {} to {}", startDate, endDate);
         List<AppointmentResponseDTO> result = appointmentService.getAppointmentsByDateRange(startDate, endDate);
-        logger.debug("Successfully fetched {} appointments from {} to {}", result.size(), startDate, endDate);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Successfully fetched {} appointments from {} to {}", result.size(), startDate, endDate);
+        }
         return ResponseEntity.ok(result);
     }
     
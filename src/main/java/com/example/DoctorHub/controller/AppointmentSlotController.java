@@ -4,7 +4,9 @@ import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,11 +15,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.DoctorHub.dto.CursorPageDTO;
+import com.example.DoctorHub.dto.DaySlotsDTO;
 import com.example.DoctorHub.dto.AppointmentSlotRequestDTO;
 import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.RecurringSlotRequestDTO;
+import com.example.DoctorHub.dto.RecurringSlotResponseDTO;
+import com.example.DoctorHub.events.SlotEventBroadcaster;
 import com.example.DoctorHub.service.IAppointmentSlotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 
@@ -28,20 +39,41 @@ public class AppointmentSlotController {
     private static final Logger logger = LoggerFactory.getLogger(AppointmentSlotController.class);
     
     private final IAppointmentSlotService appointmentSlotService;
+    private final ObjectMapper objectMapper;
+    private final SlotEventBroadcaster slotEventBroadcaster;
     
-    public AppointmentSlotController(IAppointmentSlotService appointmentSlotService) {
+    public AppointmentSlotController(IAppointmentSlotService appointmentSlotService, ObjectMapper objectMapper,
+                                     SlotEventBroadcaster slotEventBroadcaster) {
         logger.info("Initializing AppointmentSlotController with AppointmentSlotService");
         this.appointmentSlotService = appointmentSlotService;
+        this.objectMapper = objectMapper;
+        this.slotEventBroadcaster = slotEventBroadcaster;
     }
     
     @PostMapping
     public ResponseEntity<AppointmentSlotResponseDTO> createAppointmentSlot(@RequestBody @Valid AppointmentSlotRequestDTO appointmentSlotRequestDTO) {
-        logger.info("POST /api/v1/appointment-slots - Creating appointment slot for doctor: {} from {} to {}", 
-                   appointmentSlotRequestDTO.getDoctorId(),
-                   appointmentSlotRequestDTO.getStartTime(),
-                   appointmentSlotRequestDTO.getEndDateTime());
+        if (logger.isDebugEnabled()) {
+            logger.debug("POST /api/v1/appointment-slots - Creating appointment slot for doctor: {} from {} to {}", 
+                       appointmentSlotRequestDTO.getDoctorId(),
+                       appointmentSlotRequestDTO.getStartTime(),
+                       appointmentSlotRequestDTO.getEndDateTime());
+        }
         AppointmentSlotResponseDTO result = appointmentSlotService.createAppointmentSlot(appointmentSlotRequestDTO);
-        logger.info("Successfully created appointment slot");
+        logger.debug("Successfully created appointment slot");
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<RecurringSlotResponseDTO> createRecurringAppointmentSlots(@RequestBody @Valid RecurringSlotRequestDTO recurringSlotRequestDTO) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("POST /api/v1/appointment-slots/bulk - Creating {} appointment slots for doctor: {} from {} to {}",
+                       recurringSlotRequestDTO.getRecurrencePattern(),
+                       recurringSlotRequestDTO.getDoctorId(),
+                       recurringSlotRequestDTO.getStartDate(),
+                       recurringSlotRequestDTO.getEndDate());
+        }
+        RecurringSlotResponseDTO result = appointmentSlotService.createRecurringAppointmentSlots(recurringSlotRequestDTO);
+        logger.debug("Successfully created {} appointment slots", result.getCreatedSlots());
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
     
@@ -55,26 +87,33 @@ public class AppointmentSlotController {
     
     @PutMapping("/{id}")
     public ResponseEntity<AppointmentSlotResponseDTO> updateAppointmentSlot(@PathVariable String id, @RequestBody @Valid AppointmentSlotRequestDTO appointmentSlotRequestDTO) {
-        logger.info("PUT /api/v1/appointment-slots/{} - Updating appointment slot", id);
+        logger.debug("PUT /api/v1/appointment-slots/{} - Updating appointment slot", id);
         AppointmentSlotResponseDTO result = appointmentSlotService.updateAppointmentSlot(id, appointmentSlotRequestDTO);
-        logger.info("Successfully updated appointment slot with ID: {}", id);
+        logger.debug("Successfully updated appointment slot with ID: {}", id);
         return ResponseEntity.ok(result);
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAppointmentSlot(@PathVariable String id) {
-        logger.info("DELETE /api/v1/appointment-slots/{} - Deleting appointment slot", id);
+        logger.debug("DELETE /api/v1/appointment-slots/{} - Deleting appointment slot", id);
         appointmentSlotService.deleteAppointmentSlot(id);
-        logger.info("Successfully deleted appointment slot with ID: {}", id);
+        logger.debug("Successfully deleted appointment slot with ID: {}", id);
         return ResponseEntity.noContent().build();
     }
     
     @GetMapping
-    public ResponseEntity<List<AppointmentSlotResponseDTO>> getAllAppointmentSlots() {
-        logger.debug("GET /api/v1/appointment-slots - Fetching all appointment slots");
-        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAllAppointmentSlots();
-        logger.debug("Successfully fetched {} appointment slots", result.size());
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<AppointmentSlotResponseDTO>> getAllAppointmentSlots(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        logger.debug("GET /api/v1/appointment-slots - Fetching appointment slots page after cursor: {}", cursor);
+        CursorPageDTO<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsPage(cursor, limit);
+        logger.debug("Successfully fetched {} appointment slots", result.getItems().size());
+        return ListResponses.page(result);
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllAppointmentSlots() {
+        logger.debug("GET /api/v1/appointment-slots/stream - Streaming all appointment slots");
+        return ListResponses.ndjson(objectMapper, appointmentSlotService::streamAllAppointmentSlots);
     }
     
     @GetMapping("/doctor/{doctorId}")
@@ -89,27 +128,51 @@ public class AppointmentSlotController {
     public ResponseEntity<List<AppointmentSlotResponseDTO>> getAppointmentSlotsByDoctorIdAndDate(
             @PathVariable String doctorId, @PathVariable String date) {
         logger.debug("GET /api/v1/appointment-slots/doctor/{}/date/{} - Fetching appointment slots for doctor on date", doctorId, date);
-        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorIdAndDate(doctorId, date);
-        logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {}", result.size(), doctorId, date);
-        return ResponseEntity.ok(result);
+        DaySlotsDTO result = appointmentSlotService.getDaySlots(doctorId, date);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {}", result.getSlots().size(), doctorId, date);
+        }
+        // A matching If-None-Match turns this into a 304 without a body
+        return ResponseEntity.ok()
+            .eTag(result.getEtag())
+            .cacheControl(CacheControl.noCache())
+            .body(result.getSlots());
+    }
+    
+    @GetMapping(value = "/doctor/{doctorId}/date/{date}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeToAppointmentSlotsByDoctorIdAndDate(@PathVariable String doctorId, @PathVariable String date) {
+        logger.debug("GET /api/v1/appointment-slots/doctor/{}/date/{}/events - Subscribing to slot changes", doctorId, date);
+        // Validates the doctor and date before the stream opens, so errors still get a normal status
+        DaySlotsDTO day = appointmentSlotService.getDaySlots(doctorId, date);
+        String dayDate = day.getDate().toString();
+        return slotEventBroadcaster.subscribe(day.getDoctorId(), day.getDate(),
+            () -> appointmentSlotService.getDaySlots(day.getDoctorId(), dayDate));
     }
 
     
     @GetMapping("/doctor/{doctorId}/date/{date}/time/{time}")
     public ResponseEntity<List<AppointmentSlotResponseDTO>> getAppointmentSlotsByDoctorIdAndDateAndTime(
             @PathVariable String doctorId, @PathVariable String date, @PathVariable String time) {
-        logger.debug("GET /api/v1/appointment-slots/doctor/{}/date/{}/time/{} - Fetching appointment slots for doctor on date and time", doctorId, date, time);
+        if (logger.isDebugEnabled()) {
+            logger.debug("GET /api/v1/appointment-slots/doctor/{}/date/{}/time/{} - Fetching appointment slots for doctor on date and time", doctorId, date, time);
+        }
         List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorIdAndDateAndTime(doctorId, date, time);
-        logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {} at time: {}", result.size(), doctorId, date, time);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {} at time: {}", result.size(), doctorId, date, time);
+        }
         return ResponseEntity.ok(result);
     }
     
     @GetMapping("/doctor/{doctorId}/date/{date}/time/{time}/available/{isAvailable}")
     public ResponseEntity<List<AppointmentSlotResponseDTO>> getAppointmentSlotsByDoctorIdAndDateAndTimeAndIsAvailable(
             @PathVariable String doctorId, @PathVariable String date, @PathVariable String time, @PathVariable boolean isAvailable) {
-        logger.debug("GET /api/v1/appointment-slots/doctor/{}/date/{}/time/{}/available/{} - Fetching appointment slots for doctor on date and time with availability", doctorId, date, time, isAvailable);
+        if (logger.isDebugEnabled()) {
+            logger.debug("GET /api/v1/appointment-slots/doctor/{}/date/{}/time/{}/available/{} - Fetching appointment slots for doctor on date and time with availability", doctorId, date, time, isAvailable);
+        }
         List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorIdAndDateAndTimeAndIsAvailable(doctorId, date, time, isAvailable);
-        logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {} at time: {} with availability: {}", result.size(), doctorId, date, time, isAvailable);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {} at time: {} with availability: {}", result.size(), doctorId, date, time, isAvailable);
+        }
         return ResponseEntity.ok(result);
     }
 }
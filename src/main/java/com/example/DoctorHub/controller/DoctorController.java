@@ -3,6 +3,7 @@ package com.example.DoctorHub.controller;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,10 +14,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
+import com.example.DoctorHub.dto.BulkDoctorImportRequestDTO;
+import com.example.DoctorHub.dto.BulkImportResponseDTO;
+import com.example.DoctorHub.dto.CacheStatsDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.DoctorRequestDTO;
 import com.example.DoctorHub.dto.DoctorResponseDTO;
 import com.example.DoctorHub.service.IDoctorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 
@@ -27,17 +34,27 @@ public class DoctorController {
     private static final Logger logger = LoggerFactory.getLogger(DoctorController.class);
     
     private final IDoctorService doctorService;
+    private final ObjectMapper objectMapper;
 
-    public DoctorController(IDoctorService _doctorService) {
+    public DoctorController(IDoctorService _doctorService, ObjectMapper objectMapper) {
         logger.info("Initializing DoctorController with DoctorService");
         this.doctorService = _doctorService;
+        this.objectMapper = objectMapper;
     }
 
    @PostMapping
    public ResponseEntity<DoctorResponseDTO> createDoctor(@RequestBody @Valid DoctorRequestDTO doctorRequestDTO) {
-       logger.info("POST /api/v1/doctors - Creating new doctor with email: {}", doctorRequestDTO.getEmail());
+       logger.debug("POST /api/v1/doctors - Creating new doctor with email: {}", doctorRequestDTO.getEmail());
        DoctorResponseDTO result = doctorService.createDoctor(doctorRequestDTO);
-       logger.info("Successfully created doctor with ID: {}", result.getId());
+       logger.debug("Successfully created doctor with ID: {}", result.getId());
+       return ResponseEntity.status(HttpStatus.CREATED).body(result);
+   }
+
+   @PostMapping("/bulk")
+   public ResponseEntity<BulkImportResponseDTO> importDoctors(@RequestBody @Valid BulkDoctorImportRequestDTO request) {
+       logger.debug("POST /api/v1/doctors/bulk - Importing {} doctors", request.getDoctors().size());
+       BulkImportResponseDTO result = doctorService.importDoctors(request.getDoctors());
+       logger.debug("Successfully imported {} doctors", result.getImported());
        return ResponseEntity.status(HttpStatus.CREATED).body(result);
    }
 
@@ -51,26 +68,33 @@ public class DoctorController {
 
    @PutMapping("/{id}")
    public ResponseEntity<DoctorResponseDTO> updateDoctor(@PathVariable String id, @RequestBody @Valid DoctorRequestDTO doctorRequestDTO) {
-       logger.info("PUT /api/v1/doctors/{} - Updating doctor", id);
+       logger.debug("PUT /api/v1/doctors/{} - Updating doctor", id);
        DoctorResponseDTO result = doctorService.updateDoctor(id, doctorRequestDTO);
-       logger.info("Successfully updated doctor with ID: {}", id);
+       logger.debug("Successfully updated doctor with ID: {}", id);
        return ResponseEntity.ok(result);
    }
 
    @DeleteMapping("/{id}")
    public ResponseEntity<Void> deleteDoctor(@PathVariable String id) {
-       logger.info("DELETE /api/v1/doctors/{} - Deleting doctor", id);
+       logger.debug("DELETE /api/v1/doctors/{} - Deleting doctor", id);
        doctorService.deleteDoctor(id);
-       logger.info("Successfully deleted doctor with ID: {}", id);
+       logger.debug("Successfully deleted doctor with ID: {}", id);
        return ResponseEntity.noContent().build();
    }
    
    @GetMapping
-   public ResponseEntity<List<DoctorResponseDTO>> getAllDoctors() {
-       logger.debug("GET /api/v1/doctors - Fetching all doctors");
-       List<DoctorResponseDTO> result = doctorService.getAllDoctors();
-       logger.debug("Successfully fetched {} doctors", result.size());
-       return ResponseEntity.ok(result);
+   public ResponseEntity<List<DoctorResponseDTO>> getAllDoctors(@RequestParam(required = false) String cursor,
+           @RequestParam(defaultValue = "50") int limit) {
+       logger.debug("GET /api/v1/doctors - Fetching doctors page after cursor: {}", cursor);
+       CursorPageDTO<DoctorResponseDTO> result = doctorService.getDoctorsPage(cursor, limit);
+       logger.debug("Successfully fetched {} doctors", result.getItems().size());
+       return ListResponses.page(result);
+   }
+   
+   @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+   public ResponseEntity<StreamingResponseBody> streamAllDoctors() {
+       logger.debug("GET /api/v1/doctors/stream - Streaming all doctors");
+       return ListResponses.ndjson(objectMapper, doctorService::streamAllDoctors);
    }
    
    @GetMapping("/specialty/{specialty}")
@@ -81,10 +105,35 @@ public class DoctorController {
        return ResponseEntity.ok(result);
    }
    
+   @GetMapping("/search")
+   public ResponseEntity<List<DoctorResponseDTO>> searchDoctorsBySpecialty(@RequestParam("q") String query,
+           @RequestParam(defaultValue = "20") int limit) {
+       logger.debug("GET /api/v1/doctors/search - Searching doctors by specialty: {}", query);
+       List<DoctorResponseDTO> result = doctorService.searchDoctorsBySpecialty(query, limit);
+       logger.debug("Found {} doctors for specialty query: {}", result.size(), query);
+       return ResponseEntity.ok(result);
+   }
+   
+   @GetMapping("/available")
+   public ResponseEntity<List<DoctorResponseDTO>> getAvailableDoctors(@RequestParam String date, @RequestParam String time,
+           @RequestParam(required = false) String specialty, @RequestParam(defaultValue = "50") int limit) {
+       logger.debug("GET /api/v1/doctors/available - Fetching doctors available on {} at {}", date, time);
+       List<DoctorResponseDTO> result = doctorService.getAvailableDoctors(date, time, specialty, limit);
+       logger.debug("Successfully fetched {} available doctors", result.size());
+       return ResponseEntity.ok(result);
+   }
+   
+   @GetMapping("/cache/stats")
+   public ResponseEntity<CacheStatsDTO> getProfileCacheStats() {
+       logger.debug("GET /api/v1/doctors/cache/stats - Fetching doctor profile cache statistics");
+       return ResponseEntity.ok(doctorService.getProfileCacheStats());
+   }
+   
    @GetMapping("/top-rated")
-   public ResponseEntity<List<DoctorResponseDTO>> getTopRatedDoctors(@RequestParam(defaultValue = "10") int limit) {
-       logger.debug("GET /api/v1/doctors/top-rated - Fetching top {} rated doctors", limit);
-       List<DoctorResponseDTO> result = doctorService.getTopRatedDoctors(limit);
+   public ResponseEntity<List<DoctorResponseDTO>> getTopRatedDoctors(@RequestParam(defaultValue = "10") int limit,
+                                                                     @RequestParam(required = false) String specialty) {
+       logger.debug("GET /api/v1/doctors/top-rated - Fetching top {} rated doctors with specialty: {}", limit, specialty);
+       List<DoctorResponseDTO> result = doctorService.getTopRatedDoctors(limit, specialty);
        logger.debug("Successfully fetched {} top rated doctors", result.size());
        return ResponseEntity.ok(result);
    }
@@ -5,6 +5,7 @@ import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,11 +14,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.DoctorHub.dto.BulkImportResponseDTO;
+import com.example.DoctorHub.dto.BulkUserImportRequestDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.UserRequestDTO;
 import com.example.DoctorHub.dto.UserResponseDTO;
 import com.example.DoctorHub.service.IUserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 
@@ -28,17 +35,27 @@ public class UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
     
     private final IUserService userService;
+    private final ObjectMapper objectMapper;
     
-    public UserController(IUserService userService) {
+    public UserController(IUserService userService, ObjectMapper objectMapper) {
         logger.info("Initializing UserController with UserService");
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
     
     @PostMapping
     public ResponseEntity<UserResponseDTO> createUser(@RequestBody @Valid UserRequestDTO userRequestDTO) {
-        logger.info("POST /api/v1/users - Creating new user with email: {}", userRequestDTO.getEmail());
+        logger.debug("POST /api/v1/users - Creating new user with email: {}", userRequestDTO.getEmail());
         UserResponseDTO result = userService.createUser(userRequestDTO);
-        logger.info("Successfully created user with ID: {}", result.getId());
+        logger.debug("Successfully created user with ID: {}", result.getId());
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+    
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkImportResponseDTO> importUsers(@RequestBody @Valid BulkUserImportRequestDTO request) {
+        logger.debug("POST /api/v1/users/bulk - Importing {} users", request.getUsers().size());
+        BulkImportResponseDTO result = userService.importUsers(request.getUsers());
+        logger.debug("Successfully imported {} users", result.getImported());
         return ResponseEntity.status(HttpStatus.CREATED).body(result);
     }
     
@@ -52,26 +69,42 @@ public class UserController {
     
     @PutMapping("/{id}")
     public ResponseEntity<UserResponseDTO> updateUser(@PathVariable String id, @RequestBody @Valid UserRequestDTO userRequestDTO) {
-        logger.info("PUT /api/v1/users/{} - Updating user", id);
+        logger.debug("PUT /api/v1/users/{} - Updating user", id);
         UserResponseDTO result = userService.updateUser(id, userRequestDTO);
-        logger.info("Successfully updated user with ID: {}", id);
+        logger.debug("Successfully updated user with ID: {}", id);
         return ResponseEntity.ok(result);
     }
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable String id) {
-        logger.info("DELETE /api/v1/users/{} - Deleting user", id);
+        logger.debug("DELETE /api/v1/users/{} - Deleting user", id);
         userService.deleteUser(id);
-        logger.info("Successfully deleted user with ID: {}", id);
+        logger.debug("Successfully deleted user with ID: {}", id);
         return ResponseEntity.noContent().build();
     }
     
     @GetMapping
-    public ResponseEntity<List<UserResponseDTO>> getAllUsers() {
-        logger.debug("GET /api/v1/users - Fetching all users");
-        List<UserResponseDTO> result = userService.getAllUsers();
-        logger.debug("Successfully fetched {} users", result.size());
-        return ResponseEntity.ok(result);
+    public ResponseEntity<List<UserResponseDTO>> getAllUsers(@RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        logger.debug("GET /api/v1/users - Fetching users page after cursor: {}", cursor);
+        CursorPageDTO<UserResponseDTO> result = userService.getUsersPage(cursor, limit);
+        logger.debug("Successfully fetched {} users", result.getItems().size());
+        return ListResponses.page(result);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<List<UserResponseDTO>> searchUsersByName(@RequestParam("q") String query,
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "20") int limit) {
+        logger.debug("GET /api/v1/users/search - Searching users by name: {}", query);
+        CursorPageDTO<UserResponseDTO> result = userService.searchUsersByName(query, cursor, limit);
+        logger.debug("Found {} users for name query: {}", result.getItems().size(), query);
+        return ListResponses.page(result);
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllUsers() {
+        logger.debug("GET /api/v1/users/stream - Streaming all users");
+        return ListResponses.ndjson(objectMapper, userService::streamAllUsers);
     }
     
     @GetMapping("/email/{email}")
@@ -94,9 +127,9 @@ public class UserController {
     public ResponseEntity<Boolean> changePassword(@PathVariable String id, 
                                                @RequestBody String oldPassword, 
                                                @RequestBody String newPassword) {
-        logger.info("POST /api/v1/users/{}/change-password - Changing password for user", id);
+        logger.debug("POST /api/v1/users/{}/change-password - Changing password for user", id);
         boolean result = userService.changePassword(id, oldPassword, newPassword);
-        logger.info("Password change result for user ID {}: {}", id, result);
+        logger.debug("Password change result for user ID {}: {}", id, result);
         return ResponseEntity.ok(result);
     }
     
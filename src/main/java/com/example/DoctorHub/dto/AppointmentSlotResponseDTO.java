@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class AppointmentSlotResponseDTO {
     
+    private String id;
     private String doctorId;
     private LocalDateTime startTime;
     private LocalDateTime endDateTime;
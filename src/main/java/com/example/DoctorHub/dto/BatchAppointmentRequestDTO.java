@@ -0,0 +1,23 @@
+package com.example.DoctorHub.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchAppointmentRequestDTO {
+
+    // Every slot in the batch stays locked until it commits, so batches are kept to a care plan's size
+    public static final int MAX_APPOINTMENTS = 500;
+
+    @NotEmpty(message = "At least one appointment is required")
+    @Size(max = MAX_APPOINTMENTS, message = "At most " + MAX_APPOINTMENTS + " appointments can be booked at once")
+    private List<@Valid AppointmentRequestDTO> appointments;
+}
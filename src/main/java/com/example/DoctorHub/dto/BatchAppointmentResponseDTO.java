@@ -0,0 +1,18 @@
+package com.example.DoctorHub.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchAppointmentResponseDTO {
+
+    private int booked;
+    private int failed;
+    // One result per requested appointment, in request order
+    private List<BatchAppointmentResultDTO> results;
+}
@@ -0,0 +1,19 @@
+package com.example.DoctorHub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchAppointmentResultDTO {
+
+    // The status a single booking of this item would have returned: 201, 404 or 409
+    private int status;
+    // Null when the item was booked
+    private String error;
+    private String message;
+    // Null when the item failed
+    private AppointmentResponseDTO appointment;
+}
@@ -0,0 +1,22 @@
+package com.example.DoctorHub.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkDoctorImportRequestDTO {
+
+    public static final int MAX_DOCTORS = 50_000;
+
+    @NotEmpty(message = "At least one doctor is required")
+    @Size(max = MAX_DOCTORS, message = "At most " + MAX_DOCTORS + " doctors can be imported at once")
+    private List<@Valid DoctorRequestDTO> doctors;
+}
@@ -0,0 +1,17 @@
+package com.example.DoctorHub.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkImportResponseDTO {
+
+    private int imported;
+    // IDs of the created rows, in request order
+    private List<String> ids;
+}
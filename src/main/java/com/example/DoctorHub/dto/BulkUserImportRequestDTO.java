@@ -0,0 +1,22 @@
+package com.example.DoctorHub.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserImportRequestDTO {
+
+    public static final int MAX_USERS = 50_000;
+
+    @NotEmpty(message = "At least one user is required")
+    @Size(max = MAX_USERS, message = "At most " + MAX_USERS + " users can be imported at once")
+    private List<@Valid UserRequestDTO> users;
+}
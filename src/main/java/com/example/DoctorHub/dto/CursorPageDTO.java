@@ -0,0 +1,18 @@
+package com.example.DoctorHub.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+
+    // Id of the last item, or null when this is the last page
+    private String nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.example.DoctorHub.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DaySlotsDTO {
+
+    private String doctorId;
+    private LocalDate date;
+    // Ordered by start time
+    private List<AppointmentSlotResponseDTO> slots;
+    // Strong validator for the list, sent as the ETag of the day view
+    private String etag;
+}
@@ -0,0 +1,48 @@
+package com.example.DoctorHub.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+import com.example.DoctorHub.Enum.RecurrencePattern;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringSlotRequestDTO {
+
+    @NotBlank(message = "Doctor Id is required")
+    private String doctorId;
+
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    @NotNull(message = "Daily start time is required")
+    private LocalTime dailyStartTime;
+
+    @NotNull(message = "Daily end time is required")
+    private LocalTime dailyEndTime;
+
+    @NotNull(message = "Slot length is required")
+    @Min(value = 5, message = "Slot length must be at least 5 minutes")
+    @Max(value = 480, message = "Slot length must be at most 480 minutes")
+    private Integer slotLengthMinutes;
+
+    @NotNull(message = "Recurrence pattern is required")
+    private RecurrencePattern recurrencePattern;
+
+    // Only used with RecurrencePattern.CUSTOM
+    private Set<DayOfWeek> daysOfWeek;
+}
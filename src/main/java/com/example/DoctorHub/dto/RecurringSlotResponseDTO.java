@@ -0,0 +1,16 @@
+package com.example.DoctorHub.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringSlotResponseDTO {
+
+    private String doctorId;
+    private int generatedSlots;
+    private int createdSlots;
+    private int conflictingSlots;
+}
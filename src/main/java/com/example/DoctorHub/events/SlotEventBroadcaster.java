@@ -0,0 +1,220 @@
+package com.example.DoctorHub.events;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.DaySlotsDTO;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Server-Sent Events subscriptions to one doctor's slots on one day.
+ *
+ * A subscriber first receives a "slots" event with the whole day, then a "slot" event for
+ * every slot that is created, changed, booked or freed and a "slot-removed" event (data: the
+ * slot ID) for every deleted slot. A comment line is sent periodically so proxies keep idle
+ * connections open.
+ *
+ * Every subscriber has its own bounded queue, drained on a virtual thread, so events reach each
+ * client in commit order while publishers, heartbeats and other clients never wait on a slow
+ * write or on the snapshot query. A subscriber whose queue is full has fallen too far behind; it
+ * is dropped and its stream completed, and the client reconnects for a fresh snapshot.
+ */
+@Component
+public class SlotEventBroadcaster implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotEventBroadcaster.class);
+
+    private final Map<DayKey, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("slot-events-heartbeat").daemon().factory());
+    private final ExecutorService deliveries = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("slot-events-", 0).factory());
+    private final long timeoutMillis;
+    private final int queueCapacity;
+
+    public SlotEventBroadcaster(@Value("${doctorhub.sse.timeout:PT30M}") Duration timeout,
+                                @Value("${doctorhub.sse.heartbeat:PT15S}") Duration heartbeat,
+                                @Value("${doctorhub.sse.queue-capacity:64}") int queueCapacity) {
+        logger.info("Initializing SlotEventBroadcaster with timeout {}, heartbeat {} and queue capacity {}", timeout, heartbeat, queueCapacity);
+        this.timeoutMillis = timeout.toMillis();
+        this.queueCapacity = queueCapacity;
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a subscription for the day; its first event is the snapshot, read on the subscriber's
+     * own delivery thread after registration so that every change is either in the snapshot or
+     * sent after it
+     */
+    public SseEmitter subscribe(String doctorId, LocalDate date, Supplier<DaySlotsDTO> snapshot) {
+        DayKey key = new DayKey(doctorId, date);
+        Subscriber subscriber = new Subscriber(key, new SseEmitter(timeoutMillis));
+        subscribers.compute(key, (k, day) -> {
+            Set<Subscriber> updated = day == null ? ConcurrentHashMap.newKeySet() : day;
+            updated.add(subscriber);
+            return updated;
+        });
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+        subscriber.start(snapshot);
+        logger.debug("Subscribed to slots of doctor {} on {}", doctorId, date);
+        return subscriber.emitter;
+    }
+
+    public void publish(AppointmentSlotResponseDTO slot) {
+        broadcast(new DayKey(slot.getDoctorId(), slot.getStartTime().toLocalDate()), () -> SseEmitter.event().name("slot").data(slot));
+    }
+
+    public void publishRemoved(String doctorId, LocalDate date, String slotId) {
+        broadcast(new DayKey(doctorId, date), () -> SseEmitter.event().name("slot-removed").data(slotId));
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("doctorhub.sse.subscribers", this, SlotEventBroadcaster::subscriberCount)
+            .description("Open slot event subscriptions")
+            .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        deliveries.shutdownNow();
+        subscribers.values().forEach(day -> day.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+    }
+
+    // Builders are single-use, so each subscriber gets a fresh one
+    private void broadcast(DayKey key, Supplier<SseEmitter.SseEventBuilder> event) {
+        Set<Subscriber> day = subscribers.get(key);
+        if (day != null) {
+            day.forEach(subscriber -> subscriber.enqueue(event.get()));
+        }
+    }
+
+    private void heartbeat() {
+        subscribers.values().forEach(day -> day.forEach(subscriber -> subscriber.enqueue(SseEmitter.event().comment(""))));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.key, (k, day) -> {
+            day.remove(subscriber);
+            return day.isEmpty() ? null : day;
+        });
+    }
+
+    /**
+     * One open stream. At most one delivery task runs per subscriber: whoever flips draining
+     * from false to true starts it, and it keeps sending until the queue is empty.
+     */
+    private final class Subscriber {
+
+        private final DayKey key;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(queueCapacity);
+        // Held by the snapshot load until it has been sent, so queued changes follow it
+        private final AtomicBoolean draining = new AtomicBoolean(true);
+        private volatile boolean closed;
+        private volatile boolean dropped;
+
+        Subscriber(DayKey key, SseEmitter emitter) {
+            this.key = key;
+            this.emitter = emitter;
+        }
+
+        void start(Supplier<DaySlotsDTO> snapshot) {
+            deliveries.execute(() -> {
+                try {
+                    DaySlotsDTO day = snapshot.get();
+                    send(SseEmitter.event().name("slots").id(day.getEtag()).data(day.getSlots()));
+                } catch (RuntimeException e) {
+                    logger.warn("Could not load slots of doctor {} on {} for a new subscriber", key.doctorId(), key.date(), e);
+                    close();
+                    emitter.completeWithError(e);
+                    return;
+                }
+                drain();
+            });
+        }
+
+        // Never blocks, so publishers and the heartbeat do not wait for this client
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (closed) {
+                return;
+            }
+            if (!pending.offer(event)) {
+                logger.warn("Dropping slow subscriber to slots of doctor {} on {} after {} undelivered events", key.doctorId(), key.date(), queueCapacity);
+                dropped = true;
+                close();
+            }
+            if (draining.compareAndSet(false, true)) {
+                deliveries.execute(this::drain);
+            }
+        }
+
+        void close() {
+            closed = true;
+            unsubscribe(this);
+        }
+
+        // A closed subscriber keeps draining set, so no further delivery task is started for it
+        private void drain() {
+            do {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = pending.poll()) != null) {
+                    send(event);
+                }
+                if (closed) {
+                    pending.clear();
+                    if (dropped) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+                draining.set(false);
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                close();
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private record DayKey(String doctorId, LocalDate date) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.DoctorHub.exception;
+
+public class AppointmentSlotNotAvailableException extends RuntimeException {
+
+    public AppointmentSlotNotAvailableException(String message) {
+        super(message);
+    }
+
+    public AppointmentSlotNotAvailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.DoctorHub.exception;
 
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -58,6 +60,90 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(AppointmentSlotNotAvailableException.class)
+    public ResponseEntity<ErrorResponseDTO> handleAppointmentSlotNotAvailableException(AppointmentSlotNotAvailableException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            HttpStatus.CONFLICT.value(),
+            "Appointment Slot Not Available",
+            ex.getMessage(),
+            "/api/appointments"
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidIdempotencyKeyException(InvalidIdempotencyKeyException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            HttpStatus.BAD_REQUEST.value(),
+            "Invalid Idempotency Key",
+            ex.getMessage(),
+            "/api/appointments"
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponseDTO> handleInvalidCursorException(InvalidCursorException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            HttpStatus.BAD_REQUEST.value(),
+            "Invalid Cursor",
+            ex.getMessage(),
+            "/api"
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIdempotencyKeyReusedException(IdempotencyKeyReusedException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            HttpStatus.UNPROCESSABLE_ENTITY.value(),
+            "Idempotency Key Reused",
+            ex.getMessage(),
+            "/api/appointments"
+        );
+        
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIdempotentRequestInProgressException(IdempotentRequestInProgressException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            HttpStatus.CONFLICT.value(),
+            "Request In Progress",
+            ex.getMessage(),
+            "/api/appointments"
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).header("Retry-After", "1").body(errorResponse);
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponseDTO> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Too Many Requests",
+            ex.getMessage(),
+            "/api/users"
+        );
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header("Retry-After", "1").body(errorResponse);
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponseDTO> handleDatabaseUnavailableException(RuntimeException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            "No database connection available, retry later",
+            "/api"
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").body(errorResponse);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponseDTO> handleRuntimeException(RuntimeException ex) {
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
@@ -0,0 +1,314 @@
+package com.example.DoctorHub.index;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.repository.AppointmentSlotRepository;
+import com.example.DoctorHub.repository.DoctorRepository;
+
+/**
+ * Per-day availability bitmaps used to answer "which doctors are free at this time".
+ *
+ * Every doctor gets a stable ordinal. A day holds one {@link BitSet} per 15-minute bucket, and
+ * a doctor's bit is set when one of their available slots covers the whole bucket. Specialties
+ * are bitmaps over the same ordinals, so a query is one bucket lookup and one AND.
+ *
+ * Days are loaded from the database on first use and are then kept in sync by
+ * {@link #put(AppointmentSlot)} and {@link #remove(String)}. Specialties are loaded once and kept
+ * in sync by {@link #putDoctor(String, String)} and {@link #removeDoctor(String)}. A slot only
+ * counts towards the day it starts on.
+ *
+ * Only days from today up to the booking horizon can be queried, and days are evicted once they
+ * are past, so the index holds at most one horizon's worth of days.
+ */
+@Component
+public class DoctorAvailabilityIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DoctorAvailabilityIndex.class);
+
+    static final int BUCKET_MINUTES = 15;
+    static final int BUCKETS_PER_DAY = 24 * 60 / BUCKET_MINUTES;
+    private static final int BUCKET_SECONDS = BUCKET_MINUTES * 60;
+
+    private final AppointmentSlotRepository appointmentSlotRepository;
+    private final DoctorRepository doctorRepository;
+    private final int horizonDays;
+    private final ConcurrentMap<LocalDate, DaySlots> days = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LocalDate> slotDays = new ConcurrentHashMap<>();
+    private final Doctors doctors = new Doctors();
+    private volatile LocalDate evictedBefore = LocalDate.MIN;
+
+    public DoctorAvailabilityIndex(AppointmentSlotRepository appointmentSlotRepository, DoctorRepository doctorRepository,
+                                   @Value("${doctorhub.availability.horizon-days:366}") int horizonDays) {
+        logger.info("Initializing DoctorAvailabilityIndex with a horizon of {} days", horizonDays);
+        this.appointmentSlotRepository = appointmentSlotRepository;
+        this.doctorRepository = doctorRepository;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * IDs of the first limit doctors with an available slot covering the 15-minute bucket that contains
+     * time, optionally restricted to a specialty (null for any specialty)
+     */
+    public List<String> findAvailableDoctorIds(LocalDateTime time, String specialty, int limit) {
+        LocalDate date = time.toLocalDate();
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today) || date.isAfter(today.plusDays(horizonDays))) {
+            logger.error("Availability requested for {} outside {} to {}", date, today, today.plusDays(horizonDays));
+            throw new IllegalArgumentException("Date must be between today and " + horizonDays + " days ahead");
+        }
+        evictDaysBefore(today);
+        int bucket = time.toLocalTime().toSecondOfDay() / BUCKET_SECONDS;
+        BitSet available = days.computeIfAbsent(date, DaySlots::new).bucket(bucket);
+        return doctors.ids(available, specialty, limit);
+    }
+
+    /**
+     * Add, move or update a persisted slot; unavailable slots are kept but clear their buckets
+     */
+    public void put(AppointmentSlot slot) {
+        LocalDate date = slot.getStartTime().toLocalDate();
+        String slotId = Mapper.toIdString(slot.getId());
+        LocalDate previousDate = slotDays.get(slotId);
+        if (previousDate != null && !previousDate.equals(date)) {
+            remove(slotId);
+        }
+        DaySlots day = days.get(date);
+        if (day != null) {
+            day.put(toEntry(slot, date));
+        }
+    }
+
+    /**
+     * Remove a deleted slot
+     */
+    public void remove(String slotId) {
+        LocalDate date = slotDays.remove(slotId);
+        if (date != null) {
+            DaySlots day = days.get(date);
+            if (day != null) {
+                day.remove(slotId);
+            }
+        }
+    }
+
+    /**
+     * Register a new doctor or a change of specialty
+     */
+    public void putDoctor(String doctorId, String specialty) {
+        doctors.put(doctorId, specialty);
+    }
+
+    /**
+     * Drop a deleted doctor from every query result
+     */
+    public void removeDoctor(String doctorId) {
+        doctors.remove(doctorId);
+    }
+
+    /**
+     * Drop the days before today together with their slots. Runs at most once per day, on the
+     * first query after midnight.
+     */
+    void evictDaysBefore(LocalDate today) {
+        if (!today.isAfter(evictedBefore)) {
+            return;
+        }
+        evictedBefore = today;
+        for (LocalDate date : days.keySet()) {
+            if (date.isBefore(today)) {
+                DaySlots day = days.remove(date);
+                if (day != null) {
+                    day.evict();
+                }
+            }
+        }
+    }
+
+    private SlotEntry toEntry(AppointmentSlot slot, LocalDate date) {
+        int fromBucket = ceilDiv(slot.getStartTime().toLocalTime().toSecondOfDay(), BUCKET_SECONDS);
+        int toBucket = slot.getEndTime().toLocalDate().isAfter(date)
+            ? BUCKETS_PER_DAY
+            : slot.getEndTime().toLocalTime().toSecondOfDay() / BUCKET_SECONDS;
+        return new SlotEntry(Mapper.toIdString(slot.getId()), doctors.ordinal(Mapper.toIdString(slot.getDoctor().getId())), fromBucket, toBucket, slot.isAvailable());
+    }
+
+    private static int ceilDiv(int dividend, int divisor) {
+        return -Math.floorDiv(-dividend, divisor);
+    }
+
+    private record SlotEntry(String slotId, int doctorOrdinal, int fromBucket, int toBucket, boolean available) {
+    }
+
+    /**
+     * Availability of every doctor on one day. Coverage counts per doctor and bucket let a
+     * slot be removed without rescanning the doctor's other slots.
+     */
+    private final class DaySlots {
+
+        private final LocalDate date;
+        private final BitSet[] buckets = new BitSet[BUCKETS_PER_DAY];
+        private final Map<Integer, int[]> coverageByDoctor = new HashMap<>();
+        private final Map<String, SlotEntry> bySlotId = new HashMap<>();
+        private boolean loaded;
+        private boolean evicted;
+
+        DaySlots(LocalDate date) {
+            this.date = date;
+            for (int i = 0; i < BUCKETS_PER_DAY; i++) {
+                buckets[i] = new BitSet();
+            }
+        }
+
+        synchronized BitSet bucket(int bucket) {
+            ensureLoaded();
+            return (BitSet) buckets[bucket].clone();
+        }
+
+        synchronized void put(SlotEntry entry) {
+            ensureLoaded();
+            insert(entry);
+        }
+
+        synchronized void remove(String slotId) {
+            SlotEntry existing = bySlotId.remove(slotId);
+            if (existing != null) {
+                apply(existing, -1);
+            }
+        }
+
+        // A put that looked the day up before it was evicted must not record its slot again
+        synchronized void evict() {
+            evicted = true;
+            bySlotId.keySet().forEach(slotId -> slotDays.remove(slotId, date));
+            bySlotId.clear();
+            logger.debug("Evicted availability for {}", date);
+        }
+
+        private void insert(SlotEntry entry) {
+            if (evicted) {
+                return;
+            }
+            SlotEntry previous = bySlotId.put(entry.slotId(), entry);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            apply(entry, 1);
+            slotDays.put(entry.slotId(), date);
+        }
+
+        private void apply(SlotEntry entry, int delta) {
+            if (!entry.available()) {
+                return;
+            }
+            int[] coverage = coverageByDoctor.computeIfAbsent(entry.doctorOrdinal(), ordinal -> new int[BUCKETS_PER_DAY]);
+            for (int bucket = entry.fromBucket(); bucket < entry.toBucket(); bucket++) {
+                coverage[bucket] += delta;
+                buckets[bucket].set(entry.doctorOrdinal(), coverage[bucket] > 0);
+            }
+        }
+
+        private void ensureLoaded() {
+            if (loaded) {
+                return;
+            }
+            logger.debug("Loading availability for {}", date);
+            for (AppointmentSlot slot : appointmentSlotRepository.findAvailableByStartTimeRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay())) {
+                insert(toEntry(slot, date));
+            }
+            loaded = true;
+            logger.debug("Loaded {} available slots for {}", bySlotId.size(), date);
+        }
+    }
+
+    /**
+     * Doctor ordinals and specialty bitmaps. Ordinals are never reused, deleted doctors are
+     * only cleared from the active mask.
+     */
+    private final class Doctors {
+
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+        private final BitSet active = new BitSet();
+        private final Map<String, BitSet> bySpecialty = new HashMap<>();
+        private boolean loaded;
+
+        synchronized int ordinal(String doctorId) {
+            return ordinals.computeIfAbsent(doctorId, id -> {
+                ids.add(id);
+                active.set(ids.size() - 1);
+                return ids.size() - 1;
+            });
+        }
+
+        synchronized void put(String doctorId, String specialty) {
+            ensureLoaded();
+            insert(doctorId, specialty);
+        }
+
+        synchronized void remove(String doctorId) {
+            Integer ordinal = ordinals.get(doctorId);
+            if (ordinal != null) {
+                active.clear(ordinal);
+                bySpecialty.values().forEach(doctorsWithSpecialty -> doctorsWithSpecialty.clear(ordinal));
+            }
+        }
+
+        synchronized List<String> ids(BitSet available, String specialty, int limit) {
+            ensureLoaded();
+            available.and(active);
+            if (specialty != null) {
+                BitSet doctorsWithSpecialty = bySpecialty.get(key(specialty));
+                if (doctorsWithSpecialty == null) {
+                    return new ArrayList<>();
+                }
+                available.and(doctorsWithSpecialty);
+            }
+            List<String> result = new ArrayList<>(Math.min(available.cardinality(), limit));
+            for (int ordinal = available.nextSetBit(0); ordinal >= 0 && result.size() < limit; ordinal = available.nextSetBit(ordinal + 1)) {
+                result.add(ids.get(ordinal));
+            }
+            return result;
+        }
+
+        private void insert(String doctorId, String specialty) {
+            int ordinal = ordinal(doctorId);
+            active.set(ordinal);
+            bySpecialty.values().forEach(doctorsWithSpecialty -> doctorsWithSpecialty.clear(ordinal));
+            if (specialty != null) {
+                bySpecialty.computeIfAbsent(key(specialty), k -> new BitSet()).set(ordinal);
+            }
+        }
+
+        private String key(String specialty) {
+            return specialty.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private void ensureLoaded() {
+            if (loaded) {
+                return;
+            }
+            logger.debug("Loading doctor specialties");
+            for (DoctorRepository.SpecialtyView doctor : doctorRepository.findAllSpecialties()) {
+                insert(Mapper.toIdString(doctor.getId()), doctor.getSpecialization());
+            }
+            loaded = true;
+            logger.debug("Loaded specialties for {} doctors", ordinals.size());
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package com.example.DoctorHub.index;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.DoctorHub.repository.UserRepository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Bloom filter over registered emails, so an email that was never registered is answered
+ * without a database round trip.
+ *
+ * {@link #mightContain(String)} never returns false for a registered email: emails are added
+ * before the row is written, and deleted or replaced emails stay in the filter and only cost a
+ * database check. Emails are folded to lower case without accents because the email column
+ * compares that way. The filter is sized for the configured number of emails or twice the
+ * current count, whichever is larger. Past that it keeps working with a rising false positive
+ * rate until the next rebuild; the rate metrics show when expected-emails needs raising.
+ *
+ * The filter is built from the database when the application is ready, or on first use if
+ * that happens earlier, and rebuilt every rebuild-interval into a new filter that replaces the
+ * old one. Only emails put through this instance are seen between rebuilds, so an email
+ * registered by another instance or written straight to the table can be reported as free
+ * until the next rebuild; the unique email column still rejects it on insert. Emails put since
+ * the previous rebuild started are added to the new filter as well, so a registration whose
+ * row was not yet committed when the rebuild read the table is not lost.
+ *
+ * Checks are published to Micrometer, including the observed false positive rate.
+ */
+@Component
+public class EmailBloomFilter implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailBloomFilter.class);
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedEmails;
+    private final double falsePositiveRate;
+    private final AtomicBoolean saturationLogged = new AtomicBoolean();
+    private final LongAdder definiteNegatives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder truePositives = new LongAdder();
+    private final ScheduledExecutorService rebuilds = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("email-filter-rebuild").daemon().factory());
+    private volatile Bits current;
+    // Normalized emails put since the last rebuild started; guarded by this
+    private Set<String> recentPuts = new HashSet<>();
+
+    public EmailBloomFilter(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                            @Value("${doctorhub.email-filter.expected-emails:1000000}") long expectedEmails,
+                            @Value("${doctorhub.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${doctorhub.email-filter.rebuild-interval:PT1H}") Duration rebuildInterval) {
+        logger.info("Initializing EmailBloomFilter for {} emails at false positive rate {}, rebuilt every {}",
+            expectedEmails, falsePositiveRate, rebuildInterval);
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+        rebuilds.scheduleWithFixedDelay(this::scheduledRebuild, rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * False only if the email is certainly not registered
+     */
+    public boolean mightContain(String email) {
+        boolean result = ensureLoaded().mightContain(normalize(email));
+        if (!result) {
+            definiteNegatives.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Record what the database answered after {@link #mightContain(String)} returned true
+     */
+    public void recordDatabaseResult(boolean exists) {
+        (exists ? truePositives : falsePositives).increment();
+    }
+
+    /**
+     * Add an email; call before the row is written so no reader can see the row without the email
+     */
+    public void put(String email) {
+        String normalized = normalize(email);
+        ensureLoaded();
+        Bits filter;
+        // Held so a rebuild cannot swap in a filter that has neither the row nor this email
+        synchronized (this) {
+            filter = current;
+            filter.put(normalized);
+            recentPuts.add(normalized);
+        }
+        if (filter.isSaturated() && saturationLogged.compareAndSet(false, true)) {
+            logger.warn("Email filter holds more than its {} email capacity; false positives will rise until the next rebuild", filter.capacity);
+        }
+    }
+
+    /**
+     * Build a new filter from the database and replace the current one with it
+     */
+    public void rebuild() {
+        Set<String> carried;
+        synchronized (this) {
+            carried = recentPuts;
+            recentPuts = new HashSet<>();
+        }
+        Bits rebuilt = load();
+        synchronized (this) {
+            carried.forEach(rebuilt::put);
+            recentPuts.forEach(rebuilt::put);
+            current = rebuilt;
+        }
+        saturationLogged.set(false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilds.shutdownNow();
+    }
+
+    /**
+     * Share of checks for unregistered emails that still went to the database
+     */
+    public double observedFalsePositiveRate() {
+        double falsePositiveCount = falsePositives.sum();
+        double negatives = falsePositiveCount + definiteNegatives.sum();
+        return negatives == 0 ? 0 : falsePositiveCount / negatives;
+    }
+
+    /**
+     * False positive rate predicted from the filter's size and fill
+     */
+    public double expectedFalsePositiveRate() {
+        Bits filter = current;
+        return filter == null ? 0 : filter.expectedFalsePositiveRate();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("doctorhub.email.filter.checks", definiteNegatives, LongAdder::sum)
+            .tag("result", "definite_negative")
+            .description("Email existence checks answered by the Bloom filter")
+            .register(registry);
+        FunctionCounter.builder("doctorhub.email.filter.checks", falsePositives, LongAdder::sum)
+            .tag("result", "false_positive")
+            .register(registry);
+        FunctionCounter.builder("doctorhub.email.filter.checks", truePositives, LongAdder::sum)
+            .tag("result", "true_positive")
+            .register(registry);
+        Gauge.builder("doctorhub.email.filter.false.positive.rate", this, EmailBloomFilter::observedFalsePositiveRate)
+            .description("Observed share of unregistered emails the Bloom filter could not rule out")
+            .register(registry);
+        Gauge.builder("doctorhub.email.filter.expected.false.positive.rate", this, EmailBloomFilter::expectedFalsePositiveRate)
+            .description("False positive rate predicted from the filter's size and fill")
+            .register(registry);
+    }
+
+    // Matches the accent- and case-insensitive collation of the email column
+    static String normalize(String email) {
+        String decomposed = Normalizer.normalize(email, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    private Bits ensureLoaded() {
+        Bits filter = current;
+        if (filter != null) {
+            return filter;
+        }
+        synchronized (this) {
+            if (current == null) {
+                current = load();
+            }
+            return current;
+        }
+    }
+
+    // A failed rebuild keeps the current filter; an exception would cancel later runs
+    private void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("Email filter rebuild failed, keeping the current filter", e);
+        }
+    }
+
+    private Bits load() {
+        long count = userRepository.count();
+        Bits filter = new Bits(Math.max(expectedEmails, 2 * count), falsePositiveRate);
+        logger.info("Building email filter with {} bits and {} hashes for {} emails", filter.bitCount, filter.hashCount, count);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<String> emails = userRepository.streamAllEmails()) {
+                emails.forEach(email -> filter.put(normalize(email)));
+            }
+        });
+        logger.info("Built email filter with {} emails", filter.insertions());
+        return filter;
+    }
+
+    /**
+     * Fixed-size bit set with k probes derived from one 64-bit hash (Kirsch-Mitzenmacher);
+     * safe for concurrent puts and reads
+     */
+    static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        private final long capacity;
+        private final LongAdder insertions = new LongAdder();
+
+        Bits(long capacity, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+            this.bitCount = words.length() * 64L;
+            this.hashCount = (int) Math.max(1, Math.round((double) bitCount / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            int low = (int) hash;
+            int high = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = ((low + (long) i * high) & Long.MAX_VALUE) % bitCount;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long old;
+                do {
+                    old = words.get(word);
+                } while ((old & mask) == 0 && !words.compareAndSet(word, old, old | mask));
+            }
+            insertions.increment();
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int low = (int) hash;
+            int high = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = ((low + (long) i * high) & Long.MAX_VALUE) % bitCount;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long insertions() {
+            return insertions.sum();
+        }
+
+        boolean isSaturated() {
+            return insertions.sum() > capacity;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow(1 - Math.exp(-hashCount * (double) insertions.sum() / bitCount), hashCount);
+        }
+
+        // FNV-1a over the characters, finished with the MurmurHash3 mixer to spread both halves
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
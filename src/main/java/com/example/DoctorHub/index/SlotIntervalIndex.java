@@ -0,0 +1,236 @@
+package com.example.DoctorHub.index;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.repository.AppointmentSlotRepository;
+
+/**
+ * In-memory index of slot boundaries per doctor, used to detect overlapping slots
+ * without a database round trip.
+ *
+ * Writers claim an interval with {@link #tryReserve}, which checks for overlaps and holds the
+ * interval under the doctor's lock in one step, so two concurrent writes for the same doctor
+ * cannot both pass the check. The reservation is confirmed with the saved slot, or released
+ * if the write fails.
+ *
+ * A doctor's slots that have not ended are loaded once, on first use, and are then kept in
+ * sync by the reservations and {@link #remove(String, String)}. New slots cannot start in the
+ * past, so intervals are dropped once they have ended.
+ */
+@Component
+public class SlotIntervalIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlotIntervalIndex.class);
+
+    // Slot ids are numeric, so reserved intervals cannot collide with persisted ones
+    private static final String RESERVATION_PREFIX = "reserved-";
+
+    private final AppointmentSlotRepository appointmentSlotRepository;
+    private final ConcurrentMap<String, DoctorSlots> slotsByDoctor = new ConcurrentHashMap<>();
+    private final AtomicLong reservationIds = new AtomicLong();
+
+    public SlotIntervalIndex(AppointmentSlotRepository appointmentSlotRepository) {
+        logger.info("Initializing SlotIntervalIndex");
+        this.appointmentSlotRepository = appointmentSlotRepository;
+    }
+
+    /**
+     * Hold [startTime, endTime) for the doctor if it overlaps none of their slots or reservations
+     */
+    public Optional<Reservation> tryReserve(String doctorId, LocalDateTime startTime, LocalDateTime endTime) {
+        return tryReserve(doctorId, startTime, endTime, null);
+    }
+
+    /**
+     * Hold [startTime, endTime) for the doctor if it overlaps none of their slots or reservations
+     * other than excludeSlotId (may be null), the slot being moved
+     */
+    public Optional<Reservation> tryReserve(String doctorId, LocalDateTime startTime, LocalDateTime endTime, String excludeSlotId) {
+        DoctorSlots doctorSlots = doctorSlots(doctorId);
+        SlotInterval interval = new SlotInterval(RESERVATION_PREFIX + reservationIds.incrementAndGet(), startTime, endTime);
+        return doctorSlots.reserve(interval, excludeSlotId)
+            ? Optional.of(new Reservation(doctorSlots, interval))
+            : Optional.empty();
+    }
+
+    /**
+     * Add or replace a persisted slot in its doctor's index
+     */
+    public void add(AppointmentSlot slot) {
+        doctorSlots(Mapper.toIdString(slot.getDoctor().getId())).put(SlotInterval.of(slot));
+    }
+
+    /**
+     * Remove a slot from its doctor's index
+     */
+    public void remove(String doctorId, String slotId) {
+        DoctorSlots doctorSlots = slotsByDoctor.get(doctorId);
+        if (doctorSlots != null) {
+            doctorSlots.remove(slotId);
+        }
+    }
+
+    private DoctorSlots doctorSlots(String doctorId) {
+        return slotsByDoctor.computeIfAbsent(doctorId, DoctorSlots::new);
+    }
+
+    /**
+     * An interval held in a doctor's index while its slot is written
+     */
+    public static final class Reservation {
+
+        private final DoctorSlots doctorSlots;
+        private SlotInterval interval;
+
+        private Reservation(DoctorSlots doctorSlots, SlotInterval interval) {
+            this.doctorSlots = doctorSlots;
+            this.interval = interval;
+        }
+
+        /**
+         * Replace the reservation with the saved slot, which keeps the interval held
+         */
+        public void confirm(AppointmentSlot slot) {
+            synchronized (doctorSlots) {
+                doctorSlots.removeInterval(interval);
+                interval = SlotInterval.of(slot);
+                doctorSlots.insert(interval);
+            }
+        }
+
+        /**
+         * Give the interval back, whether or not it was confirmed
+         */
+        public void release() {
+            synchronized (doctorSlots) {
+                doctorSlots.removeInterval(interval);
+            }
+        }
+    }
+
+    private record SlotInterval(String slotId, LocalDateTime startTime, LocalDateTime endTime) {
+
+        static SlotInterval of(AppointmentSlot slot) {
+            return new SlotInterval(Mapper.toIdString(slot.getId()), slot.getStartTime(), slot.getEndTime());
+        }
+
+        Duration length() {
+            return Duration.between(startTime, endTime);
+        }
+    }
+
+    /**
+     * Slots of a single doctor ordered by start time. Lookups only scan the slots that start
+     * within the longest known slot length of the requested window, so partially overlapping
+     * slots are caught as well as fully contained ones.
+     */
+    private final class DoctorSlots {
+
+        private final String doctorId;
+        private final NavigableSet<SlotInterval> byStart = new TreeSet<>(
+            Comparator.comparing(SlotInterval::startTime).thenComparing(SlotInterval::slotId));
+        private final Map<String, SlotInterval> byId = new HashMap<>();
+        private Duration longestSlot = Duration.ZERO;
+        private boolean loaded;
+
+        DoctorSlots(String doctorId) {
+            this.doctorId = doctorId;
+        }
+
+        synchronized boolean reserve(SlotInterval interval, String excludeSlotId) {
+            ensureLoaded();
+            dropEnded();
+            if (overlapsLoaded(interval.startTime(), interval.endTime(), excludeSlotId)) {
+                return false;
+            }
+            insert(interval);
+            return true;
+        }
+
+        synchronized void put(SlotInterval interval) {
+            ensureLoaded();
+            insert(interval);
+        }
+
+        synchronized void remove(String slotId) {
+            SlotInterval existing = byId.remove(slotId);
+            if (existing != null) {
+                byStart.remove(existing);
+            }
+        }
+
+        // Only removes the interval if it has not been replaced since, e.g. by a later move of the slot
+        void removeInterval(SlotInterval interval) {
+            if (byId.remove(interval.slotId(), interval)) {
+                byStart.remove(interval);
+            }
+        }
+
+        private boolean overlapsLoaded(LocalDateTime startTime, LocalDateTime endTime, String excludeSlotId) {
+            SlotInterval from = new SlotInterval("", startTime.minus(longestSlot), startTime);
+            SlotInterval to = new SlotInterval("", endTime, endTime);
+            for (SlotInterval candidate : byStart.subSet(from, true, to, false)) {
+                if (candidate.endTime().isAfter(startTime) && !candidate.slotId().equals(excludeSlotId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void insert(SlotInterval interval) {
+            SlotInterval previous = byId.put(interval.slotId(), interval);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+            byStart.add(interval);
+            if (interval.length().compareTo(longestSlot) > 0) {
+                longestSlot = interval.length();
+            }
+        }
+
+        // Visits the slots that have started; all but the ones still running are removed
+        private void dropEnded() {
+            LocalDateTime now = LocalDateTime.now();
+            Iterator<SlotInterval> started = byStart.iterator();
+            while (started.hasNext()) {
+                SlotInterval interval = started.next();
+                if (!interval.startTime().isBefore(now)) {
+                    return;
+                }
+                if (!interval.endTime().isAfter(now)) {
+                    started.remove();
+                    byId.remove(interval.slotId());
+                }
+            }
+        }
+
+        private void ensureLoaded() {
+            if (loaded) {
+                return;
+            }
+            logger.debug("Loading slot intervals for doctor ID: {}", doctorId);
+            for (AppointmentSlot slot : appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(Long.valueOf(doctorId), LocalDateTime.now())) {
+                insert(SlotInterval.of(slot));
+            }
+            loaded = true;
+            logger.debug("Loaded {} slot intervals for doctor ID: {}", byId.size(), doctorId);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.DoctorHub.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.repository.DoctorRepository;
+
+/**
+ * Inverted index from normalized specialization tokens to doctor IDs, used for
+ * search-as-you-type over specialties.
+ *
+ * Tokens are kept in a sorted map so a prefix is a single range lookup. When a query term
+ * matches no token exactly or by prefix, the (small) token vocabulary is scanned for tokens
+ * within a bounded edit distance of it. All query terms must match.
+ *
+ * The index is built from the database when the application is ready, or on first use if
+ * that happens earlier, and is kept in sync by {@link #put(String, String)} and
+ * {@link #remove(String)}.
+ */
+@Component
+public class SpecialtyIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SpecialtyIndex.class);
+
+    private final DoctorRepository doctorRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Set<String>> doctorsByToken = new TreeMap<>();
+    private final Map<String, Set<String>> tokensByDoctor = new HashMap<>();
+    private volatile boolean loaded;
+
+    public SpecialtyIndex(DoctorRepository doctorRepository) {
+        logger.info("Initializing SpecialtyIndex");
+        this.doctorRepository = doctorRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * IDs of up to limit doctors whose specialization matches every term of the query.
+     * Exact token matches come first, then prefix matches, then typo-tolerant matches.
+     */
+    public List<String> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<List<String>> matchesPerTerm = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                List<String> matches = matchingTokens(term);
+                if (matches.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                matchesPerTerm.add(matches);
+            }
+
+            // Walk the term with the fewest candidates and check the others per doctor
+            int driver = 0;
+            long fewest = Long.MAX_VALUE;
+            for (int i = 0; i < matchesPerTerm.size(); i++) {
+                long candidates = matchesPerTerm.get(i).stream().mapToLong(token -> doctorsByToken.get(token).size()).sum();
+                if (candidates < fewest) {
+                    fewest = candidates;
+                    driver = i;
+                }
+            }
+            List<Set<String>> otherTerms = new ArrayList<>();
+            for (int i = 0; i < matchesPerTerm.size(); i++) {
+                if (i != driver) {
+                    otherTerms.add(new HashSet<>(matchesPerTerm.get(i)));
+                }
+            }
+
+            Set<String> result = new LinkedHashSet<>();
+            for (String token : matchesPerTerm.get(driver)) {
+                for (String doctorId : doctorsByToken.get(token)) {
+                    if (matchesAll(tokensByDoctor.get(doctorId), otherTerms)) {
+                        result.add(doctorId);
+                        if (result.size() == limit) {
+                            return new ArrayList<>(result);
+                        }
+                    }
+                }
+            }
+            return new ArrayList<>(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a new doctor or a change of specialization
+     */
+    public void put(String doctorId, String specialization) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            insert(doctorId, specialization);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a deleted doctor
+     */
+    public void remove(String doctorId) {
+        lock.writeLock().lock();
+        try {
+            removeTokens(doctorId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private List<String> matchingTokens(String term) {
+        List<String> matches = new ArrayList<>();
+        if (doctorsByToken.containsKey(term)) {
+            matches.add(term);
+        }
+        List<String> prefixed = new ArrayList<>(doctorsByToken.subMap(term, false, term + Character.MAX_VALUE, false).keySet());
+        prefixed.sort(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()));
+        matches.addAll(prefixed);
+        if (!matches.isEmpty()) {
+            return matches;
+        }
+
+        int maxDistance = maxEditDistance(term);
+        if (maxDistance == 0) {
+            return matches;
+        }
+        Map<String, Integer> distances = new HashMap<>();
+        for (String token : doctorsByToken.keySet()) {
+            int distance = prefixDistance(term, token, maxDistance);
+            if (distance <= maxDistance) {
+                distances.put(token, distance);
+            }
+        }
+        matches.addAll(distances.keySet());
+        matches.sort(Comparator.<String>comparingInt(distances::get).thenComparing(Comparator.naturalOrder()));
+        return matches;
+    }
+
+    private static boolean matchesAll(Set<String> doctorTokens, List<Set<String>> otherTerms) {
+        for (Set<String> termMatches : otherTerms) {
+            if (Collections.disjoint(doctorTokens, termMatches)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int maxEditDistance(String term) {
+        if (term.length() < 4) {
+            return 0;
+        }
+        return term.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * Smallest edit distance between the term and a prefix of the token about as long as the
+     * term, so that a misspelt word still matches while it is being typed
+     */
+    private static int prefixDistance(String term, String token, int maxDistance) {
+        int best = Integer.MAX_VALUE;
+        for (int length = term.length() - 1; length <= term.length() + 1; length++) {
+            if (length > 0 && length <= token.length()) {
+                best = Math.min(best, editDistance(term, token.substring(0, length), maxDistance));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Levenshtein distance, returning maxDistance + 1 as soon as it is known to be larger
+     */
+    private static int editDistance(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private void insert(String doctorId, String specialization) {
+        removeTokens(doctorId);
+        Set<String> tokens = new HashSet<>(tokenize(specialization));
+        if (tokens.isEmpty()) {
+            return;
+        }
+        tokensByDoctor.put(doctorId, tokens);
+        for (String token : tokens) {
+            doctorsByToken.computeIfAbsent(token, t -> new HashSet<>()).add(doctorId);
+        }
+    }
+
+    private void removeTokens(String doctorId) {
+        Set<String> tokens = tokensByDoctor.remove(doctorId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Set<String> doctorIds = doctorsByToken.get(token);
+            doctorIds.remove(doctorId);
+            if (doctorIds.isEmpty()) {
+                doctorsByToken.remove(token);
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            logger.info("Building specialty index");
+            for (DoctorRepository.SpecialtyView doctor : doctorRepository.findAllSpecialties()) {
+                insert(Mapper.toIdString(doctor.getId()), doctor.getSpecialization());
+            }
+            loaded = true;
+            logger.info("Built specialty index with {} tokens for {} doctors", doctorsByToken.size(), tokensByDoctor.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.DoctorHub.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.repository.DoctorRepository;
+
+/**
+ * Doctors ranked by rating, globally and per specialty.
+ *
+ * Every rated doctor is kept in a sorted set ordered by rating (highest first) and then ID.
+ * Each ranking also publishes an immutable list of its first {@link #SNAPSHOT_SIZE} doctor IDs,
+ * rebuilt only when a write lands inside it, so the usual top-K read is a sublist of that list.
+ *
+ * The rankings are built from the database when the application is ready, or on first use if
+ * that happens earlier, and are kept in sync by {@link #put(String, String, Double)} and
+ * {@link #remove(String)}. Doctors without a rating are not ranked.
+ */
+@Component
+public class TopRatedDoctorIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopRatedDoctorIndex.class);
+
+    static final int SNAPSHOT_SIZE = 100;
+
+    private static final Comparator<RatedDoctor> BY_RATING = Comparator.comparingDouble(RatedDoctor::rating).reversed()
+        .thenComparing(RatedDoctor::doctorId);
+
+    private final DoctorRepository doctorRepository;
+    private final Ranking global = new Ranking();
+    private final ConcurrentMap<String, Ranking> bySpecialty = new ConcurrentHashMap<>();
+    private final Map<String, RatedDoctor> byDoctor = new HashMap<>();
+    private volatile boolean loaded;
+
+    public TopRatedDoctorIndex(DoctorRepository doctorRepository) {
+        logger.info("Initializing TopRatedDoctorIndex");
+        this.doctorRepository = doctorRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * IDs of the limit highest rated doctors, optionally within a specialty (null for all)
+     */
+    public List<String> top(int limit, String specialty) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        ensureLoaded();
+        Ranking ranking = specialty == null ? global : bySpecialty.get(key(specialty));
+        return ranking == null ? Collections.emptyList() : ranking.top(limit);
+    }
+
+    /**
+     * Rank a new doctor or re-rank one whose rating or specialty changed
+     */
+    public synchronized void put(String doctorId, String specialty, Double rating) {
+        ensureLoaded();
+        insert(doctorId, specialty, rating);
+    }
+
+    /**
+     * Drop a deleted doctor from every ranking
+     */
+    public synchronized void remove(String doctorId) {
+        RatedDoctor existing = byDoctor.remove(doctorId);
+        if (existing != null) {
+            global.remove(existing);
+            Ranking ranking = bySpecialty.get(existing.specialtyKey());
+            if (ranking != null) {
+                ranking.remove(existing);
+            }
+        }
+    }
+
+    private void insert(String doctorId, String specialty, Double rating) {
+        remove(doctorId);
+        if (rating == null) {
+            return;
+        }
+        RatedDoctor entry = new RatedDoctor(doctorId, specialty == null ? null : key(specialty), rating);
+        byDoctor.put(doctorId, entry);
+        global.add(entry);
+        if (entry.specialtyKey() != null) {
+            bySpecialty.computeIfAbsent(entry.specialtyKey(), k -> new Ranking()).add(entry);
+        }
+    }
+
+    private static String key(String specialty) {
+        return specialty.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            logger.info("Building top rated doctor rankings");
+            for (DoctorRepository.RatingView doctor : doctorRepository.findAllRatings()) {
+                insert(Mapper.toIdString(doctor.getId()), doctor.getSpecialization(), doctor.getRating());
+            }
+            loaded = true;
+            logger.info("Ranked {} doctors across {} specialties", byDoctor.size(), bySpecialty.size());
+        }
+    }
+
+    private record RatedDoctor(String doctorId, String specialtyKey, double rating) {
+    }
+
+    /**
+     * One ranking; mutated only while holding the index lock, read through the snapshot
+     */
+    private final class Ranking {
+
+        private final NavigableSet<RatedDoctor> doctors = new TreeSet<>(BY_RATING);
+        private volatile List<String> snapshot = Collections.emptyList();
+        private RatedDoctor lastInSnapshot;
+
+        List<String> top(int limit) {
+            List<String> current = snapshot;
+            if (limit <= current.size() || current.size() < SNAPSHOT_SIZE) {
+                return current.subList(0, Math.min(limit, current.size()));
+            }
+            synchronized (TopRatedDoctorIndex.this) {
+                List<String> result = new ArrayList<>(Math.min(limit, doctors.size()));
+                Iterator<RatedDoctor> iterator = doctors.iterator();
+                while (iterator.hasNext() && result.size() < limit) {
+                    result.add(iterator.next().doctorId());
+                }
+                return result;
+            }
+        }
+
+        void add(RatedDoctor entry) {
+            doctors.add(entry);
+            refreshIfAffected(entry);
+        }
+
+        void remove(RatedDoctor entry) {
+            if (doctors.remove(entry)) {
+                refreshIfAffected(entry);
+            }
+        }
+
+        private void refreshIfAffected(RatedDoctor entry) {
+            if (lastInSnapshot != null && snapshot.size() == SNAPSHOT_SIZE && BY_RATING.compare(entry, lastInSnapshot) > 0) {
+                return;
+            }
+            List<String> ids = new ArrayList<>(SNAPSHOT_SIZE);
+            RatedDoctor last = null;
+            Iterator<RatedDoctor> iterator = doctors.iterator();
+            while (iterator.hasNext() && ids.size() < SNAPSHOT_SIZE) {
+                last = iterator.next();
+                ids.add(last.doctorId());
+            }
+            lastInSnapshot = last;
+            snapshot = Collections.unmodifiableList(ids);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.example.DoctorHub.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.repository.UserRepository;
+
+/**
+ * Trigram index over user names, used for partial-name search.
+ *
+ * Each word of a name is padded with two leading blanks and one trailing blank and cut into
+ * trigrams, so a one- or two-letter query still matches word starts. The last query word gets
+ * no trailing blank because it is usually still being typed. A user matches when at least 60%
+ * of the query's trigrams occur in their name, and results are ranked by that share, then by
+ * shorter name. Such a user must appear in one of the rarest posting lists, so only those are
+ * read to find candidates, and each candidate is scored from its stored name.
+ *
+ * The index is built from the database when the application is ready, or on first use if
+ * that happens earlier, and is kept in sync by {@link #put(String, String)} and
+ * {@link #remove(String)}.
+ */
+@Component
+public class UserNameIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserNameIndex.class);
+
+    private static final double MIN_SIMILARITY = 0.6;
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> usersByTrigram = new HashMap<>();
+    private final Map<Long, String> namesByUser = new HashMap<>();
+    private volatile boolean loaded;
+
+    public UserNameIndex(UserRepository userRepository, PlatformTransactionManager transactionManager) {
+        logger.info("Initializing UserNameIndex");
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    /**
+     * IDs of up to limit users matching the query, skipping the first offset matches in rank order
+     */
+    public List<String> search(String query, int offset, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Set<String> queryTrigrams = trigrams(words, false);
+        int required = (int) Math.ceil(queryTrigrams.size() * MIN_SIMILARITY);
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            List<Postings> postings = new ArrayList<>();
+            for (String trigram : queryTrigrams) {
+                Postings users = usersByTrigram.get(trigram);
+                if (users != null) {
+                    postings.add(users);
+                }
+            }
+            if (postings.size() < required) {
+                return Collections.emptyList();
+            }
+            // A user with `required` of the query's trigrams is in at least one of the
+            // (size - required + 1) shortest lists
+            postings.sort(Comparator.comparingInt(Postings::size));
+            Set<Long> candidates = new HashSet<>();
+            for (Postings users : postings.subList(0, postings.size() - required + 1)) {
+                users.forEach(candidates::add);
+            }
+
+            List<Match> matches = new ArrayList<>();
+            for (Long userId : candidates) {
+                String name = namesByUser.get(userId);
+                Set<String> nameTrigrams = trigrams(words(name), true);
+                int shared = 0;
+                for (String trigram : queryTrigrams) {
+                    if (nameTrigrams.contains(trigram)) {
+                        shared++;
+                    }
+                }
+                if (shared >= required) {
+                    matches.add(new Match(userId, (double) shared / queryTrigrams.size(), name));
+                }
+            }
+            matches.sort(Comparator.comparingDouble(Match::similarity).reversed()
+                .thenComparingInt(match -> match.name().length())
+                .thenComparing(Match::name)
+                .thenComparing(Match::userId));
+
+            List<String> result = new ArrayList<>(limit);
+            for (int i = offset; i < matches.size() && result.size() < limit; i++) {
+                result.add(Mapper.toIdString(matches.get(i).userId()));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a new user or a change of name
+     */
+    public void put(String userId, String name) {
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            insert(Long.valueOf(userId), name);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a deleted user
+     */
+    public void remove(String userId) {
+        lock.writeLock().lock();
+        try {
+            removeTrigrams(Long.valueOf(userId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> words(String text) {
+        return text == null ? Collections.emptyList() : SpecialtyIndex.tokenize(EmailBloomFilter.normalize(text));
+    }
+
+    static Set<String> trigrams(List<String> words, boolean complete) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int w = 0; w < words.size(); w++) {
+            boolean lastTyped = !complete && w == words.size() - 1;
+            String padded = "  " + words.get(w) + (lastTyped ? "" : " ");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private void insert(Long userId, String name) {
+        removeTrigrams(userId);
+        namesByUser.put(userId, name == null ? "" : name);
+        for (String trigram : trigrams(words(name), true)) {
+            usersByTrigram.computeIfAbsent(trigram, t -> new Postings()).add(userId);
+        }
+    }
+
+    private void removeTrigrams(Long userId) {
+        String name = namesByUser.remove(userId);
+        if (name == null) {
+            return;
+        }
+        for (String trigram : trigrams(words(name), true)) {
+            Postings users = usersByTrigram.get(trigram);
+            users.remove(userId);
+            if (users.size() == 0) {
+                usersByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            logger.info("Building user name index");
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<UserRepository.NameView> users = userRepository.streamAllNames()) {
+                    users.forEach(user -> insert(user.getId(), user.getName()));
+                }
+            });
+            loaded = true;
+            logger.info("Built user name index with {} trigrams for {} users", usersByTrigram.size(), namesByUser.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private record Match(Long userId, double similarity, String name) {
+    }
+
+    /**
+     * Unordered user IDs in a primitive array; common trigrams hold a large share of all
+     * users, so boxed sets would dominate the index's memory
+     */
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    ids[i] = ids[--size];
+                    return;
+                }
+            }
+        }
+
+        void forEach(LongConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(ids[i]);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.DoctorHub.mapper;
 
+import java.util.Optional;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,10 +21,27 @@ public class Mapper {
 
     private static final Logger logger = LoggerFactory.getLogger(Mapper.class);
 
+    // Entities have numeric keys; the API keeps exposing them as strings
+    public static String toIdString(Long id) {
+        return id == null ? null : id.toString();
+    }
+
+    // Empty when the string cannot be one of our ids, so callers can answer "not found"
+    public static Optional<Long> parseId(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Long.parseLong(id));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
     public static DoctorResponseDTO toDoctorResponseDTO(Doctor doctor){
         logger.debug("Mapping Doctor entity to DoctorResponseDTO for doctor ID: {}", doctor.getId());
         DoctorResponseDTO doctorResponseDTO = new DoctorResponseDTO();
-        doctorResponseDTO.setId(doctor.getId());
+        doctorResponseDTO.setId(toIdString(doctor.getId()));
         doctorResponseDTO.setName(doctor.getUser().getName());
         doctorResponseDTO.setEmail(doctor.getUser().getEmail());
         doctorResponseDTO.setSpecialty(doctor.getSpecialization());
@@ -56,7 +75,7 @@ public class Mapper {
     public static UserResponseDTO toUserResponseDTO(User user){
         logger.debug("Mapping User entity to UserResponseDTO for user ID: {}", user.getId());
         UserResponseDTO userResponseDTO = new UserResponseDTO();
-        userResponseDTO.setId(user.getId());
+        userResponseDTO.setId(toIdString(user.getId()));
         userResponseDTO.setName(user.getName());
         userResponseDTO.setEmail(user.getEmail());
         userResponseDTO.setRole(user.getRole());
@@ -80,9 +99,9 @@ public class Mapper {
     public static AppointmentResponseDTO toAppointmentResponseDTO(Appointment appointment) {
         logger.debug("Mapping Appointment entity to AppointmentResponseDTO for appointment ID: {}", appointment.getId());
         AppointmentResponseDTO dto = new AppointmentResponseDTO();
-        dto.setAppointmentSlotId(appointment.getAppointmentSlot().getId());
-        dto.setDoctorId(appointment.getDoctor().getId());
-        dto.setPatientId(appointment.getPatient().getId());
+        dto.setAppointmentSlotId(toIdString(appointment.getAppointmentSlot().getId()));
+        dto.setDoctorId(toIdString(appointment.getDoctor().getId()));
+        dto.setPatientId(toIdString(appointment.getPatient().getId()));
         dto.setAppointmentStatus(appointment.getAppointmentStatus());
         logger.debug("Successfully mapped Appointment entity to AppointmentResponseDTO for appointment ID: {}", appointment.getId());
         return dto;
@@ -93,7 +112,8 @@ public class Mapper {
     public static AppointmentSlotResponseDTO toAppointmentSlotResponseDTO(AppointmentSlot slot) {
         logger.debug("Mapping AppointmentSlot entity to AppointmentSlotResponseDTO for slot ID: {}", slot.getId());
         AppointmentSlotResponseDTO dto = new AppointmentSlotResponseDTO();
-        dto.setDoctorId(slot.getDoctor().getId());
+        dto.setId(toIdString(slot.getId()));
+        dto.setDoctorId(toIdString(slot.getDoctor().getId()));
         dto.setStartTime(slot.getStartTime());
         dto.setEndDateTime(slot.getEndTime());
         dto.setAvailable(slot.isAvailable());
@@ -0,0 +1,132 @@
+package com.example.DoctorHub.metrics;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.DoctorHub.exception.AppointmentNotFoundException;
+import com.example.DoctorHub.exception.AppointmentSlotNotAvailableException;
+import com.example.DoctorHub.exception.AppointmentSlotNotFoundException;
+import com.example.DoctorHub.exception.DoctorNotFoundException;
+import com.example.DoctorHub.exception.InvalidCursorException;
+import com.example.DoctorHub.exception.PasswordHashingBusyException;
+import com.example.DoctorHub.exception.UserNotFoundException;
+import com.example.DoctorHub.service.IAppointmentService;
+import com.example.DoctorHub.service.IAppointmentSlotService;
+import com.example.DoctorHub.service.IDoctorService;
+import com.example.DoctorHub.service.IUserService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times every method of the service interfaces and counts how each call ended.
+ *
+ * doctorhub.service is a timer with a percentile histogram, tagged with the service interface
+ * and method. doctorhub.service.outcomes counts calls per service, method and outcome
+ * (success, not_found, slot_not_available, invalid_request, rejected or error). rejected is load
+ * shedding, a call turned away with a 429 because password hashing was saturated, and is kept
+ * apart from error so an overload does not read as a fault. Meters are cached per method so a
+ * call costs two map lookups on top of the measurement.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceMetricsAspect.class);
+
+    static final String TIMER_NAME = "doctorhub.service";
+    static final String OUTCOME_COUNTER_NAME = "doctorhub.service.outcomes";
+
+    private static final List<Class<?>> SERVICES = List.of(
+        IAppointmentService.class, IAppointmentSlotService.class, IDoctorService.class, IUserService.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<OutcomeKey, Counter> outcomeCounters = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        logger.info("Initializing ServiceMetricsAspect");
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* com.example.DoctorHub.service.IAppointmentService.*(..))"
+        + " || execution(* com.example.DoctorHub.service.IAppointmentSlotService.*(..))"
+        + " || execution(* com.example.DoctorHub.service.IDoctorService.*(..))"
+        + " || execution(* com.example.DoctorHub.service.IUserService.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String service = serviceName(joinPoint.getTarget());
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            sample.stop(timers.computeIfAbsent(method, m -> timer(service, m)));
+            outcomeCounters.computeIfAbsent(new OutcomeKey(method, outcome), key -> counter(service, key)).increment();
+        }
+    }
+
+    static String outcome(Throwable e) {
+        if (e instanceof AppointmentSlotNotAvailableException) {
+            return "slot_not_available";
+        }
+        if (e instanceof DoctorNotFoundException || e instanceof UserNotFoundException
+                || e instanceof AppointmentNotFoundException || e instanceof AppointmentSlotNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof IllegalArgumentException || e instanceof InvalidCursorException) {
+            return "invalid_request";
+        }
+        if (e instanceof PasswordHashingBusyException) {
+            return "rejected";
+        }
+        return "error";
+    }
+
+    private Timer timer(String service, Method method) {
+        return Timer.builder(TIMER_NAME)
+            .description("Time spent in service methods")
+            .tag("service", service)
+            .tag("method", method.getName())
+            .publishPercentileHistogram()
+            .minimumExpectedValue(Duration.ofMillis(1))
+            .maximumExpectedValue(Duration.ofSeconds(10))
+            .register(meterRegistry);
+    }
+
+    private Counter counter(String service, OutcomeKey key) {
+        return Counter.builder(OUTCOME_COUNTER_NAME)
+            .description("Service method calls by outcome")
+            .tag("service", service)
+            .tag("method", key.method().getName())
+            .tag("outcome", key.outcome())
+            .register(meterRegistry);
+    }
+
+    private static String serviceName(Object target) {
+        for (Class<?> service : SERVICES) {
+            if (service.isInstance(target)) {
+                return service.getSimpleName();
+            }
+        }
+        return target.getClass().getSimpleName();
+    }
+
+    private record OutcomeKey(Method method, String outcome) {
+    }
+}
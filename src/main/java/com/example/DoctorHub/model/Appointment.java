@@ -4,8 +4,12 @@ import com.example.DoctorHub.Enum.AppointmentStatus;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -18,20 +22,25 @@ import lombok.Setter;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@Table(name = "appointment", indexes = {
+    @Index(name = "idx_appointment_doctor_status", columnList = "doctor_id, appointment_status"),
+    @Index(name = "idx_appointment_patient_status", columnList = "patient_id, appointment_status"),
+    @Index(name = "idx_appointment_status", columnList = "appointment_status")
+})
 public class Appointment extends BaseModel {
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "appointment_slot_id" , nullable = false)
     private AppointmentSlot appointmentSlot;
 
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id" , nullable = false)
     private Doctor doctor;
 
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "patient_id" , nullable = false)
     private User patient;
 
-    @Column(nullable = false)
+    @Column(name = "appointment_status" , nullable = false)
     private AppointmentStatus appointmentStatus;
 }
@@ -4,8 +4,11 @@ import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -18,9 +21,13 @@ import lombok.Setter;
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @Entity
+@Table(name = "appointment_slot", indexes = {
+    @Index(name = "idx_slot_doctor_start_available", columnList = "doctor_id, start_time, is_available"),
+    @Index(name = "idx_slot_start_available", columnList = "start_time, is_available")
+})
 public class AppointmentSlot extends BaseModel {
  
-    @OneToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "doctor_id" , nullable = false)
     private Doctor doctor;
 
@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -16,9 +17,13 @@ import lombok.NoArgsConstructor;
 @MappedSuperclass
 public abstract class BaseModel {
 
+    // Numeric keys from a pooled sequence: Hibernate reserves 50 ids per round trip, so inserts
+    // can be batched (IDENTITY needs one statement per row) and every primary and foreign key
+    // index stays 8 bytes wide. MySQL has no sequences, so Hibernate emulates it with a table
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private String id;
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "doctorhub_id")
+    @SequenceGenerator(name = "doctorhub_id", sequenceName = "doctorhub_id_seq", allocationSize = 50)
+    private Long id;
     
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -1,33 +1,56 @@
 package com.example.DoctorHub.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import com.example.DoctorHub.model.Appointment;
 import com.example.DoctorHub.Enum.AppointmentStatus;
+import com.example.DoctorHub.dto.AppointmentResponseDTO;
+import com.example.DoctorHub.model.Appointment;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, String> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
     
     // Find appointments by user (patient)
-    List<Appointment> findByPatientId(String patientId);
+    List<Appointment> findByPatientId(Long patientId);
     
     // Find appointments by doctor
-    List<Appointment> findByDoctorId(String doctorId);
+    List<Appointment> findByDoctorId(Long doctorId);
     
     // Find appointments by status
     List<Appointment> findByAppointmentStatus(AppointmentStatus status);
     
-    // Find appointments by date range
-    @Query(value = "SELECT a.* FROM appointment a JOIN appointment_slot s ON a.appointment_slot_id = s.id WHERE DATE(s.start_time) BETWEEN :startDate AND :endDate", nativeQuery = true)
-    List<Appointment> findByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    // Find appointments whose slot starts in [from, to)
+    @Query("SELECT a FROM Appointment a JOIN a.appointmentSlot s WHERE s.startTime >= :from AND s.startTime < :to")
+    List<Appointment> findBySlotStartTimeRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Find appointments by date range (both dates inclusive)
+    default List<Appointment> findByDateRange(LocalDate startDate, LocalDate endDate) {
+        return findBySlotStartTimeRange(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+    }
     
     // Find appointments by specific date
-    @Query(value = "SELECT a.* FROM appointment a JOIN appointment_slot s ON a.appointment_slot_id = s.id WHERE DATE(s.start_time) = :date", nativeQuery = true)
-    List<Appointment> findByDate(@Param("date") LocalDate date);
+    default List<Appointment> findByDate(LocalDate date) {
+        return findBySlotStartTimeRange(date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
+    
+    // Keyset pagination ordered by id
+    List<Appointment> findAllByOrderByIdAsc(Limit limit);
+    List<Appointment> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    // Stream every appointment as a response DTO; the fetch size keeps the driver from buffering the whole table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.DoctorHub.dto.AppointmentResponseDTO(CAST(a.appointmentSlot.id AS String), CAST(a.doctor.id AS String), CAST(a.patient.id AS String), a.appointmentStatus) FROM Appointment a")
+    Stream<AppointmentResponseDTO> streamAllAsResponse();
 }
@@ -2,33 +2,86 @@ package com.example.DoctorHub.repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
 import com.example.DoctorHub.model.AppointmentSlot;
 
 @Repository
-public interface AppointmentSlotRepository extends JpaRepository<AppointmentSlot, String> {
+public interface AppointmentSlotRepository extends JpaRepository<AppointmentSlot, Long> {
     
     // Find slots by doctor
-    List<AppointmentSlot> findByDoctorId(String doctorId);
+    List<AppointmentSlot> findByDoctorId(Long doctorId);
+    
+    // Find slots by doctor that have not ended by the given time
+    List<AppointmentSlot> findByDoctorIdAndEndTimeAfter(Long doctorId, LocalDateTime endTime);
+    
+    // Find slots by doctor starting in [from, to)
+    @Query("SELECT s FROM AppointmentSlot s WHERE s.doctor.id = :doctorId AND s.startTime >= :from AND s.startTime < :to")
+    List<AppointmentSlot> findByDoctorIdAndStartTimeRange(@Param("doctorId") Long doctorId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Find available slots by doctor starting in [from, to)
+    @Query("SELECT s FROM AppointmentSlot s WHERE s.doctor.id = :doctorId AND s.startTime >= :from AND s.startTime < :to AND s.isAvailable = true")
+    List<AppointmentSlot> findAvailableByDoctorIdAndStartTimeRange(@Param("doctorId") Long doctorId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Find available slots of every doctor starting in [from, to)
+    @Query("SELECT s FROM AppointmentSlot s WHERE s.startTime >= :from AND s.startTime < :to AND s.isAvailable = true")
+    List<AppointmentSlot> findAvailableByStartTimeRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Find slots by doctor that lie within [startTime, endTime] and start before dayEnd
+    @Query("SELECT s FROM AppointmentSlot s WHERE s.doctor.id = :doctorId AND s.startTime >= :startTime AND s.startTime < :dayEnd AND s.endTime <= :endTime")
+    List<AppointmentSlot> findByDoctorIdWithinTimeRange(@Param("doctorId") Long doctorId, @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime, @Param("dayEnd") LocalDateTime dayEnd);
     
     // Find slots by doctor and date
-    @Query(value = "SELECT s.* FROM appointment_slot s WHERE s.doctor_id = :doctorId AND DATE(s.start_time) = :date", nativeQuery = true)
-    List<AppointmentSlot> findByDoctorIdAndDate(@Param("doctorId") String doctorId, @Param("date") LocalDate date);
+    default List<AppointmentSlot> findByDoctorIdAndDate(Long doctorId, LocalDate date) {
+        return findByDoctorIdAndStartTimeRange(doctorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
     
     // Find available slots by doctor and date
-    @Query(value = "SELECT s.* FROM appointment_slot s WHERE s.doctor_id = :doctorId AND DATE(s.start_time) = :date AND s.is_available = true", nativeQuery = true)
-    List<AppointmentSlot> findAvailableSlotsByDoctorAndDate(@Param("doctorId") String doctorId, @Param("date") LocalDate date);
+    default List<AppointmentSlot> findAvailableSlotsByDoctorAndDate(Long doctorId, LocalDate date) {
+        return findAvailableByDoctorIdAndStartTimeRange(doctorId, date.atStartOfDay(), date.plusDays(1).atStartOfDay());
+    }
     
     // Find slots by doctor, date, and time range
-    @Query(value = "SELECT s.* FROM appointment_slot s WHERE s.doctor_id = :doctorId AND DATE(s.start_time) = :date AND s.start_time >= :startTime AND s.end_time <= :endTime", nativeQuery = true)
-    List<AppointmentSlot> findByDoctorIdAndDateAndTimeRange(@Param("doctorId") String doctorId, @Param("date") LocalDate date, @Param("startTime") LocalDateTime startTime, @Param("endTime") LocalDateTime endTime);
+    default List<AppointmentSlot> findByDoctorIdAndDateAndTimeRange(Long doctorId, LocalDate date, LocalDateTime startTime, LocalDateTime endTime) {
+        return findByDoctorIdWithinTimeRange(doctorId, startTime, endTime, date.plusDays(1).atStartOfDay());
+    }
     
     // Find available slots
     List<AppointmentSlot> findByIsAvailableTrue();
+    
+    // Atomically mark a slot as booked; returns 0 when another booking claimed it first
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AppointmentSlot s SET s.isAvailable = false, s.updatedAt = :now WHERE s.id = :id AND s.isAvailable = true")
+    int claimSlot(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    // Load slots with row locks held until commit, so a batch booking can check and claim them in one
+    // round trip; the id order keeps two batches with overlapping slots from deadlocking
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AppointmentSlot s WHERE s.id IN :ids ORDER BY s.id")
+    List<AppointmentSlot> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
+    // Keyset pagination ordered by id
+    List<AppointmentSlot> findAllByOrderByIdAsc(Limit limit);
+    List<AppointmentSlot> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    // Stream every slot as a response DTO; the fetch size keeps the driver from buffering the whole table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.DoctorHub.dto.AppointmentSlotResponseDTO(CAST(s.id AS String), CAST(s.doctor.id AS String), s.startTime, s.endTime, s.isAvailable) FROM AppointmentSlot s")
+    Stream<AppointmentSlotResponseDTO> streamAllAsResponse();
 }
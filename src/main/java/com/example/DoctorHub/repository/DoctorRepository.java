@@ -1,18 +1,81 @@
 package com.example.DoctorHub.repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import com.example.DoctorHub.dto.DoctorResponseDTO;
 import com.example.DoctorHub.model.Doctor;
-import java.util.List;
 
 @Repository
-public interface DoctorRepository extends JpaRepository<Doctor, String> {
+public interface DoctorRepository extends JpaRepository<Doctor, Long> {
+    
+    // Every finder that returns entities fetches the user in the same statement,
+    // because Mapper.toDoctorResponseDTO reads the doctor's name and email from it
+    @Override
+    @EntityGraph(attributePaths = "user")
+    Optional<Doctor> findById(Long id);
+    
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Doctor> findAll();
+    
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Doctor> findAllById(Iterable<Long> ids);
     
+    @EntityGraph(attributePaths = "user")
     List<Doctor> findBySpecialization(String specialization);
 
+    // Id and specialization of every doctor, without loading users
+    @Query("SELECT d.id AS id, d.specialization AS specialization FROM Doctor d")
+    List<SpecialtyView> findAllSpecialties();
+
+    // Id of the doctor profile that belongs to a user, without loading either entity
+    @Query("SELECT d.id FROM Doctor d WHERE d.user.id = :userId")
+    Optional<Long> findIdByUserId(@Param("userId") Long userId);
+
+    // Id, specialization and rating of every doctor, used to build the in-memory rankings
+    @Query("SELECT d.id AS id, d.specialization AS specialization, d.rating AS rating FROM Doctor d")
+    List<RatingView> findAllRatings();
+
+    @Query("SELECT d FROM Doctor d JOIN FETCH d.user ORDER BY d.rating DESC")
+    List<Doctor> findTopRated(Limit limit);
+    
+    default List<Doctor> findAllOrderByRatingDescAndLimit(int limit) {
+        return findTopRated(Limit.of(limit));
+    }
+    
+    // Keyset pagination ordered by id
+    @EntityGraph(attributePaths = "user")
+    List<Doctor> findAllByOrderByIdAsc(Limit limit);
+    @EntityGraph(attributePaths = "user")
+    List<Doctor> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    // Stream every doctor as a response DTO; the fetch size keeps the driver from buffering the whole table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.DoctorHub.dto.DoctorResponseDTO(CAST(d.id AS String), u.name, u.email, d.specialization, d.licenseNumber, d.rating, d.createdAt, d.updatedAt) FROM Doctor d JOIN d.user u")
+    Stream<DoctorResponseDTO> streamAllAsResponse();
+    
+    interface SpecialtyView {
+        Long getId();
+        String getSpecialization();
+    }
     
-    @Query(value = "SELECT * FROM doctor d ORDER BY CAST(d.rating AS DECIMAL(10,2)) DESC LIMIT :limit", nativeQuery = true)
-    List<Doctor> findAllOrderByRatingDescAndLimit(@Param("limit") int limit);
+    interface RatingView {
+        Long getId();
+        String getSpecialization();
+        Double getRating();
+    }
 }
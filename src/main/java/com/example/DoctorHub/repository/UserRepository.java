@@ -2,17 +2,24 @@ package com.example.DoctorHub.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import com.example.DoctorHub.model.User;
 import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.dto.UserResponseDTO;
+import com.example.DoctorHub.model.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, Long> {
     
     // Find user by email
     Optional<User> findByEmail(String email);
@@ -32,4 +39,28 @@ public interface UserRepository extends JpaRepository<User, String> {
     
     // Find users by name containing (for search functionality)
     List<User> findByNameContainingIgnoreCase(String name);
+    
+    // Keyset pagination ordered by id
+    List<User> findAllByOrderByIdAsc(Limit limit);
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    // Stream every user as a response DTO; the fetch size keeps the driver from buffering the whole table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.DoctorHub.dto.UserResponseDTO(CAST(u.id AS String), u.name, u.email, u.role) FROM User u")
+    Stream<UserResponseDTO> streamAllAsResponse();
+    
+    // Stream every email, for building the email filter
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamAllEmails();
+    
+    // Stream every user's id and name, for building the name index
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.id AS id, u.name AS name FROM User u")
+    Stream<NameView> streamAllNames();
+    
+    interface NameView {
+        Long getId();
+        String getName();
+    }
 }
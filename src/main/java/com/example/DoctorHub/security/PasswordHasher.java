@@ -0,0 +1,147 @@
+package com.example.DoctorHub.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.example.DoctorHub.exception.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * BCrypt hashing and verification on a dedicated, bounded pool.
+ *
+ * BCrypt is deliberately slow, so hashing runs on one thread per core rather than on request
+ * threads, and at most queueCapacity hashes wait for a thread. Past that, callers fail at once
+ * with {@link PasswordHashingBusyException} (answered with 429) instead of queueing, so a
+ * login storm cannot tie up the threads that serve bookings.
+ *
+ * Rows written before hashing was introduced still hold the plaintext password;
+ * {@link #matches(String, String)} accepts those and {@link #needsRehash(String)} tells the
+ * caller to replace them with a hash.
+ */
+@Component
+public class PasswordHasher implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./0-9A-Za-z]{53}$");
+
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+
+    public PasswordHasher(@Value("${doctorhub.password.bcrypt-strength:10}") int strength,
+                          @Value("${doctorhub.password.threads:0}") int threads,
+                          @Value("${doctorhub.password.queue-capacity:0}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : 4 * poolSize;
+        logger.info("Initializing PasswordHasher with strength {}, {} threads and {} queued hashes", strength, poolSize, capacity);
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacity), Thread.ofPlatform().name("password-hash-", 0).daemon().factory(),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public String hash(String rawPassword) {
+        return await(submit(() -> encoder.encode(rawPassword)));
+    }
+
+    /**
+     * Hash a batch using at most half the pool, so logins keep running during a bulk import
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        int inFlight = Math.max(1, executor.getMaximumPoolSize() / 2);
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        List<Future<String>> window = new ArrayList<>(inFlight);
+        for (String rawPassword : rawPasswords) {
+            window.add(submit(() -> encoder.encode(rawPassword)));
+            if (window.size() == inFlight) {
+                window.forEach(future -> hashes.add(await(future)));
+                window.clear();
+            }
+        }
+        window.forEach(future -> hashes.add(await(future)));
+        return hashes;
+    }
+
+    /**
+     * Check a password against a stored BCrypt hash, or against a legacy plaintext password
+     */
+    public boolean matches(String rawPassword, String storedPassword) {
+        if (storedPassword == null) {
+            return false;
+        }
+        if (needsRehash(storedPassword)) {
+            // Constant-time comparison so legacy rows do not leak through response timing
+            return MessageDigest.isEqual(rawPassword.getBytes(StandardCharsets.UTF_8), storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        return await(submit(() -> encoder.matches(rawPassword, storedPassword)));
+    }
+
+    /**
+     * Whether the stored password is legacy plaintext rather than a BCrypt hash
+     */
+    public boolean needsRehash(String storedPassword) {
+        return !BCRYPT_HASH.matcher(storedPassword).matches();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, "passwordHashing", Tags.empty()).bindTo(registry);
+        FunctionCounter.builder("doctorhub.password.hashing.rejected", rejected, LongAdder::sum)
+            .description("Password hashes refused because the hashing pool was saturated")
+            .register(registry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many password checks in progress, retry later", e);
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Interrupted while waiting for a password hash", e);
+        }
+    }
+}
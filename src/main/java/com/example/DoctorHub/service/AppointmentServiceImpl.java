@@ -1,19 +1,36 @@
 package com.example.DoctorHub.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.DoctorHub.Enum.AppointmentStatus;
+import com.example.DoctorHub.cache.DaySlotCache;
 import com.example.DoctorHub.dto.AppointmentRequestDTO;
 import com.example.DoctorHub.dto.AppointmentResponseDTO;
+import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.BatchAppointmentResponseDTO;
+import com.example.DoctorHub.dto.BatchAppointmentResultDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
+import com.example.DoctorHub.events.SlotEventBroadcaster;
+import com.example.DoctorHub.index.DoctorAvailabilityIndex;
 import com.example.DoctorHub.mapper.Mapper;
 import com.example.DoctorHub.model.Appointment;
 import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.BaseModel;
 import com.example.DoctorHub.model.Doctor;
 import com.example.DoctorHub.model.User;
 import com.example.DoctorHub.repository.AppointmentRepository;
@@ -21,6 +38,7 @@ import com.example.DoctorHub.repository.AppointmentSlotRepository;
 import com.example.DoctorHub.repository.DoctorRepository;
 import com.example.DoctorHub.repository.UserRepository;
 import com.example.DoctorHub.exception.AppointmentNotFoundException;
+import com.example.DoctorHub.exception.AppointmentSlotNotAvailableException;
 import com.example.DoctorHub.exception.AppointmentSlotNotFoundException;
 import com.example.DoctorHub.exception.DoctorNotFoundException;
 import com.example.DoctorHub.exception.UserNotFoundException;
@@ -34,42 +52,62 @@ public class AppointmentServiceImpl implements IAppointmentService {
     private final AppointmentSlotRepository appointmentSlotRepository;
     private final DoctorRepository doctorRepository;
     private final UserRepository userRepository;
+    private final DoctorAvailabilityIndex doctorAvailabilityIndex;
+    private final DaySlotCache daySlotCache;
+    private final SlotEventBroadcaster slotEventBroadcaster;
 
     public AppointmentServiceImpl(AppointmentRepository appointmentRepository,
                                AppointmentSlotRepository appointmentSlotRepository,
                                DoctorRepository doctorRepository,
-                               UserRepository userRepository) {
+                               UserRepository userRepository,
+                               DoctorAvailabilityIndex doctorAvailabilityIndex,
+                               DaySlotCache daySlotCache,
+                               SlotEventBroadcaster slotEventBroadcaster) {
         logger.info("Initializing AppointmentServiceImpl with repositories");
         this.appointmentRepository = appointmentRepository;
         this.appointmentSlotRepository = appointmentSlotRepository;
         this.doctorRepository = doctorRepository;
         this.userRepository = userRepository;
+        this.doctorAvailabilityIndex = doctorAvailabilityIndex;
+        this.daySlotCache = daySlotCache;
+        this.slotEventBroadcaster = slotEventBroadcaster;
     }
 
     @Override
+    @Transactional
     public AppointmentResponseDTO createAppointment(AppointmentRequestDTO appointmentRequestDTO) {
-        logger.info("Creating appointment for slot ID: {}, doctor ID: {}, patient ID: {}", 
-                   appointmentRequestDTO.getAppointmentSlotId(), 
-                   appointmentRequestDTO.getDoctorId(), 
-                   appointmentRequestDTO.getPatientId());
+        if (logger.isDebugEnabled()) {
+            logger.debug("Creating appointment for slot ID: {}, doctor ID: {}, patient ID: {}", 
+                       appointmentRequestDTO.getAppointmentSlotId(), 
+                       appointmentRequestDTO.getDoctorId(), 
+                       appointmentRequestDTO.getPatientId());
+        }
         
         // Validate appointment slot exists and is available
-        AppointmentSlot slot = appointmentSlotRepository.findById(appointmentRequestDTO.getAppointmentSlotId())
+        AppointmentSlot slot = Mapper.parseId(appointmentRequestDTO.getAppointmentSlotId()).flatMap(appointmentSlotRepository::findById)
             .orElseThrow(() -> new AppointmentSlotNotFoundException("Appointment slot not found"));
         
         if (!slot.isAvailable()) {
             logger.warn("Appointment slot {} is not available", appointmentRequestDTO.getAppointmentSlotId());
-            throw new RuntimeException("Appointment slot is not available");
+            throw new AppointmentSlotNotAvailableException("Appointment slot is not available");
         }
         
         // Validate doctor exists
-        Doctor doctor = doctorRepository.findById(appointmentRequestDTO.getDoctorId())
+        Doctor doctor = Mapper.parseId(appointmentRequestDTO.getDoctorId()).flatMap(doctorRepository::findById)
             .orElseThrow(() -> new DoctorNotFoundException("Doctor not found"));
         
         // Validate patient exists
-        User patient = userRepository.findById(appointmentRequestDTO.getPatientId())
+        User patient = Mapper.parseId(appointmentRequestDTO.getPatientId()).flatMap(userRepository::findById)
             .orElseThrow(() -> new UserNotFoundException("Patient not found"));
         
+        // Claim the slot with a conditional update so only one concurrent booking can win
+        if (appointmentSlotRepository.claimSlot(slot.getId(), LocalDateTime.now()) == 0) {
+            logger.warn("Appointment slot {} was booked by a concurrent request", slot.getId());
+            throw new AppointmentSlotNotAvailableException("Appointment slot is not available");
+        }
+        // The claim detaches the loaded entities, so only the in-memory copy is updated here
+        slot.setAvailable(false);
+        
         // Create appointment
         Appointment appointment = new Appointment();
         appointment.setAppointmentSlot(slot);
@@ -77,20 +115,73 @@ public class AppointmentServiceImpl implements IAppointmentService {
         appointment.setPatient(patient);
         appointment.setAppointmentStatus(appointmentRequestDTO.getStatus());
         
-        // Mark slot as unavailable
-        slot.setAvailable(false);
-        appointmentSlotRepository.save(slot);
-        
         // Save appointment
         Appointment savedAppointment = appointmentRepository.save(appointment);
-        logger.info("Successfully created appointment with ID: {}", savedAppointment.getId());
+        AfterCommit.run(() -> slotChanged(slot));
+        logger.debug("Successfully created appointment with ID: {}", savedAppointment.getId());
         return Mapper.toAppointmentResponseDTO(savedAppointment);
     }
 
+    @Override
+    @Transactional
+    public BatchAppointmentResponseDTO createAppointments(List<AppointmentRequestDTO> appointmentRequestDTOs) {
+        logger.debug("Booking {} appointments", appointmentRequestDTOs.size());
+        // One query per table for the whole batch; the slots stay locked until commit, so an
+        // available slot cannot be claimed by a concurrent booking between the check and the write
+        Map<Long, AppointmentSlot> slots = byId(appointmentSlotRepository.findAllByIdForUpdate(
+            ids(appointmentRequestDTOs, AppointmentRequestDTO::getAppointmentSlotId)));
+        Map<Long, Doctor> doctors = byId(doctorRepository.findAllById(
+            ids(appointmentRequestDTOs, AppointmentRequestDTO::getDoctorId)));
+        Map<Long, User> patients = byId(userRepository.findAllById(
+            ids(appointmentRequestDTOs, AppointmentRequestDTO::getPatientId)));
+        
+        List<BatchAppointmentResultDTO> results = new ArrayList<>(appointmentRequestDTOs.size());
+        List<AppointmentSlot> claimed = new ArrayList<>();
+        List<Appointment> appointments = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (AppointmentRequestDTO request : appointmentRequestDTOs) {
+            AppointmentSlot slot = lookup(slots, request.getAppointmentSlotId());
+            Doctor doctor = lookup(doctors, request.getDoctorId());
+            User patient = lookup(patients, request.getPatientId());
+            if (slot == null) {
+                results.add(failed(HttpStatus.NOT_FOUND, "Appointment Slot Not Found", "Appointment slot not found"));
+            } else if (!slot.isAvailable()) {
+                // Also covers a slot claimed by an earlier item of this batch
+                results.add(failed(HttpStatus.CONFLICT, "Appointment Slot Not Available", "Appointment slot is not available"));
+            } else if (doctor == null) {
+                results.add(failed(HttpStatus.NOT_FOUND, "Doctor Not Found", "Doctor not found"));
+            } else if (patient == null) {
+                results.add(failed(HttpStatus.NOT_FOUND, "User Not Found", "Patient not found"));
+            } else {
+                slot.setAvailable(false);
+                claimed.add(slot);
+                Appointment appointment = new Appointment();
+                appointment.setAppointmentSlot(slot);
+                appointment.setDoctor(doctor);
+                appointment.setPatient(patient);
+                appointment.setAppointmentStatus(request.getStatus());
+                appointments.add(appointment);
+                positions.add(results.size());
+                results.add(null);
+            }
+        }
+        
+        // One saveAll per table so Hibernate sends the updates and inserts as JDBC batches
+        appointmentSlotRepository.saveAll(claimed);
+        List<Appointment> saved = appointmentRepository.saveAll(appointments);
+        for (int i = 0; i < saved.size(); i++) {
+            results.set(positions.get(i), new BatchAppointmentResultDTO(HttpStatus.CREATED.value(), null, null,
+                Mapper.toAppointmentResponseDTO(saved.get(i))));
+        }
+        AfterCommit.run(() -> claimed.forEach(this::slotChanged));
+        logger.debug("Booked {} of {} appointments", saved.size(), appointmentRequestDTOs.size());
+        return new BatchAppointmentResponseDTO(saved.size(), results.size() - saved.size(), results);
+    }
+
     @Override
     public AppointmentResponseDTO getAppointmentById(String id) {
         logger.debug("Fetching appointment by ID: {}", id);
-        Appointment appointment = appointmentRepository.findById(id)
+        Appointment appointment = Mapper.parseId(id).flatMap(appointmentRepository::findById)
             .orElseThrow(() -> new AppointmentNotFoundException("Appointment with ID " + id + " not found"));
         logger.debug("Successfully fetched appointment with ID: {}", id);
         return Mapper.toAppointmentResponseDTO(appointment);
@@ -98,49 +189,61 @@ public class AppointmentServiceImpl implements IAppointmentService {
 
     @Override
     public AppointmentResponseDTO updateAppointment(String id, AppointmentRequestDTO appointmentRequestDTO) {
-        logger.info("Updating appointment with ID: {} to status: {}", id, appointmentRequestDTO.getStatus());
-        Appointment appointment = appointmentRepository.findById(id)
+        logger.debug("Updating appointment with ID: {} to status: {}", id, appointmentRequestDTO.getStatus());
+        Appointment appointment = Mapper.parseId(id).flatMap(appointmentRepository::findById)
             .orElseThrow(() -> new AppointmentNotFoundException("Appointment with ID " + id + " not found"));
         
         // Update appointment status
         appointment.setAppointmentStatus(appointmentRequestDTO.getStatus());
         
         Appointment savedAppointment = appointmentRepository.save(appointment);
-        logger.info("Successfully updated appointment with ID: {}", id);
+        logger.debug("Successfully updated appointment with ID: {}", id);
         return Mapper.toAppointmentResponseDTO(savedAppointment);
     }
 
     @Override
+    @Transactional
     public boolean deleteAppointment(String id) {
-        logger.info("Deleting appointment with ID: {}", id);
-        Appointment appointment = appointmentRepository.findById(id)
+        logger.debug("Deleting appointment with ID: {}", id);
+        Appointment appointment = Mapper.parseId(id).flatMap(appointmentRepository::findById)
             .orElseThrow(() -> new AppointmentNotFoundException("Appointment with ID " + id + " not found"));
         
         // Mark slot as available again
         AppointmentSlot slot = appointment.getAppointmentSlot();
         slot.setAvailable(true);
         appointmentSlotRepository.save(slot);
+        AfterCommit.run(() -> slotChanged(slot));
         
-        appointmentRepository.deleteById(id);
-        logger.info("Successfully deleted appointment with ID: {} and freed slot ID: {}", id, slot.getId());
+        appointmentRepository.deleteById(appointment.getId());
+        logger.debug("Successfully deleted appointment with ID: {} and freed slot ID: {}", id, slot.getId());
         return true;
     }
 
     @Override
-    public List<AppointmentResponseDTO> getAllAppointments() {
-        logger.debug("Fetching all appointments");
-        List<AppointmentResponseDTO> result = appointmentRepository.findAll()
-            .stream()
-            .map(Mapper::toAppointmentResponseDTO)
-            .collect(Collectors.toList());
-        logger.debug("Successfully fetched {} appointments", result.size());
+    public CursorPageDTO<AppointmentResponseDTO> getAppointmentsPage(String cursor, int limit) {
+        logger.debug("Fetching appointments page after cursor: {} with limit: {}", cursor, limit);
+        int pageSize = Pagination.pageSize(limit);
+        List<Appointment> rows = cursor == null
+            ? appointmentRepository.findAllByOrderByIdAsc(Pagination.fetchLimit(pageSize))
+            : appointmentRepository.findByIdGreaterThanOrderByIdAsc(Pagination.cursor(cursor), Pagination.fetchLimit(pageSize));
+        CursorPageDTO<AppointmentResponseDTO> result = Pagination.toPage(rows, pageSize, Mapper::toAppointmentResponseDTO);
+        logger.debug("Successfully fetched {} appointments", result.getItems().size());
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllAppointments(Consumer<AppointmentResponseDTO> consumer) {
+        logger.debug("Streaming all appointments");
+        try (Stream<AppointmentResponseDTO> appointments = appointmentRepository.streamAllAsResponse()) {
+            appointments.forEach(consumer);
+        }
+    }
+
     @Override
     public List<AppointmentResponseDTO> getAppointmentsByUserId(String userId) {
         logger.debug("Fetching appointments for user ID: {}", userId);
-        List<AppointmentResponseDTO> result = appointmentRepository.findByPatientId(userId)
+        List<AppointmentResponseDTO> result = Mapper.parseId(userId).map(appointmentRepository::findByPatientId).orElseGet(List::of)
             .stream()
             .map(Mapper::toAppointmentResponseDTO)
             .collect(Collectors.toList());
@@ -151,7 +254,7 @@ public class AppointmentServiceImpl implements IAppointmentService {
     @Override
     public List<AppointmentResponseDTO> getAppointmentsByDoctorId(String doctorId) {
         logger.debug("Fetching appointments for doctor ID: {}", doctorId);
-        List<AppointmentResponseDTO> result = appointmentRepository.findByDoctorId(doctorId)
+        List<AppointmentResponseDTO> result = Mapper.parseId(doctorId).map(appointmentRepository::findByDoctorId).orElseGet(List::of)
             .stream()
             .map(Mapper::toAppointmentResponseDTO)
             .collect(Collectors.toList());
@@ -177,7 +280,9 @@ public class AppointmentServiceImpl implements IAppointmentService {
             .stream()
             .map(Mapper::toAppointmentResponseDTO)
             .collect(Collectors.toList());
-        logger.debug("Successfully fetched {} appointments from {} to {}", result.size(), startDate, endDate);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Successfully fetched {} appointments from {} to {}", result.size(), startDate, endDate);
+        }
         return result;
     }
 
@@ -191,4 +296,34 @@ public class AppointmentServiceImpl implements IAppointmentService {
         logger.debug("Successfully fetched {} appointments with status: {}", result.size(), status);
         return result;
     }
+
+    private static List<Long> ids(List<AppointmentRequestDTO> requests, Function<AppointmentRequestDTO, String> id) {
+        return requests.stream()
+            .map(id)
+            .map(Mapper::parseId)
+            .flatMap(Optional::stream)
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    private static <T extends BaseModel> Map<Long, T> byId(List<T> entities) {
+        return entities.stream().collect(Collectors.toMap(BaseModel::getId, Function.identity()));
+    }
+
+    private static <T> T lookup(Map<Long, T> entities, String id) {
+        return Mapper.parseId(id).map(entities::get).orElse(null);
+    }
+
+    private static BatchAppointmentResultDTO failed(HttpStatus status, String error, String message) {
+        return new BatchAppointmentResultDTO(status.value(), error, message, null);
+    }
+
+    // Booking or freeing a slot flips its availability in the index and the cached day view,
+    // and tells the day's subscribers
+    private void slotChanged(AppointmentSlot slot) {
+        doctorAvailabilityIndex.put(slot);
+        AppointmentSlotResponseDTO changed = Mapper.toAppointmentSlotResponseDTO(slot);
+        daySlotCache.put(changed);
+        slotEventBroadcaster.publish(changed);
+    }
 }
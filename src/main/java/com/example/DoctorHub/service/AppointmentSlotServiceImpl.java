@@ -1,19 +1,37 @@
 package com.example.DoctorHub.service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.DoctorHub.cache.DaySlotCache;
+import com.example.DoctorHub.cache.DoctorExistenceCache;
 import com.example.DoctorHub.dto.AppointmentSlotRequestDTO;
 import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
+import com.example.DoctorHub.dto.DaySlotsDTO;
+import com.example.DoctorHub.dto.RecurringSlotRequestDTO;
+import com.example.DoctorHub.dto.RecurringSlotResponseDTO;
 import com.example.DoctorHub.exception.AppointmentSlotNotFoundException;
 import com.example.DoctorHub.exception.DoctorNotFoundException;
+import com.example.DoctorHub.events.SlotEventBroadcaster;
+import com.example.DoctorHub.index.DoctorAvailabilityIndex;
+import com.example.DoctorHub.index.SlotIntervalIndex;
 import com.example.DoctorHub.mapper.Mapper;
 import com.example.DoctorHub.model.AppointmentSlot;
 import com.example.DoctorHub.model.Doctor;
@@ -23,26 +41,40 @@ import com.example.DoctorHub.repository.DoctorRepository;
 @Service
 public class AppointmentSlotServiceImpl implements IAppointmentSlotService{
 
+     // Upper bound for a single recurring request, roughly one year of slots
+     private static final long MAX_RECURRENCE_DAYS = 366;
+
      private final Logger logger = LoggerFactory.getLogger(AppointmentSlotServiceImpl.class);
      private final AppointmentSlotRepository appointmentSlotRepository;
      private final DoctorRepository doctorRepository;
+     private final SlotIntervalIndex slotIntervalIndex;
+     private final DoctorAvailabilityIndex doctorAvailabilityIndex;
+     private final DaySlotCache daySlotCache;
+     private final SlotEventBroadcaster slotEventBroadcaster;
+     private final DoctorExistenceCache doctorExistenceCache;
 
-     public AppointmentSlotServiceImpl(AppointmentSlotRepository _appointmentSlotRepository, DoctorRepository doctorRepository){
+     public AppointmentSlotServiceImpl(AppointmentSlotRepository _appointmentSlotRepository, DoctorRepository doctorRepository,
+                                       SlotIntervalIndex slotIntervalIndex, DoctorAvailabilityIndex doctorAvailabilityIndex,
+                                       DaySlotCache daySlotCache, SlotEventBroadcaster slotEventBroadcaster,
+                                       DoctorExistenceCache doctorExistenceCache){
         logger.info("Initializing the AppointmentSlotServiceImpl with repositories");
         this.appointmentSlotRepository = _appointmentSlotRepository;
         this.doctorRepository = doctorRepository;
+        this.slotIntervalIndex = slotIntervalIndex;
+        this.doctorAvailabilityIndex = doctorAvailabilityIndex;
+        this.daySlotCache = daySlotCache;
+        this.slotEventBroadcaster = slotEventBroadcaster;
+        this.doctorExistenceCache = doctorExistenceCache;
      }
 
     @Override
     public AppointmentSlotResponseDTO createAppointmentSlot(AppointmentSlotRequestDTO appointmentSlotRequestDTO) {
-        logger.info("Creating appointment slot for doctor ID: {} from {} to {}", 
-                   appointmentSlotRequestDTO.getDoctorId(),
-                   appointmentSlotRequestDTO.getStartTime(),
-                   appointmentSlotRequestDTO.getEndDateTime());
-        
-        // Validate doctor exists
-        Doctor doctor = doctorRepository.findById(appointmentSlotRequestDTO.getDoctorId())
-            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + appointmentSlotRequestDTO.getDoctorId() + " not found"));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Creating appointment slot for doctor ID: {} from {} to {}", 
+                       appointmentSlotRequestDTO.getDoctorId(),
+                       appointmentSlotRequestDTO.getStartTime(),
+                       appointmentSlotRequestDTO.getEndDateTime());
+        }
         
         // Validate time constraints
         LocalDateTime startTime = appointmentSlotRequestDTO.getStartTime();
@@ -58,15 +90,15 @@ public class AppointmentSlotServiceImpl implements IAppointmentSlotService{
             throw new IllegalArgumentException("Start time cannot be in the past");
         }
         
-        // Check for time conflicts with existing slots
-        List<AppointmentSlot> conflictingSlots = appointmentSlotRepository.findByDoctorIdAndDateAndTimeRange(
-            doctor.getId(), 
-            startTime.toLocalDate(), 
-            startTime, 
-            endTime
-        );
+        // Validate doctor exists
+        Doctor doctor = Mapper.parseId(appointmentSlotRequestDTO.getDoctorId()).flatMap(doctorRepository::findById)
+            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + appointmentSlotRequestDTO.getDoctorId() + " not found"));
         
-        if (!conflictingSlots.isEmpty()) {
+        // Check for time conflicts and hold the interval in one step, so a concurrent create
+        // for the same doctor cannot pass the check as well
+        Optional<SlotIntervalIndex.Reservation> reservation =
+            slotIntervalIndex.tryReserve(Mapper.toIdString(doctor.getId()), startTime, endTime);
+        if (reservation.isEmpty()) {
             logger.warn("Time conflict detected for doctor {} between {} and {}", 
                        doctor.getId(), startTime, endTime);
             throw new IllegalArgumentException("Time slot conflicts with existing appointments");
@@ -79,16 +111,179 @@ public class AppointmentSlotServiceImpl implements IAppointmentSlotService{
         slot.setEndTime(endTime);
         slot.setAvailable(true);
         
-        AppointmentSlot savedSlot = appointmentSlotRepository.save(slot);
-        logger.info("Successfully created appointment slot with ID: {}", savedSlot.getId());
+        AppointmentSlot savedSlot = saveReserved(slot, reservation.get());
+        AppointmentSlotResponseDTO result = Mapper.toAppointmentSlotResponseDTO(savedSlot);
+        doctorAvailabilityIndex.put(savedSlot);
+        daySlotCache.put(result);
+        slotEventBroadcaster.publish(result);
+        logger.debug("Successfully created appointment slot with ID: {}", savedSlot.getId());
         
-        return Mapper.toAppointmentSlotResponseDTO(savedSlot);
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public RecurringSlotResponseDTO createRecurringAppointmentSlots(RecurringSlotRequestDTO recurringSlotRequestDTO) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Creating {} appointment slots for doctor ID: {} from {} to {}",
+                       recurringSlotRequestDTO.getRecurrencePattern(),
+                       recurringSlotRequestDTO.getDoctorId(),
+                       recurringSlotRequestDTO.getStartDate(),
+                       recurringSlotRequestDTO.getEndDate());
+        }
+
+        // Validate the template
+        LocalDate startDate = recurringSlotRequestDTO.getStartDate();
+        LocalDate endDate = recurringSlotRequestDTO.getEndDate();
+        LocalTime dailyStartTime = recurringSlotRequestDTO.getDailyStartTime();
+        LocalTime dailyEndTime = recurringSlotRequestDTO.getDailyEndTime();
+
+        if (startDate.isAfter(endDate)) {
+            logger.error("Start date {} cannot be after end date {}", startDate, endDate);
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+
+        if (startDate.isBefore(LocalDate.now())) {
+            logger.error("Start date {} cannot be in the past", startDate);
+            throw new IllegalArgumentException("Start date cannot be in the past");
+        }
+
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RECURRENCE_DAYS) {
+            logger.error("Recurrence horizon from {} to {} exceeds {} days", startDate, endDate, MAX_RECURRENCE_DAYS);
+            throw new IllegalArgumentException("Recurrence horizon cannot exceed " + MAX_RECURRENCE_DAYS + " days");
+        }
+
+        if (!dailyStartTime.isBefore(dailyEndTime)) {
+            logger.error("Daily start time {} must be before daily end time {}", dailyStartTime, dailyEndTime);
+            throw new IllegalArgumentException("Daily start time must be before daily end time");
+        }
+
+        // Validate doctor exists
+        Doctor doctor = Mapper.parseId(recurringSlotRequestDTO.getDoctorId()).flatMap(doctorRepository::findById)
+            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + recurringSlotRequestDTO.getDoctorId() + " not found"));
+
+        String doctorId = Mapper.toIdString(doctor.getId());
+
+        // Expand the template and reserve each slot's interval in a single pass, dropping slots
+        // that conflict. The reservations are visible to concurrent creates for the doctor at once,
+        // so no other write can take these intervals before this transaction commits
+        LocalDateTime now = LocalDateTime.now();
+        int generatedSlots = 0;
+        List<AppointmentSlot> slots = new ArrayList<>();
+        List<SlotIntervalIndex.Reservation> reservations = new ArrayList<>();
+        AfterCommit.onRollback(() -> reservations.forEach(SlotIntervalIndex.Reservation::release));
+        for (LocalDate date : expandRecurrence(recurringSlotRequestDTO)) {
+            LocalDateTime windowEnd = LocalDateTime.of(date, dailyEndTime);
+            LocalDateTime startTime = LocalDateTime.of(date, dailyStartTime);
+            LocalDateTime endTime = startTime.plusMinutes(recurringSlotRequestDTO.getSlotLengthMinutes());
+            while (!endTime.isAfter(windowEnd)) {
+                if (!startTime.isBefore(now)) {
+                    generatedSlots++;
+                    Optional<SlotIntervalIndex.Reservation> reservation = slotIntervalIndex.tryReserve(doctorId, startTime, endTime);
+                    if (reservation.isPresent()) {
+                        reservations.add(reservation.get());
+                        AppointmentSlot slot = new AppointmentSlot();
+                        slot.setDoctor(doctor);
+                        slot.setStartTime(startTime);
+                        slot.setEndTime(endTime);
+                        slot.setAvailable(true);
+                        slots.add(slot);
+                    }
+                }
+                startTime = endTime;
+                endTime = startTime.plusMinutes(recurringSlotRequestDTO.getSlotLengthMinutes());
+            }
+        }
+
+        List<AppointmentSlot> savedSlots;
+        try {
+            savedSlots = appointmentSlotRepository.saveAll(slots);
+        } catch (RuntimeException e) {
+            reservations.forEach(SlotIntervalIndex.Reservation::release);
+            throw e;
+        }
+        for (int i = 0; i < savedSlots.size(); i++) {
+            reservations.get(i).confirm(savedSlots.get(i));
+        }
+        AfterCommit.run(() -> savedSlots.forEach(savedSlot -> {
+            doctorAvailabilityIndex.put(savedSlot);
+            AppointmentSlotResponseDTO created = Mapper.toAppointmentSlotResponseDTO(savedSlot);
+            daySlotCache.put(created);
+            slotEventBroadcaster.publish(created);
+        }));
+
+        int conflictingSlots = generatedSlots - savedSlots.size();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Successfully created {} appointment slots for doctor ID: {} ({} skipped due to conflicts)",
+                       savedSlots.size(), doctorId, conflictingSlots);
+        }
+        return new RecurringSlotResponseDTO(doctorId, generatedSlots, savedSlots.size(), conflictingSlots);
+    }
+
+    // Swaps the reservation for the saved slot; a failed write gives the interval back
+    private AppointmentSlot saveReserved(AppointmentSlot slot, SlotIntervalIndex.Reservation reservation) {
+        AppointmentSlot saved;
+        try {
+            saved = appointmentSlotRepository.save(slot);
+        } catch (RuntimeException e) {
+            reservation.release();
+            throw e;
+        }
+        reservation.confirm(saved);
+        return saved;
+    }
+
+    private List<LocalDate> expandRecurrence(RecurringSlotRequestDTO recurringSlotRequestDTO) {
+        LocalDate startDate = recurringSlotRequestDTO.getStartDate();
+        LocalDate endDate = recurringSlotRequestDTO.getEndDate();
+        List<LocalDate> dates = new ArrayList<>();
+
+        switch (recurringSlotRequestDTO.getRecurrencePattern()) {
+            case DAILY -> addEveryNDays(dates, startDate, endDate, 1);
+            case WEEKLY -> addEveryNDays(dates, startDate, endDate, 7);
+            case BIWEEKLY -> addEveryNDays(dates, startDate, endDate, 14);
+            case MONTHLY -> addEveryNMonths(dates, startDate, endDate, 1);
+            case QUARTERLY -> addEveryNMonths(dates, startDate, endDate, 3);
+            case YEARLY -> addEveryNMonths(dates, startDate, endDate, 12);
+            case WEEKDAYS -> addOnDaysOfWeek(dates, startDate, endDate,
+                EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+            case CUSTOM -> {
+                Set<DayOfWeek> daysOfWeek = recurringSlotRequestDTO.getDaysOfWeek();
+                if (daysOfWeek == null || daysOfWeek.isEmpty()) {
+                    logger.error("Custom recurrence requested without days of week");
+                    throw new IllegalArgumentException("Days of week are required for a CUSTOM recurrence pattern");
+                }
+                addOnDaysOfWeek(dates, startDate, endDate, daysOfWeek);
+            }
+        }
+        return dates;
+    }
+
+    private void addEveryNDays(List<LocalDate> dates, LocalDate startDate, LocalDate endDate, int step) {
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(step)) {
+            dates.add(date);
+        }
+    }
+
+    private void addEveryNMonths(List<LocalDate> dates, LocalDate startDate, LocalDate endDate, int step) {
+        // Always offset from the start date so a 31st does not drift to the 28th after February
+        for (int i = 0; !startDate.plusMonths((long) i * step).isAfter(endDate); i++) {
+            dates.add(startDate.plusMonths((long) i * step));
+        }
+    }
+
+    private void addOnDaysOfWeek(List<LocalDate> dates, LocalDate startDate, LocalDate endDate, Set<DayOfWeek> daysOfWeek) {
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (daysOfWeek.contains(date.getDayOfWeek())) {
+                dates.add(date);
+            }
+        }
     }
 
     @Override
     public AppointmentSlotResponseDTO getAppointmentSlotById(String id) {
         logger.debug("Getting appointment slot by ID: {}", id);
-        AppointmentSlot slot = appointmentSlotRepository.findById(id)
+        AppointmentSlot slot = Mapper.parseId(id).flatMap(appointmentSlotRepository::findById)
             .orElseThrow(() -> new AppointmentSlotNotFoundException("Appointment slot with ID " + id + " not found"));
         
         logger.debug("Successfully fetched appointment slot with ID: {}", id);
@@ -97,15 +292,18 @@ public class AppointmentSlotServiceImpl implements IAppointmentSlotService{
 
     @Override
     public AppointmentSlotResponseDTO updateAppointmentSlot(String id, AppointmentSlotRequestDTO appointmentSlotRequestDTO) {
-        logger.info("Updating appointment slot with ID: {}", id);
+        logger.debug("Updating appointment slot with ID: {}", id);
         
         // Check if slot exists
-        AppointmentSlot existingSlot = appointmentSlotRepository.findById(id)
+        AppointmentSlot existingSlot = Mapper.parseId(id).flatMap(appointmentSlotRepository::findById)
             .orElseThrow(() -> new AppointmentSlotNotFoundException("Appointment slot with ID " + id + " not found"));
+        String slotId = Mapper.toIdString(existingSlot.getId());
         
         // Validate doctor exists if changing
-        if (!existingSlot.getDoctor().getId().equals(appointmentSlotRequestDTO.getDoctorId())) {
-            Doctor doctor = doctorRepository.findById(appointmentSlotRequestDTO.getDoctorId())
+        String previousDoctorId = Mapper.toIdString(existingSlot.getDoctor().getId());
+        LocalDate previousDate = existingSlot.getStartTime().toLocalDate();
+        if (!previousDoctorId.equals(appointmentSlotRequestDTO.getDoctorId())) {
+            Doctor doctor = Mapper.parseId(appointmentSlotRequestDTO.getDoctorId()).flatMap(doctorRepository::findById)
                 .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + appointmentSlotRequestDTO.getDoctorId() + " not found"));
             existingSlot.setDoctor(doctor);
         }
@@ -124,21 +322,42 @@ public class AppointmentSlotServiceImpl implements IAppointmentSlotService{
             throw new IllegalArgumentException("Start time cannot be in the past");
         }
         
+        // Check for time conflicts with the doctor's other slots and hold the new interval
+        Optional<SlotIntervalIndex.Reservation> reservation =
+            slotIntervalIndex.tryReserve(Mapper.toIdString(existingSlot.getDoctor().getId()), startTime, endTime, slotId);
+        if (reservation.isEmpty()) {
+            logger.warn("Time conflict detected for doctor {} between {} and {}", 
+                       existingSlot.getDoctor().getId(), startTime, endTime);
+            throw new IllegalArgumentException("Time slot conflicts with existing appointments");
+        }
+        
         // Update the slot
         existingSlot.setStartTime(startTime);
         existingSlot.setEndTime(endTime);
         
-        AppointmentSlot updatedSlot = appointmentSlotRepository.save(existingSlot);
-        logger.info("Successfully updated appointment slot with ID: {}", id);
+        AppointmentSlot updatedSlot = saveReserved(existingSlot, reservation.get());
+        AppointmentSlotResponseDTO result = Mapper.toAppointmentSlotResponseDTO(updatedSlot);
+        // Confirming replaced the old interval if the doctor stayed the same
+        if (!previousDoctorId.equals(result.getDoctorId())) {
+            slotIntervalIndex.remove(previousDoctorId, slotId);
+        }
+        doctorAvailabilityIndex.put(updatedSlot);
+        daySlotCache.remove(previousDoctorId, previousDate, slotId);
+        daySlotCache.put(result);
+        if (!previousDoctorId.equals(result.getDoctorId()) || !previousDate.equals(startTime.toLocalDate())) {
+            slotEventBroadcaster.publishRemoved(previousDoctorId, previousDate, slotId);
+        }
+        slotEventBroadcaster.publish(result);
+        logger.debug("Successfully updated appointment slot with ID: {}", id);
         
-        return Mapper.toAppointmentSlotResponseDTO(updatedSlot);
+        return result;
     }
 
     @Override
     public boolean deleteAppointmentSlot(String id) {
-        logger.info("Deleting appointment slot with ID: {}", id);
+        logger.debug("Deleting appointment slot with ID: {}", id);
         
-        AppointmentSlot slot = appointmentSlotRepository.findById(id)
+        AppointmentSlot slot = Mapper.parseId(id).flatMap(appointmentSlotRepository::findById)
             .orElseThrow(() -> new AppointmentSlotNotFoundException("Appointment slot with ID " + id + " not found"));
         
         // Check if slot is currently booked
@@ -147,33 +366,48 @@ public class AppointmentSlotServiceImpl implements IAppointmentSlotService{
             throw new IllegalStateException("Cannot delete a booked appointment slot");
         }
         
-        appointmentSlotRepository.deleteById(id);
-        logger.info("Successfully deleted appointment slot with ID: {}", id);
+        appointmentSlotRepository.deleteById(slot.getId());
+        String slotId = Mapper.toIdString(slot.getId());
+        String doctorId = Mapper.toIdString(slot.getDoctor().getId());
+        slotIntervalIndex.remove(doctorId, slotId);
+        doctorAvailabilityIndex.remove(slotId);
+        daySlotCache.remove(doctorId, slot.getStartTime().toLocalDate(), slotId);
+        slotEventBroadcaster.publishRemoved(doctorId, slot.getStartTime().toLocalDate(), slotId);
+        logger.debug("Successfully deleted appointment slot with ID: {}", id);
         return true;
     }
 
     @Override
-    public List<AppointmentSlotResponseDTO> getAllAppointmentSlots() {
-        logger.debug("Getting all appointment slots");
-        List<AppointmentSlotResponseDTO> result = appointmentSlotRepository.findAll()
-            .stream()
-            .map(Mapper::toAppointmentSlotResponseDTO)
-            .collect(Collectors.toList());
-        
-        logger.debug("Successfully fetched {} appointment slots", result.size());
+    public CursorPageDTO<AppointmentSlotResponseDTO> getAppointmentSlotsPage(String cursor, int limit) {
+        logger.debug("Getting appointment slots page after cursor: {} with limit: {}", cursor, limit);
+        int pageSize = Pagination.pageSize(limit);
+        List<AppointmentSlot> rows = cursor == null
+            ? appointmentSlotRepository.findAllByOrderByIdAsc(Pagination.fetchLimit(pageSize))
+            : appointmentSlotRepository.findByIdGreaterThanOrderByIdAsc(Pagination.cursor(cursor), Pagination.fetchLimit(pageSize));
+        CursorPageDTO<AppointmentSlotResponseDTO> result = Pagination.toPage(rows, pageSize, Mapper::toAppointmentSlotResponseDTO);
+        logger.debug("Successfully fetched {} appointment slots", result.getItems().size());
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllAppointmentSlots(Consumer<AppointmentSlotResponseDTO> consumer) {
+        logger.debug("Streaming all appointment slots");
+        try (Stream<AppointmentSlotResponseDTO> slots = appointmentSlotRepository.streamAllAsResponse()) {
+            slots.forEach(consumer);
+        }
+    }
+
     @Override
     public List<AppointmentSlotResponseDTO> getAppointmentSlotsByDoctorId(String doctorId) {
         logger.debug("Getting appointment slots for doctor ID: {}", doctorId);
         
         // Validate doctor exists
-        if (!doctorRepository.existsById(doctorId)) {
-            throw new DoctorNotFoundException("Doctor with ID " + doctorId + " not found");
-        }
+        Long doctorKey = Mapper.parseId(doctorId)
+            .filter(this::doctorExists)
+            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + doctorId + " not found"));
         
-        List<AppointmentSlotResponseDTO> result = appointmentSlotRepository.findByDoctorId(doctorId)
+        List<AppointmentSlotResponseDTO> result = appointmentSlotRepository.findByDoctorId(doctorKey)
             .stream()
             .map(Mapper::toAppointmentSlotResponseDTO)
             .collect(Collectors.toList());
@@ -184,12 +418,15 @@ public class AppointmentSlotServiceImpl implements IAppointmentSlotService{
 
     @Override
     public List<AppointmentSlotResponseDTO> getAppointmentSlotsByDoctorIdAndDate(String doctorId, String date) {
+        return getDaySlots(doctorId, date).getSlots();
+    }
+
+    @Override
+    public DaySlotsDTO getDaySlots(String doctorId, String date) {
         logger.debug("Getting appointment slots for doctor ID: {} on date: {}", doctorId, date);
         
-        // Validate doctor exists
-        if (!doctorRepository.existsById(doctorId)) {
-            throw new DoctorNotFoundException("Doctor with ID " + doctorId + " not found");
-        }
+        Long doctorKey = Mapper.parseId(doctorId)
+            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + doctorId + " not found"));
         
         // Parse date string
         LocalDate localDate;
@@ -200,24 +437,34 @@ public class AppointmentSlotServiceImpl implements IAppointmentSlotService{
             throw new IllegalArgumentException("Invalid date format. Expected format: yyyy-MM-dd");
         }
         
-        List<AppointmentSlotResponseDTO> result = appointmentSlotRepository.findByDoctorIdAndDate(doctorId, localDate)
-            .stream()
-            .map(Mapper::toAppointmentSlotResponseDTO)
-            .collect(Collectors.toList());
-        
-        logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {}", 
-                    result.size(), doctorId, date);
+        // Only a cache miss checks that the doctor exists and queries the day
+        DaySlotsDTO result = daySlotCache.get(Mapper.toIdString(doctorKey), localDate, () -> {
+            if (!doctorExists(doctorKey)) {
+                throw new DoctorNotFoundException("Doctor with ID " + doctorId + " not found");
+            }
+            return appointmentSlotRepository.findByDoctorIdAndDate(doctorKey, localDate)
+                .stream()
+                .map(Mapper::toAppointmentSlotResponseDTO)
+                .collect(Collectors.toList());
+        });
+        
+        if (logger.isDebugEnabled()) {
+            logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {}", 
+                        result.getSlots().size(), doctorId, date);
+        }
         return result;
     }
 
     @Override
     public List<AppointmentSlotResponseDTO> getAppointmentSlotsByDoctorIdAndDateAndTime(String doctorId, String date, String time) {
-        logger.debug("Getting appointment slots for doctor ID: {} on date: {} at time: {}", doctorId, date, time);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Getting appointment slots for doctor ID: {} on date: {} at time: {}", doctorId, date, time);
+        }
         
         // Validate doctor exists
-        if (!doctorRepository.existsById(doctorId)) {
-            throw new DoctorNotFoundException("Doctor with ID " + doctorId + " not found");
-        }
+        Long doctorKey = Mapper.parseId(doctorId)
+            .filter(this::doctorExists)
+            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + doctorId + " not found"));
         
         // Parse date and time strings
         LocalDate localDate;
@@ -234,25 +481,29 @@ public class AppointmentSlotServiceImpl implements IAppointmentSlotService{
         LocalDateTime endTime = startTime.plusHours(1); // Default 1-hour slot
         
         List<AppointmentSlotResponseDTO> result = appointmentSlotRepository
-            .findByDoctorIdAndDateAndTimeRange(doctorId, localDate, startTime, endTime)
+            .findByDoctorIdAndDateAndTimeRange(doctorKey, localDate, startTime, endTime)
             .stream()
             .map(Mapper::toAppointmentSlotResponseDTO)
             .collect(Collectors.toList());
         
-        logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {} at time: {}", 
-                    result.size(), doctorId, date, time);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {} at time: {}", 
+                        result.size(), doctorId, date, time);
+        }
         return result;
     }
 
     @Override
     public List<AppointmentSlotResponseDTO> getAppointmentSlotsByDoctorIdAndDateAndTimeAndIsAvailable(String doctorId, String date, String time, boolean isAvailable) {
-        logger.debug("Getting appointment slots for doctor ID: {} on date: {} at time: {} with availability: {}", 
-                    doctorId, date, time, isAvailable);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Getting appointment slots for doctor ID: {} on date: {} at time: {} with availability: {}", 
+                        doctorId, date, time, isAvailable);
+        }
         
         // Validate doctor exists
-        if (!doctorRepository.existsById(doctorId)) {
-            throw new DoctorNotFoundException("Doctor with ID " + doctorId + " not found");
-        }
+        Long doctorKey = Mapper.parseId(doctorId)
+            .filter(this::doctorExists)
+            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + doctorId + " not found"));
         
         // Parse date and time strings
         LocalDate localDate;
@@ -269,15 +520,22 @@ public class AppointmentSlotServiceImpl implements IAppointmentSlotService{
         LocalDateTime endTime = startTime.plusHours(1); // Default 1-hour slot
         
         List<AppointmentSlotResponseDTO> result = appointmentSlotRepository
-            .findByDoctorIdAndDateAndTimeRange(doctorId, localDate, startTime, endTime)
+            .findByDoctorIdAndDateAndTimeRange(doctorKey, localDate, startTime, endTime)
             .stream()
             .filter(slot -> slot.isAvailable() == isAvailable)
             .map(Mapper::toAppointmentSlotResponseDTO)
             .collect(Collectors.toList());
         
-        logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {} at time: {} with availability: {}", 
-                    result.size(), doctorId, date, time, isAvailable);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Successfully fetched {} appointment slots for doctor ID: {} on date: {} at time: {} with availability: {}", 
+                        result.size(), doctorId, date, time, isAvailable);
+        }
         return result;
     }
+
+    // Answered from the cache in the common case, so a slot read is a single query
+    private boolean doctorExists(Long doctorKey) {
+        return doctorExistenceCache.exists(doctorKey, doctorRepository::existsById);
+    }
     
 }
@@ -0,0 +1,25 @@
+package com.example.DoctorHub.service;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Checks shared by the bulk import endpoints. A duplicate inside one request would only
+ * surface as a unique-key violation halfway through the batch, so it is rejected up front.
+ */
+final class BulkImport {
+
+    private BulkImport() {
+    }
+
+    static void requireDistinctEmails(Stream<String> emails) {
+        Set<String> seen = new HashSet<>();
+        emails.forEach(email -> {
+            if (!seen.add(email.toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Duplicate email in import: " + email);
+            }
+        });
+    }
+}
@@ -1,17 +1,43 @@
 package com.example.DoctorHub.service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.DoctorHub.cache.DaySlotCache;
+import com.example.DoctorHub.cache.DoctorExistenceCache;
+import com.example.DoctorHub.cache.DoctorProfileCache;
+import com.example.DoctorHub.dto.BulkImportResponseDTO;
+import com.example.DoctorHub.dto.CacheStatsDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.DoctorRequestDTO;
 import com.example.DoctorHub.dto.DoctorResponseDTO;
+import com.example.DoctorHub.index.DoctorAvailabilityIndex;
+import com.example.DoctorHub.index.EmailBloomFilter;
+import com.example.DoctorHub.index.SpecialtyIndex;
+import com.example.DoctorHub.index.TopRatedDoctorIndex;
+import com.example.DoctorHub.index.UserNameIndex;
 import com.example.DoctorHub.mapper.Mapper;
 import com.example.DoctorHub.model.Doctor;
 import com.example.DoctorHub.repository.DoctorRepository;
+import com.example.DoctorHub.security.PasswordHasher;
 import com.example.DoctorHub.exception.DoctorNotFoundException;
 
 @Service
@@ -20,60 +46,152 @@ public class DoctorService implements IDoctorService{
     private static final Logger logger = LoggerFactory.getLogger(DoctorService.class);
     
     private final DoctorRepository doctorRepository;
+    private final DoctorAvailabilityIndex doctorAvailabilityIndex;
+    private final DoctorProfileCache doctorProfileCache;
+    private final SpecialtyIndex specialtyIndex;
+    private final TopRatedDoctorIndex topRatedDoctorIndex;
+    private final DaySlotCache daySlotCache;
+    private final EmailBloomFilter emailBloomFilter;
+    private final PasswordHasher passwordHasher;
+    private final UserNameIndex userNameIndex;
+    private final DoctorExistenceCache doctorExistenceCache;
+    private final TransactionTemplate transaction;
 
-    public DoctorService(DoctorRepository _doctorRepository){
+    public DoctorService(DoctorRepository _doctorRepository, DoctorAvailabilityIndex doctorAvailabilityIndex,
+                         DoctorProfileCache doctorProfileCache, SpecialtyIndex specialtyIndex,
+                         TopRatedDoctorIndex topRatedDoctorIndex, DaySlotCache daySlotCache,
+                         EmailBloomFilter emailBloomFilter, PasswordHasher passwordHasher, UserNameIndex userNameIndex,
+                         DoctorExistenceCache doctorExistenceCache, PlatformTransactionManager transactionManager){
         logger.info("Initializing DoctorService with DoctorRepository");
         this.doctorRepository =_doctorRepository;
+        this.doctorAvailabilityIndex = doctorAvailabilityIndex;
+        this.doctorProfileCache = doctorProfileCache;
+        this.specialtyIndex = specialtyIndex;
+        this.topRatedDoctorIndex = topRatedDoctorIndex;
+        this.daySlotCache = daySlotCache;
+        this.emailBloomFilter = emailBloomFilter;
+        this.passwordHasher = passwordHasher;
+        this.userNameIndex = userNameIndex;
+        this.doctorExistenceCache = doctorExistenceCache;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public DoctorResponseDTO createDoctor(DoctorRequestDTO doctorRequestDTO) {
-        logger.info("Creating new doctor with email: {}", doctorRequestDTO.getEmail());
-        DoctorResponseDTO result = Mapper.toDoctorResponseDTO(doctorRepository.save(Mapper.toDoctor(doctorRequestDTO)));
-        logger.info("Successfully created doctor with ID: {}", result.getId());
+        logger.debug("Creating new doctor with email: {}", doctorRequestDTO.getEmail());
+        // The doctor's user row cascades from this save, so its email joins the filter first
+        emailBloomFilter.put(doctorRequestDTO.getEmail());
+        Doctor doctor = Mapper.toDoctor(doctorRequestDTO);
+        doctor.getUser().setPassword(passwordHasher.hash(doctorRequestDTO.getPassword()));
+        Doctor saved = doctorRepository.save(doctor);
+        DoctorResponseDTO result = Mapper.toDoctorResponseDTO(saved);
+        doctorExistenceCache.markCreated(saved.getId());
+        doctorAvailabilityIndex.putDoctor(result.getId(), result.getSpecialty());
+        specialtyIndex.put(result.getId(), result.getSpecialty());
+        topRatedDoctorIndex.put(result.getId(), result.getSpecialty(), result.getRating());
+        userNameIndex.put(Mapper.toIdString(saved.getUser().getId()), result.getName());
+        logger.debug("Successfully created doctor with ID: {}", result.getId());
         return result;
     }
 
+    // Hashing a large batch takes seconds, so only the inserts run in the transaction
+    @Override
+    public BulkImportResponseDTO importDoctors(List<DoctorRequestDTO> doctorRequestDTOs) {
+        logger.info("Importing {} doctors", doctorRequestDTOs.size());
+        BulkImport.requireDistinctEmails(doctorRequestDTOs.stream().map(DoctorRequestDTO::getEmail));
+        List<Doctor> doctors = doctorRequestDTOs.stream().map(Mapper::toDoctor).collect(Collectors.toList());
+        List<String> hashes = passwordHasher.hashAll(doctorRequestDTOs.stream().map(DoctorRequestDTO::getPassword).collect(Collectors.toList()));
+        for (int i = 0; i < doctors.size(); i++) {
+            doctors.get(i).getUser().setPassword(hashes.get(i));
+        }
+        doctorRequestDTOs.forEach(request -> emailBloomFilter.put(request.getEmail()));
+        List<DoctorResponseDTO> saved = transaction.execute(status -> {
+            // The users cascade from the doctors; ordered inserts keep both tables batched
+            List<Doctor> savedDoctors = doctorRepository.saveAll(doctors);
+            List<DoctorResponseDTO> results = savedDoctors.stream()
+                .map(Mapper::toDoctorResponseDTO)
+                .collect(Collectors.toList());
+            AfterCommit.run(() -> {
+                results.forEach(result -> {
+                    doctorAvailabilityIndex.putDoctor(result.getId(), result.getSpecialty());
+                    specialtyIndex.put(result.getId(), result.getSpecialty());
+                    topRatedDoctorIndex.put(result.getId(), result.getSpecialty(), result.getRating());
+                });
+                savedDoctors.forEach(doctor -> doctorExistenceCache.markCreated(doctor.getId()));
+                savedDoctors.forEach(doctor -> userNameIndex.put(Mapper.toIdString(doctor.getUser().getId()), doctor.getUser().getName()));
+            });
+            return results;
+        });
+        List<String> ids = saved.stream().map(DoctorResponseDTO::getId).collect(Collectors.toList());
+        logger.info("Imported {} doctors", ids.size());
+        return new BulkImportResponseDTO(ids.size(), ids);
+    }
+
     @Override
     public DoctorResponseDTO getDoctorById(String id) {
         logger.debug("Fetching doctor by ID: {}", id);
-        DoctorResponseDTO result = Mapper.toDoctorResponseDTO(doctorRepository.findById(id)
-            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + id + " not found")));
+        DoctorResponseDTO result = loadProfile(id);
         logger.debug("Successfully fetched doctor with ID: {}", id);
         return result;
     }
 
     @Override
     public DoctorResponseDTO updateDoctor(String id, DoctorRequestDTO doctorRequestDTO) {
-        logger.info("Updating doctor with ID: {}", id);
-        Doctor doctor = doctorRepository.findById(id)
+        logger.debug("Updating doctor with ID: {}", id);
+        Doctor doctor = Mapper.parseId(id).flatMap(doctorRepository::findById)
             .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + id + " not found"));
         doctor.setSpecialization(doctorRequestDTO.getSpecialty());
         doctor.setLicenseNumber(doctorRequestDTO.getLicenseNumber());
         doctor.setRating(doctorRequestDTO.getRating());
         DoctorResponseDTO result = Mapper.toDoctorResponseDTO(doctorRepository.save(doctor));
-        logger.info("Successfully updated doctor with ID: {}", id);
+        doctorProfileCache.invalidate(result.getId());
+        doctorAvailabilityIndex.putDoctor(result.getId(), result.getSpecialty());
+        specialtyIndex.put(result.getId(), result.getSpecialty());
+        topRatedDoctorIndex.put(result.getId(), result.getSpecialty(), result.getRating());
+        logger.debug("Successfully updated doctor with ID: {}", id);
         return result;
     }
 
     @Override
     public boolean deleteDoctor(String id) {
-        logger.info("Deleting doctor with ID: {}", id);
-        Doctor doctor = doctorRepository.findById(id)
+        logger.debug("Deleting doctor with ID: {}", id);
+        Doctor doctor = Mapper.parseId(id).flatMap(doctorRepository::findById)
             .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + id + " not found"));
-        doctorRepository.deleteById(id);
-        logger.info("Successfully deleted doctor with ID: {}", id);
+        doctorRepository.deleteById(doctor.getId());
+        doctorExistenceCache.markDeleted(doctor.getId());
+        String doctorId = Mapper.toIdString(doctor.getId());
+        doctorProfileCache.invalidate(doctorId);
+        doctorAvailabilityIndex.removeDoctor(doctorId);
+        specialtyIndex.remove(doctorId);
+        topRatedDoctorIndex.remove(doctorId);
+        daySlotCache.invalidateDoctor(doctorId);
+        // The doctor's user is removed with it by the cascade
+        userNameIndex.remove(Mapper.toIdString(doctor.getUser().getId()));
+        logger.debug("Successfully deleted doctor with ID: {}", id);
         return true;
     }
 
     @Override
-    public List<DoctorResponseDTO> getAllDoctors() {
-        logger.debug("Fetching all doctors");
-        List<DoctorResponseDTO> result = doctorRepository.findAll().stream().map(Mapper::toDoctorResponseDTO).collect(Collectors.toList());
-        logger.debug("Successfully fetched {} doctors", result.size());
+    public CursorPageDTO<DoctorResponseDTO> getDoctorsPage(String cursor, int limit) {
+        logger.debug("Fetching doctors page after cursor: {} with limit: {}", cursor, limit);
+        int pageSize = Pagination.pageSize(limit);
+        List<Doctor> rows = cursor == null
+            ? doctorRepository.findAllByOrderByIdAsc(Pagination.fetchLimit(pageSize))
+            : doctorRepository.findByIdGreaterThanOrderByIdAsc(Pagination.cursor(cursor), Pagination.fetchLimit(pageSize));
+        CursorPageDTO<DoctorResponseDTO> result = Pagination.toPage(rows, pageSize, Mapper::toDoctorResponseDTO);
+        logger.debug("Successfully fetched {} doctors", result.getItems().size());
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllDoctors(Consumer<DoctorResponseDTO> consumer) {
+        logger.debug("Streaming all doctors");
+        try (Stream<DoctorResponseDTO> doctors = doctorRepository.streamAllAsResponse()) {
+            doctors.forEach(consumer);
+        }
+    }
+
     @Override
     public List<DoctorResponseDTO> getDoctorsBySpecialty(String specialty) {
         logger.debug("Fetching doctors by specialty: {}", specialty);
@@ -83,16 +201,40 @@ public class DoctorService implements IDoctorService{
     }
 
     @Override
-    public List<DoctorResponseDTO> getAvailableDoctors(String date, String time) {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'getAvailableDoctors'");
+    public List<DoctorResponseDTO> getAvailableDoctors(String date, String time, int limit) {
+        return getAvailableDoctors(date, time, null, limit);
+    }
+
+    @Override
+    public List<DoctorResponseDTO> getAvailableDoctors(String date, String time, String specialty, int limit) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Fetching {} doctors available on {} at {} with specialty: {}", limit, date, time, specialty);
+        }
+        LocalDateTime dateTime;
+        try {
+            dateTime = LocalDateTime.of(LocalDate.parse(date), LocalTime.parse(time));
+        } catch (Exception e) {
+            logger.error("Invalid date or time format: date={}, time={}", date, time);
+            throw new IllegalArgumentException("Invalid date or time format. Expected: date=yyyy-MM-dd, time=HH:mm:ss");
+        }
+
+        List<DoctorResponseDTO> result = findAllInOrder(doctorAvailabilityIndex.findAvailableDoctorIds(dateTime, specialty, Pagination.pageSize(limit)));
+        logger.debug("Successfully fetched {} available doctors", result.size());
+        return result;
+    }
+
+    @Override
+    public List<DoctorResponseDTO> searchDoctorsBySpecialty(String query, int limit) {
+        logger.debug("Searching doctors by specialty query: {}", query);
+        List<DoctorResponseDTO> result = findAllInOrder(specialtyIndex.search(query, Pagination.pageSize(limit)));
+        logger.debug("Found {} doctors for specialty query: {}", result.size(), query);
+        return result;
     }
 
     @Override
     public boolean verifyDoctorLicense(String doctorId, String licenseNumber) {
         logger.debug("Verifying license for doctor ID: {} with license number: {}", doctorId, licenseNumber);
-        Doctor doctor = doctorRepository.findById(doctorId)
-            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + doctorId + " not found"));
+        DoctorResponseDTO doctor = loadProfile(doctorId);
         
         boolean isValid = doctor.getLicenseNumber().equals(licenseNumber);
         logger.debug("License verification result for doctor ID {}: {}", doctorId, isValid);
@@ -108,24 +250,63 @@ public class DoctorService implements IDoctorService{
     @Override
     public double getDoctorRating(String doctorId) {
         logger.debug("Fetching rating for doctor ID: {}", doctorId);
-        Doctor doctor = doctorRepository.findById(doctorId)
-            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + doctorId + " not found"));
-        double rating = doctor.getRating();
+        double rating = loadProfile(doctorId).getRating();
         logger.debug("Rating for doctor ID {}: {}", doctorId, rating);
         return rating;
     }
 
     @Override
     public List<DoctorResponseDTO> getTopRatedDoctors(int limit) {
-        logger.debug("Fetching top {} rated doctors", limit);
-        List<DoctorResponseDTO> result = doctorRepository.findAllOrderByRatingDescAndLimit(limit)
-            .stream()
-            .map(Mapper::toDoctorResponseDTO)
-            .collect(Collectors.toList());
+        return getTopRatedDoctors(limit, null);
+    }
+
+    @Override
+    public List<DoctorResponseDTO> getTopRatedDoctors(int limit, String specialty) {
+        logger.debug("Fetching top {} rated doctors with specialty: {}", limit, specialty);
+        List<String> doctorIds = topRatedDoctorIndex.top(Pagination.pageSize(limit), specialty);
+        List<DoctorResponseDTO> result = doctorProfileCache.getAll(doctorIds, this::loadProfiles);
         logger.debug("Successfully fetched {} top rated doctors", result.size());
         return result;
     }
 
+    @Override
+    public CacheStatsDTO getProfileCacheStats() {
+        return doctorProfileCache.stats();
+    }
+
+    // Load doctors in one query, keeping the order of the IDs and skipping deleted doctors
+    private List<DoctorResponseDTO> findAllInOrder(List<String> doctorIds) {
+        if (doctorIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, Doctor> doctorsById = doctorRepository.findAllById(toKeys(doctorIds)).stream()
+            .collect(Collectors.toMap(doctor -> Mapper.toIdString(doctor.getId()), Function.identity()));
+        return doctorIds.stream()
+            .map(doctorsById::get)
+            .filter(Objects::nonNull)
+            .map(Mapper::toDoctorResponseDTO)
+            .collect(Collectors.toList());
+    }
+
+    // Profiles missing from the cache are loaded in one query
+    private Map<String, DoctorResponseDTO> loadProfiles(Set<? extends String> doctorIds) {
+        return doctorRepository.findAllById(toKeys(doctorIds)).stream()
+            .collect(Collectors.toMap(doctor -> Mapper.toIdString(doctor.getId()), Mapper::toDoctorResponseDTO));
+    }
+
+    // Cache entries are keyed by the canonical form, so "007" and "7" share one entry
+    private DoctorResponseDTO loadProfile(String id) {
+        Long key = Mapper.parseId(id)
+            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + id + " not found"));
+        return doctorProfileCache.get(Mapper.toIdString(key), doctorId -> Mapper.toDoctorResponseDTO(doctorRepository.findById(key)
+            .orElseThrow(() -> new DoctorNotFoundException("Doctor with ID " + doctorId + " not found"))));
+    }
+
+    // The in-memory indexes hold ids in their string form
+    private static List<Long> toKeys(Collection<? extends String> doctorIds) {
+        return doctorIds.stream().map(Long::valueOf).collect(Collectors.toList());
+    }
+
     
     
 }
@@ -2,19 +2,24 @@ package com.example.DoctorHub.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.example.DoctorHub.Enum.AppointmentStatus;
 import com.example.DoctorHub.dto.AppointmentRequestDTO;
 import com.example.DoctorHub.dto.AppointmentResponseDTO;
+import com.example.DoctorHub.dto.BatchAppointmentResponseDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 
 public interface IAppointmentService {
 
     // CRUD Operations
     AppointmentResponseDTO createAppointment(AppointmentRequestDTO appointmentRequestDTO);
+    BatchAppointmentResponseDTO createAppointments(List<AppointmentRequestDTO> appointmentRequestDTOs);
     AppointmentResponseDTO getAppointmentById(String id);
     AppointmentResponseDTO updateAppointment(String id, AppointmentRequestDTO appointmentRequestDTO);
     boolean deleteAppointment(String id);
-    List<AppointmentResponseDTO> getAllAppointments();
+    CursorPageDTO<AppointmentResponseDTO> getAppointmentsPage(String cursor, int limit);
+    void streamAllAppointments(Consumer<AppointmentResponseDTO> consumer);
     
     // Appointment Retrieval by Different Criteria
     List<AppointmentResponseDTO> getAppointmentsByUserId(String userId);
@@ -1,9 +1,14 @@
 package com.example.DoctorHub.service;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.example.DoctorHub.dto.AppointmentSlotRequestDTO;
 import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
+import com.example.DoctorHub.dto.DaySlotsDTO;
+import com.example.DoctorHub.dto.RecurringSlotRequestDTO;
+import com.example.DoctorHub.dto.RecurringSlotResponseDTO;
 
 public interface IAppointmentSlotService {
     
@@ -13,10 +18,15 @@ public interface IAppointmentSlotService {
     AppointmentSlotResponseDTO updateAppointmentSlot(String id, AppointmentSlotRequestDTO appointmentSlotRequestDTO);
     boolean deleteAppointmentSlot(String id);
 
+    //Bulk Operations
+    RecurringSlotResponseDTO createRecurringAppointmentSlots(RecurringSlotRequestDTO recurringSlotRequestDTO);
+
     //Search Operations
-    List<AppointmentSlotResponseDTO> getAllAppointmentSlots();
+    CursorPageDTO<AppointmentSlotResponseDTO> getAppointmentSlotsPage(String cursor, int limit);
+    void streamAllAppointmentSlots(Consumer<AppointmentSlotResponseDTO> consumer);
     List<AppointmentSlotResponseDTO> getAppointmentSlotsByDoctorId(String doctorId);
     List<AppointmentSlotResponseDTO> getAppointmentSlotsByDoctorIdAndDate(String doctorId, String date);
+    DaySlotsDTO getDaySlots(String doctorId, String date);
     List<AppointmentSlotResponseDTO> getAppointmentSlotsByDoctorIdAndDateAndTime(String doctorId, String date, String time);
     List<AppointmentSlotResponseDTO> getAppointmentSlotsByDoctorIdAndDateAndTimeAndIsAvailable(String doctorId, String date, String time, boolean isAvailable);
 
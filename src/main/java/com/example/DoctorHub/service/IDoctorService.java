@@ -1,8 +1,12 @@
 package com.example.DoctorHub.service;
 
+import com.example.DoctorHub.dto.BulkImportResponseDTO;
+import com.example.DoctorHub.dto.CacheStatsDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.DoctorRequestDTO;
 import com.example.DoctorHub.dto.DoctorResponseDTO;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IDoctorService {
     
@@ -11,6 +15,11 @@ public interface IDoctorService {
      */
     DoctorResponseDTO createDoctor(DoctorRequestDTO doctorRequestDTO);
     
+    /**
+     * Create many doctors in one transaction with batched inserts
+     */
+    BulkImportResponseDTO importDoctors(List<DoctorRequestDTO> doctorRequestDTOs);
+    
     /**
      * Get doctor by ID
      */
@@ -27,24 +36,39 @@ public interface IDoctorService {
     boolean deleteDoctor(String id);
     
     /**
-     * Get all doctors
+     * Get one page of doctors ordered by ID, starting after the cursor (null for the first page)
      */
-    List<DoctorResponseDTO> getAllDoctors();
+    CursorPageDTO<DoctorResponseDTO> getDoctorsPage(String cursor, int limit);
+    
+    /**
+     * Stream all doctors to the consumer without loading them into memory
+     */
+    void streamAllDoctors(Consumer<DoctorResponseDTO> consumer);
     
     /**
      * Get doctors by specialty
      */
     List<DoctorResponseDTO> getDoctorsBySpecialty(String specialty);
     
+    /**
+     * Search doctors by specialty with prefix and typo-tolerant matching
+     */
+    List<DoctorResponseDTO> searchDoctorsBySpecialty(String query, int limit);
+    
     // /**
     //  * Get doctors by location
     //  */
     // List<DoctorResponseDTO> getDoctorsByLocation(String location);
     
     /**
-     * Get available doctors for a specific date and time
+     * Get up to limit doctors available for a specific date and time
      */
-    List<DoctorResponseDTO> getAvailableDoctors(String date, String time);
+    List<DoctorResponseDTO> getAvailableDoctors(String date, String time, int limit);
+    
+    /**
+     * Get up to limit doctors of a specialty (null for any) available for a specific date and time
+     */
+    List<DoctorResponseDTO> getAvailableDoctors(String date, String time, String specialty, int limit);
     
     /**
      * Verify doctor license
@@ -65,4 +89,14 @@ public interface IDoctorService {
      * Get top rated doctors
      */
     List<DoctorResponseDTO> getTopRatedDoctors(int limit);
+    
+    /**
+     * Get top rated doctors, optionally within a specialty (null for all specialties)
+     */
+    List<DoctorResponseDTO> getTopRatedDoctors(int limit, String specialty);
+    
+    /**
+     * Get hit, miss and eviction counters of the doctor profile cache
+     */
+    CacheStatsDTO getProfileCacheStats();
 }
@@ -1,6 +1,10 @@
 package com.example.DoctorHub.service;
 
 import java.util.List;
+import java.util.function.Consumer;
+
+import com.example.DoctorHub.dto.BulkImportResponseDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.UserRequestDTO;
 import com.example.DoctorHub.dto.UserResponseDTO;
 
@@ -8,10 +12,13 @@ public interface IUserService {
     
     // CRUD Operations
     UserResponseDTO createUser(UserRequestDTO userRequestDTO);
+    BulkImportResponseDTO importUsers(List<UserRequestDTO> userRequestDTOs);
     UserResponseDTO getUserById(String id);
     UserResponseDTO updateUser(String id, UserRequestDTO userRequestDTO);
     boolean deleteUser(String id);
-    List<UserResponseDTO> getAllUsers();
+    CursorPageDTO<UserResponseDTO> getUsersPage(String cursor, int limit);
+    CursorPageDTO<UserResponseDTO> searchUsersByName(String query, String cursor, int limit);
+    void streamAllUsers(Consumer<UserResponseDTO> consumer);
     
     // Authentication & Business Logic
     UserResponseDTO getUserByEmail(String email);
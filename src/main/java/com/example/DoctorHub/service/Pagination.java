@@ -0,0 +1,47 @@
+package com.example.DoctorHub.service;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+
+import com.example.DoctorHub.dto.CursorPageDTO;
+import com.example.DoctorHub.exception.InvalidCursorException;
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.model.BaseModel;
+
+/**
+ * Keyset pagination helpers shared by the list endpoints. Pages are ordered by id and
+ * the cursor is the id of the last row returned, so each page is a single index range
+ * scan no matter how deep the client has paged.
+ */
+final class Pagination {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    private Pagination() {
+    }
+
+    static int pageSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    static Long cursor(String cursor) {
+        return Mapper.parseId(cursor)
+            .orElseThrow(() -> new InvalidCursorException("Invalid cursor: " + cursor));
+    }
+
+    // One extra row tells us whether another page exists
+    static Limit fetchLimit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    static <E extends BaseModel, T> CursorPageDTO<T> toPage(List<E> rows, int pageSize, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        List<T> items = pageRows.stream().map(mapper).collect(Collectors.toList());
+        String nextCursor = hasMore ? Mapper.toIdString(pageRows.get(pageSize - 1).getId()) : null;
+        return new CursorPageDTO<>(items, nextCursor);
+    }
+}
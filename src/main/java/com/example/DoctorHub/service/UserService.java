@@ -1,17 +1,34 @@
 package com.example.DoctorHub.service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.cache.DoctorProfileCache;
+import com.example.DoctorHub.dto.BulkImportResponseDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.UserRequestDTO;
 import com.example.DoctorHub.dto.UserResponseDTO;
+import com.example.DoctorHub.index.EmailBloomFilter;
+import com.example.DoctorHub.index.UserNameIndex;
 import com.example.DoctorHub.mapper.Mapper;
 import com.example.DoctorHub.model.User;
+import com.example.DoctorHub.repository.DoctorRepository;
 import com.example.DoctorHub.repository.UserRepository;
+import com.example.DoctorHub.security.PasswordHasher;
+import com.example.DoctorHub.exception.InvalidCursorException;
 import com.example.DoctorHub.exception.UserNotFoundException;
 
 @Service
@@ -20,63 +37,154 @@ public class UserService implements IUserService {
     private final Logger logger = LoggerFactory.getLogger(UserService.class);
     
     private final UserRepository userRepository;
+    private final DoctorRepository doctorRepository;
+    private final DoctorProfileCache doctorProfileCache;
+    private final EmailBloomFilter emailBloomFilter;
+    private final PasswordHasher passwordHasher;
+    private final UserNameIndex userNameIndex;
+    private final TransactionTemplate transaction;
     
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, DoctorRepository doctorRepository, DoctorProfileCache doctorProfileCache,
+                       EmailBloomFilter emailBloomFilter, PasswordHasher passwordHasher, UserNameIndex userNameIndex, PlatformTransactionManager transactionManager) {
         logger.info("UserService created");
         this.userRepository = userRepository;
+        this.doctorRepository = doctorRepository;
+        this.doctorProfileCache = doctorProfileCache;
+        this.emailBloomFilter = emailBloomFilter;
+        this.passwordHasher = passwordHasher;
+        this.userNameIndex = userNameIndex;
+        this.transaction = new TransactionTemplate(transactionManager);
     }
     
     @Override
     public UserResponseDTO createUser(UserRequestDTO userRequestDTO) {
-        logger.info("Creating user");
+        logger.debug("Creating user");
         User user = Mapper.toUser(userRequestDTO);
-        return Mapper.toUserResponseDTO(userRepository.save(user));
+        user.setPassword(passwordHasher.hash(userRequestDTO.getPassword()));
+        // Added before the insert so the filter never rules out an email that is in the table
+        emailBloomFilter.put(user.getEmail());
+        UserResponseDTO result = Mapper.toUserResponseDTO(userRepository.save(user));
+        userNameIndex.put(result.getId(), result.getName());
+        return result;
+    }
+    
+    // Not @Transactional: the passwords are hashed first, so no connection is held while BCrypt runs
+    @Override
+    public BulkImportResponseDTO importUsers(List<UserRequestDTO> userRequestDTOs) {
+        logger.info("Importing {} users", userRequestDTOs.size());
+        BulkImport.requireDistinctEmails(userRequestDTOs.stream().map(UserRequestDTO::getEmail));
+        List<User> users = userRequestDTOs.stream().map(Mapper::toUser).collect(Collectors.toList());
+        List<String> hashes = passwordHasher.hashAll(userRequestDTOs.stream().map(UserRequestDTO::getPassword).collect(Collectors.toList()));
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setPassword(hashes.get(i));
+        }
+        users.forEach(user -> emailBloomFilter.put(user.getEmail()));
+        // One saveAll so Hibernate sends the inserts as JDBC batches
+        List<User> saved = transaction.execute(status -> {
+            List<User> inserted = userRepository.saveAll(users);
+            AfterCommit.run(() -> inserted.forEach(user -> userNameIndex.put(Mapper.toIdString(user.getId()), user.getName())));
+            return inserted;
+        });
+        List<String> ids = saved.stream()
+            .map(user -> Mapper.toIdString(user.getId()))
+            .collect(Collectors.toList());
+        logger.info("Imported {} users", ids.size());
+        return new BulkImportResponseDTO(ids.size(), ids);
     }
     
     @Override
     public UserResponseDTO getUserById(String id) {
-        logger.info("Getting user by ID");
-        User user = userRepository.findById(id)
+        logger.debug("Getting user by ID");
+        User user = Mapper.parseId(id).flatMap(userRepository::findById)
             .orElseThrow(() -> new UserNotFoundException("User with ID " + id + " not found"));
         return Mapper.toUserResponseDTO(user);
     }
     
     @Override
     public UserResponseDTO updateUser(String id, UserRequestDTO userRequestDTO) {
-        logger.info("Updating user");
-        User user = userRepository.findById(id)
+        logger.debug("Updating user");
+        User user = Mapper.parseId(id).flatMap(userRepository::findById)
             .orElseThrow(() -> new UserNotFoundException("User with ID " + id + " not found"));
-        logger.info("User found");
+        logger.debug("User found");
+        // Doctor profiles embed the user's name and email, and the cache is keyed by doctor ID
+        boolean wasDoctor = user.getRole() == Role.DOCTOR;
         user.setName(userRequestDTO.getName());
+        emailBloomFilter.put(userRequestDTO.getEmail());
         user.setEmail(userRequestDTO.getEmail());
-        user.setPassword(userRequestDTO.getPassword());
+        user.setPassword(passwordHasher.hash(userRequestDTO.getPassword()));
         user.setRole(userRequestDTO.getRole());
         
-        return Mapper.toUserResponseDTO(userRepository.save(user));
+        UserResponseDTO result = Mapper.toUserResponseDTO(userRepository.save(user));
+        userNameIndex.put(result.getId(), result.getName());
+        if (wasDoctor) {
+            doctorRepository.findIdByUserId(user.getId())
+                .ifPresent(doctorId -> doctorProfileCache.invalidate(Mapper.toIdString(doctorId)));
+        }
+        return result;
     }
     
     @Override
     public boolean deleteUser(String id) {
 
-        logger.info("Deleting user");
-        User user = userRepository.findById(id)
+        logger.debug("Deleting user");
+        User user = Mapper.parseId(id).flatMap(userRepository::findById)
             .orElseThrow(() -> new UserNotFoundException("User with ID " + id + " not found"));
-        userRepository.deleteById(id);
+        userRepository.deleteById(user.getId());
+        userNameIndex.remove(Mapper.toIdString(user.getId()));
         return true;
     }
     
     @Override
-    public List<UserResponseDTO> getAllUsers() {
-        logger.info("Getting all users");
-        return userRepository.findAll()
-            .stream()
+    public CursorPageDTO<UserResponseDTO> getUsersPage(String cursor, int limit) {
+        logger.debug("Getting users page");
+        int pageSize = Pagination.pageSize(limit);
+        List<User> rows = cursor == null
+            ? userRepository.findAllByOrderByIdAsc(Pagination.fetchLimit(pageSize))
+            : userRepository.findByIdGreaterThanOrderByIdAsc(Pagination.cursor(cursor), Pagination.fetchLimit(pageSize));
+        return Pagination.toPage(rows, pageSize, Mapper::toUserResponseDTO);
+    }
+    
+    @Override
+    public CursorPageDTO<UserResponseDTO> searchUsersByName(String query, String cursor, int limit) {
+        logger.debug("Searching users by name");
+        int pageSize = Pagination.pageSize(limit);
+        // Results are ranked, not ordered by id, so the cursor is the offset of the next match
+        int offset = 0;
+        if (cursor != null) {
+            try {
+                offset = Integer.parseInt(cursor);
+            } catch (NumberFormatException e) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+            if (offset < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + cursor);
+            }
+        }
+        List<String> userIds = userNameIndex.search(query, offset, pageSize + 1);
+        boolean hasMore = userIds.size() > pageSize;
+        List<String> pageIds = hasMore ? userIds.subList(0, pageSize) : userIds;
+        Map<Long, User> usersById = userRepository.findAllById(pageIds.stream().map(Long::valueOf).collect(Collectors.toList())).stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<UserResponseDTO> items = pageIds.stream()
+            .map(id -> usersById.get(Long.valueOf(id)))
+            .filter(Objects::nonNull)
             .map(Mapper::toUserResponseDTO)
             .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, hasMore ? String.valueOf(offset + pageSize) : null);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponseDTO> consumer) {
+        logger.debug("Streaming all users");
+        try (Stream<UserResponseDTO> users = userRepository.streamAllAsResponse()) {
+            users.forEach(consumer);
+        }
     }
     
     @Override
     public UserResponseDTO getUserByEmail(String email) {
-        logger.info("Getting user by email");
+        logger.debug("Getting user by email");
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new UserNotFoundException("User with email " + email + " not found"));
         return Mapper.toUserResponseDTO(user);
@@ -84,20 +192,27 @@ public class UserService implements IUserService {
     
     @Override
     public boolean verifyUserCredentials(String email, String password) {
-        logger.info("Verifying user credentials");
+        logger.debug("Verifying user credentials");
         User user = userRepository.findByEmail(email)
             .orElseThrow(() -> new UserNotFoundException("User with email " + email + " not found"));
-        return user.getPassword().equals(password); // This is NOT secure - implement proper hashing
+        boolean matches = passwordHasher.matches(password, user.getPassword());
+        if (matches && passwordHasher.needsRehash(user.getPassword())) {
+            // Legacy plaintext row: replace it with a hash now that we know the password
+            logger.debug("Rehashing legacy password");
+            user.setPassword(passwordHasher.hash(password));
+            userRepository.save(user);
+        }
+        return matches;
     }
     
     @Override
     public boolean changePassword(String userId, String oldPassword, String newPassword) {
-        logger.info("Changing password");
-        User user = userRepository.findById(userId)
+        logger.debug("Changing password");
+        User user = Mapper.parseId(userId).flatMap(userRepository::findById)
             .orElseThrow(() -> new UserNotFoundException("User with ID " + userId + " not found"));
         
-        if (user.getPassword().equals(oldPassword)) { // This is NOT secure - implement proper hashing
-            user.setPassword(newPassword); // This should hash the password
+        if (passwordHasher.matches(oldPassword, user.getPassword())) {
+            user.setPassword(passwordHasher.hash(newPassword));
             userRepository.save(user);
             return true;
         }
@@ -106,13 +221,18 @@ public class UserService implements IUserService {
     
     @Override
     public boolean isEmailExists(String email) {
-        logger.info("Checking if email exists");
-        return userRepository.existsByEmail(email);
+        logger.debug("Checking if email exists");
+        if (!emailBloomFilter.mightContain(email)) {
+            return false;
+        }
+        boolean exists = userRepository.existsByEmail(email);
+        emailBloomFilter.recordDatabaseResult(exists);
+        return exists;
     }
     
     @Override
     public List<UserResponseDTO> getUsersByRole(String role) {
-        logger.info("Getting users by role");
+        logger.debug("Getting users by role");
         return userRepository.findByRoleString(role)
             .stream()
             .map(Mapper::toUserResponseDTO)
@@ -0,0 +1,86 @@
+-- Moves an existing MySQL 8 schema from string primary keys to the BIGINT keys handed out by the
+-- pooled doctorhub_id_seq generator in BaseModel. Run once with the application stopped.
+--
+-- Every row gets a new number from a single shared range (the generator is shared across tables),
+-- and the old string IDs stay available in doctorhub_legacy_id for anything that stored them
+-- outside the database. The original tables are kept as *_legacy until the cut-over is verified.
+
+CREATE TABLE doctorhub_legacy_id (
+    table_name VARCHAR(32) NOT NULL,
+    legacy_id VARCHAR(255) NOT NULL,
+    id BIGINT NOT NULL,
+    PRIMARY KEY (table_name, legacy_id),
+    UNIQUE KEY uk_legacy_id_id (id)
+);
+
+INSERT INTO doctorhub_legacy_id (table_name, legacy_id, id)
+SELECT table_name, legacy_id, ROW_NUMBER() OVER (ORDER BY created_at, table_name, legacy_id)
+FROM (
+    SELECT 'user' AS table_name, id AS legacy_id, created_at FROM `user`
+    UNION ALL SELECT 'doctor', id, created_at FROM doctor
+    UNION ALL SELECT 'appointment_slot', id, created_at FROM appointment_slot
+    UNION ALL SELECT 'appointment', id, created_at FROM appointment
+) AS all_rows;
+
+-- New tables keep the column layout and secondary indexes; only the key columns change type
+CREATE TABLE user_new LIKE `user`;
+ALTER TABLE user_new MODIFY id BIGINT NOT NULL;
+
+CREATE TABLE doctor_new LIKE doctor;
+ALTER TABLE doctor_new MODIFY id BIGINT NOT NULL, MODIFY user_id BIGINT NOT NULL;
+
+CREATE TABLE appointment_slot_new LIKE appointment_slot;
+ALTER TABLE appointment_slot_new MODIFY id BIGINT NOT NULL, MODIFY doctor_id BIGINT NOT NULL;
+
+CREATE TABLE appointment_new LIKE appointment;
+ALTER TABLE appointment_new
+    MODIFY id BIGINT NOT NULL,
+    MODIFY appointment_slot_id BIGINT NOT NULL,
+    MODIFY doctor_id BIGINT NOT NULL,
+    MODIFY patient_id BIGINT NOT NULL;
+
+INSERT INTO user_new (id, created_at, updated_at, name, email, password, role)
+SELECT m.id, u.created_at, u.updated_at, u.name, u.email, u.password, u.role
+FROM `user` u
+JOIN doctorhub_legacy_id m ON m.table_name = 'user' AND m.legacy_id = u.id;
+
+INSERT INTO doctor_new (id, created_at, updated_at, user_id, specialization, license_number, rating)
+SELECT m.id, d.created_at, d.updated_at, mu.id, d.specialization, d.license_number, d.rating
+FROM doctor d
+JOIN doctorhub_legacy_id m ON m.table_name = 'doctor' AND m.legacy_id = d.id
+JOIN doctorhub_legacy_id mu ON mu.table_name = 'user' AND mu.legacy_id = d.user_id;
+
+INSERT INTO appointment_slot_new (id, created_at, updated_at, doctor_id, start_time, end_time, is_available)
+SELECT m.id, s.created_at, s.updated_at, md.id, s.start_time, s.end_time, s.is_available
+FROM appointment_slot s
+JOIN doctorhub_legacy_id m ON m.table_name = 'appointment_slot' AND m.legacy_id = s.id
+JOIN doctorhub_legacy_id md ON md.table_name = 'doctor' AND md.legacy_id = s.doctor_id;
+
+INSERT INTO appointment_new (id, created_at, updated_at, appointment_slot_id, doctor_id, patient_id, appointment_status)
+SELECT m.id, a.created_at, a.updated_at, ms.id, md.id, mp.id, a.appointment_status
+FROM appointment a
+JOIN doctorhub_legacy_id m ON m.table_name = 'appointment' AND m.legacy_id = a.id
+JOIN doctorhub_legacy_id ms ON ms.table_name = 'appointment_slot' AND ms.legacy_id = a.appointment_slot_id
+JOIN doctorhub_legacy_id md ON md.table_name = 'doctor' AND md.legacy_id = a.doctor_id
+JOIN doctorhub_legacy_id mp ON mp.table_name = 'user' AND mp.legacy_id = a.patient_id;
+
+ALTER TABLE doctor_new
+    ADD CONSTRAINT fk_doctor_user FOREIGN KEY (user_id) REFERENCES user_new (id);
+ALTER TABLE appointment_slot_new
+    ADD CONSTRAINT fk_slot_doctor FOREIGN KEY (doctor_id) REFERENCES doctor_new (id);
+ALTER TABLE appointment_new
+    ADD CONSTRAINT fk_appointment_slot FOREIGN KEY (appointment_slot_id) REFERENCES appointment_slot_new (id),
+    ADD CONSTRAINT fk_appointment_doctor FOREIGN KEY (doctor_id) REFERENCES doctor_new (id),
+    ADD CONSTRAINT fk_appointment_patient FOREIGN KEY (patient_id) REFERENCES user_new (id);
+
+RENAME TABLE
+    `user` TO user_legacy, user_new TO `user`,
+    doctor TO doctor_legacy, doctor_new TO doctor,
+    appointment_slot TO appointment_slot_legacy, appointment_slot_new TO appointment_slot,
+    appointment TO appointment_legacy, appointment_new TO appointment;
+
+-- MySQL has no sequences, so Hibernate keeps the next value in a one-row table. Start one
+-- allocation block (allocationSize = 50) past the highest migrated key.
+CREATE TABLE doctorhub_id_seq (next_val BIGINT);
+INSERT INTO doctorhub_id_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM doctorhub_legacy_id;
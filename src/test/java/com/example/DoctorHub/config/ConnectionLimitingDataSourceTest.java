@@ -0,0 +1,111 @@
+package com.example.DoctorHub.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConnectionLimitingDataSource(pool, 1, 1, Duration.ofMillis(200));
+    }
+
+    @Test
+    void getConnection_ClosingReleasesPermitOnce() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        second.close();
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    void getConnection_TimesOutWhenAllConnectionsAreInUse() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+
+        SQLTransientConnectionException ex = assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals("Timed out waiting for a database connection", ex.getMessage());
+    }
+
+    @Test
+    void getConnection_RejectsWhenWaitQueueIsFull() throws Exception {
+        dataSource = new ConnectionLimitingDataSource(pool, 1, 1, Duration.ofSeconds(10));
+        when(pool.getConnection()).thenReturn(connection);
+        Connection held = dataSource.getConnection();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            Future<Connection> waiter = executor.submit(() -> {
+                started.countDown();
+                return dataSource.getConnection();
+            });
+            started.await();
+            while (dataSource.getWaiting() == 0) {
+                Thread.onSpinWait();
+            }
+
+            SQLTransientConnectionException ex = assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+            assertEquals("Too many requests waiting for a database connection", ex.getMessage());
+
+            held.close();
+            assertNotNull(waiter.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getConnection_PoolFailureReleasesPermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool closed")).thenReturn(connection);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void unwrap_ReachesHikariPool() throws SQLException {
+        try (HikariDataSource hikari = new HikariDataSource()) {
+            dataSource = new ConnectionLimitingDataSource(hikari, 1, 1, Duration.ofMillis(200));
+
+            assertTrue(dataSource.isWrapperFor(HikariDataSource.class));
+            assertSame(hikari, dataSource.unwrap(HikariDataSource.class));
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.DoctorHub.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -15,17 +19,25 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.example.DoctorHub.Enum.AppointmentStatus;
+import com.example.DoctorHub.cache.IdempotencyStore;
 import com.example.DoctorHub.dto.AppointmentRequestDTO;
 import com.example.DoctorHub.dto.AppointmentResponseDTO;
+import com.example.DoctorHub.dto.BatchAppointmentRequestDTO;
+import com.example.DoctorHub.dto.BatchAppointmentResponseDTO;
+import com.example.DoctorHub.dto.BatchAppointmentResultDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.exception.AppointmentNotFoundException;
+import com.example.DoctorHub.exception.AppointmentSlotNotAvailableException;
 import com.example.DoctorHub.service.IAppointmentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @WebMvcTest(AppointmentController.class)
+@Import(IdempotencyStore.class)
 class AppointmentControllerTest {
 
     @Autowired
@@ -72,6 +84,88 @@ class AppointmentControllerTest {
                 .andExpect(jsonPath("$.appointmentStatus").value("PENDING"));
     }
 
+    @Test
+    void createAppointment_SlotNotAvailable() throws Exception {
+        when(appointmentService.createAppointment(any(AppointmentRequestDTO.class)))
+                .thenThrow(new AppointmentSlotNotAvailableException("Appointment slot is not available"));
+
+        mockMvc.perform(post("/api/v1/appointments")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(appointmentRequestDTO)))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void createAppointment_SameIdempotencyKey_BooksOnce() throws Exception {
+        when(appointmentService.createAppointment(any(AppointmentRequestDTO.class))).thenReturn(appointmentResponseDTO);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/appointments")
+                    .header("Idempotency-Key", "booking-retry-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(appointmentRequestDTO)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.appointmentSlotId").value("slot123"));
+        }
+
+        verify(appointmentService, times(1)).createAppointment(any(AppointmentRequestDTO.class));
+    }
+
+    @Test
+    void createAppointment_IdempotencyKeyReusedWithDifferentBody() throws Exception {
+        when(appointmentService.createAppointment(any(AppointmentRequestDTO.class))).thenReturn(appointmentResponseDTO);
+
+        mockMvc.perform(post("/api/v1/appointments")
+                .header("Idempotency-Key", "booking-reused-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(appointmentRequestDTO)))
+                .andExpect(status().isCreated());
+
+        appointmentRequestDTO.setAppointmentSlotId("slot456");
+        mockMvc.perform(post("/api/v1/appointments")
+                .header("Idempotency-Key", "booking-reused-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(appointmentRequestDTO)))
+                .andExpect(status().isUnprocessableEntity());
+
+        verify(appointmentService, times(1)).createAppointment(any(AppointmentRequestDTO.class));
+    }
+
+    @Test
+    void createAppointment_FailedAttemptIsNotReplayed() throws Exception {
+        when(appointmentService.createAppointment(any(AppointmentRequestDTO.class)))
+                .thenThrow(new AppointmentSlotNotAvailableException("Appointment slot is not available"))
+                .thenReturn(appointmentResponseDTO);
+
+        mockMvc.perform(post("/api/v1/appointments")
+                .header("Idempotency-Key", "booking-failed-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(appointmentRequestDTO)))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(post("/api/v1/appointments")
+                .header("Idempotency-Key", "booking-failed-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(appointmentRequestDTO)))
+                .andExpect(status().isCreated());
+
+        verify(appointmentService, times(2)).createAppointment(any(AppointmentRequestDTO.class));
+    }
+
+    @Test
+    void createAppointment_InvalidIdempotencyKey() throws Exception {
+        for (String key : List.of(" ", "k".repeat(256))) {
+            mockMvc.perform(post("/api/v1/appointments")
+                    .header("Idempotency-Key", key)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(appointmentRequestDTO)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").value("Invalid Idempotency Key"));
+        }
+
+        verify(appointmentService, never()).createAppointment(any(AppointmentRequestDTO.class));
+    }
+
     @Test
     void createAppointment_ValidationError() throws Exception {
         AppointmentRequestDTO invalidAppointment = new AppointmentRequestDTO();
@@ -83,6 +177,76 @@ class AppointmentControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createAppointments_ReportsEachItem() throws Exception {
+        AppointmentRequestDTO taken = new AppointmentRequestDTO("slot456", "doc123", "user123", AppointmentStatus.PENDING);
+        BatchAppointmentResponseDTO response = new BatchAppointmentResponseDTO(1, 1, List.of(
+                new BatchAppointmentResultDTO(201, null, null, appointmentResponseDTO),
+                new BatchAppointmentResultDTO(409, "Appointment Slot Not Available", "Appointment slot is not available", null)));
+        when(appointmentService.createAppointments(anyList())).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/appointments/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchAppointmentRequestDTO(List.of(appointmentRequestDTO, taken)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.booked").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].appointment.appointmentSlotId").value("slot123"))
+                .andExpect(jsonPath("$.results[1].status").value(409))
+                .andExpect(jsonPath("$.results[1].error").value("Appointment Slot Not Available"));
+    }
+
+    @Test
+    void createAppointments_SameIdempotencyKey_BooksOnce() throws Exception {
+        when(appointmentService.createAppointments(anyList()))
+                .thenReturn(new BatchAppointmentResponseDTO(1, 0, List.of(new BatchAppointmentResultDTO(201, null, null, appointmentResponseDTO))));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/v1/appointments/batch")
+                    .header("Idempotency-Key", "care-plan-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new BatchAppointmentRequestDTO(List.of(appointmentRequestDTO)))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.booked").value(1));
+        }
+
+        verify(appointmentService, times(1)).createAppointments(anyList());
+    }
+
+    @Test
+    void createAppointments_IdempotencyKeyLimitMatchesSingleBooking() throws Exception {
+        when(appointmentService.createAppointments(anyList()))
+                .thenReturn(new BatchAppointmentResponseDTO(1, 0, List.of(new BatchAppointmentResultDTO(201, null, null, appointmentResponseDTO))));
+
+        mockMvc.perform(post("/api/v1/appointments/batch")
+                .header("Idempotency-Key", "k".repeat(255))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchAppointmentRequestDTO(List.of(appointmentRequestDTO)))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/appointments/batch")
+                .header("Idempotency-Key", "k".repeat(256))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchAppointmentRequestDTO(List.of(appointmentRequestDTO)))))
+                .andExpect(status().isBadRequest());
+
+        verify(appointmentService, times(1)).createAppointments(anyList());
+    }
+
+    @Test
+    void createAppointments_ValidationError() throws Exception {
+        mockMvc.perform(post("/api/v1/appointments/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchAppointmentRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/v1/appointments/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchAppointmentRequestDTO(List.of(new AppointmentRequestDTO())))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAppointmentById_Success() throws Exception {
         when(appointmentService.getAppointmentById("apt123")).thenReturn(appointmentResponseDTO);
@@ -140,7 +304,7 @@ class AppointmentControllerTest {
 
     @Test
     void getAllAppointments_Success() throws Exception {
-        when(appointmentService.getAllAppointments()).thenReturn(appointmentList);
+        when(appointmentService.getAppointmentsPage(null, 50)).thenReturn(new CursorPageDTO<>(appointmentList, null));
 
         mockMvc.perform(get("/api/v1/appointments"))
                 .andExpect(status().isOk())
@@ -2,11 +2,15 @@ package com.example.DoctorHub.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -17,10 +21,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.example.DoctorHub.dto.AppointmentSlotRequestDTO;
 import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
+import com.example.DoctorHub.dto.DaySlotsDTO;
+import com.example.DoctorHub.dto.RecurringSlotRequestDTO;
+import com.example.DoctorHub.dto.RecurringSlotResponseDTO;
+import com.example.DoctorHub.Enum.RecurrencePattern;
+import com.example.DoctorHub.events.SlotEventBroadcaster;
 import com.example.DoctorHub.exception.AppointmentSlotNotFoundException;
+import com.example.DoctorHub.exception.DoctorNotFoundException;
 import com.example.DoctorHub.service.IAppointmentSlotService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -33,6 +45,9 @@ class AppointmentSlotControllerTest {
     @MockBean
     private IAppointmentSlotService appointmentSlotService;
 
+    @MockBean
+    private SlotEventBroadcaster slotEventBroadcaster;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -82,6 +97,38 @@ class AppointmentSlotControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void createRecurringAppointmentSlots_Success() throws Exception {
+        RecurringSlotRequestDTO request = new RecurringSlotRequestDTO();
+        request.setDoctorId("doc123");
+        request.setStartDate(LocalDate.of(2030, 1, 14));
+        request.setEndDate(LocalDate.of(2030, 12, 31));
+        request.setDailyStartTime(LocalTime.of(9, 0));
+        request.setDailyEndTime(LocalTime.of(17, 0));
+        request.setSlotLengthMinutes(15);
+        request.setRecurrencePattern(RecurrencePattern.WEEKDAYS);
+        when(appointmentSlotService.createRecurringAppointmentSlots(any(RecurringSlotRequestDTO.class)))
+                .thenReturn(new RecurringSlotResponseDTO("doc123", 8352, 8350, 2));
+
+        mockMvc.perform(post("/api/v1/appointment-slots/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.createdSlots").value(8350))
+                .andExpect(jsonPath("$.conflictingSlots").value(2));
+    }
+
+    @Test
+    void createRecurringAppointmentSlots_ValidationError() throws Exception {
+        RecurringSlotRequestDTO invalidRequest = new RecurringSlotRequestDTO();
+        // Missing required fields
+
+        mockMvc.perform(post("/api/v1/appointment-slots/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalidRequest)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAppointmentSlotById_Success() throws Exception {
         when(appointmentSlotService.getAppointmentSlotById("slot123")).thenReturn(appointmentSlotResponseDTO);
@@ -139,7 +186,7 @@ class AppointmentSlotControllerTest {
 
     @Test
     void getAllAppointmentSlots_Success() throws Exception {
-        when(appointmentSlotService.getAllAppointmentSlots()).thenReturn(appointmentSlotList);
+        when(appointmentSlotService.getAppointmentSlotsPage(null, 50)).thenReturn(new CursorPageDTO<>(appointmentSlotList, null));
 
         mockMvc.perform(get("/api/v1/appointment-slots"))
                 .andExpect(status().isOk())
@@ -157,13 +204,45 @@ class AppointmentSlotControllerTest {
 
     @Test
     void getAppointmentSlotsByDoctorIdAndDate_Success() throws Exception {
-        when(appointmentSlotService.getAppointmentSlotsByDoctorIdAndDate("doc123", "2024-01-15")).thenReturn(appointmentSlotList);
+        when(appointmentSlotService.getDaySlots("doc123", "2024-01-15")).thenReturn(new DaySlotsDTO("doc123", LocalDate.of(2024, 1, 15), appointmentSlotList, "\"5f3a-1\""));
 
         mockMvc.perform(get("/api/v1/appointment-slots/doctor/doc123/date/2024-01-15"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5f3a-1\""))
                 .andExpect(jsonPath("$[0].doctorId").value("doc123"));
     }
 
+    @Test
+    void subscribeToAppointmentSlotsByDoctorIdAndDate_OpensEventStream() throws Exception {
+        when(appointmentSlotService.getDaySlots("doc123", "2024-01-15"))
+                .thenReturn(new DaySlotsDTO("doc123", LocalDate.of(2024, 1, 15), appointmentSlotList, "\"5f3a-1\""));
+        when(slotEventBroadcaster.subscribe(eq("doc123"), eq(LocalDate.of(2024, 1, 15)), any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/appointment-slots/doctor/doc123/date/2024-01-15/events")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void subscribeToAppointmentSlotsByDoctorIdAndDate_UnknownDoctor_NotFound() throws Exception {
+        when(appointmentSlotService.getDaySlots("nonexistent", "2024-01-15"))
+                .thenThrow(new DoctorNotFoundException("Doctor not found"));
+
+        mockMvc.perform(get("/api/v1/appointment-slots/doctor/nonexistent/date/2024-01-15/events"))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(slotEventBroadcaster);
+    }
+
+    @Test
+    void getAppointmentSlotsByDoctorIdAndDate_MatchingETag_NotModified() throws Exception {
+        when(appointmentSlotService.getDaySlots("doc123", "2024-01-15")).thenReturn(new DaySlotsDTO("doc123", LocalDate.of(2024, 1, 15), appointmentSlotList, "\"5f3a-1\""));
+
+        mockMvc.perform(get("/api/v1/appointment-slots/doctor/doc123/date/2024-01-15")
+                .header("If-None-Match", "\"5f3a-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getAppointmentSlotsByDoctorIdAndDateAndTime_Success() throws Exception {
         when(appointmentSlotService.getAppointmentSlotsByDoctorIdAndDateAndTime("doc123", "2024-01-15", "09:00")).thenReturn(appointmentSlotList);
@@ -1,7 +1,9 @@
 package com.example.DoctorHub.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -9,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,7 +20,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import com.example.DoctorHub.dto.BulkDoctorImportRequestDTO;
+import com.example.DoctorHub.dto.BulkImportResponseDTO;
+import com.example.DoctorHub.dto.CacheStatsDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.DoctorRequestDTO;
 import com.example.DoctorHub.dto.DoctorResponseDTO;
 import com.example.DoctorHub.exception.DoctorNotFoundException;
@@ -90,6 +98,26 @@ class DoctorControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void importDoctors_Success() throws Exception {
+        when(doctorService.importDoctors(anyList())).thenReturn(new BulkImportResponseDTO(1, List.of("doc123")));
+
+        mockMvc.perform(post("/api/v1/doctors/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkDoctorImportRequestDTO(List.of(doctorRequestDTO)))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.ids[0]").value("doc123"));
+    }
+
+    @Test
+    void importDoctors_Empty_ValidationError() throws Exception {
+        mockMvc.perform(post("/api/v1/doctors/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkDoctorImportRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getDoctorById_Success() throws Exception {
         when(doctorService.getDoctorById("doc123")).thenReturn(doctorResponseDTO);
@@ -148,14 +176,45 @@ class DoctorControllerTest {
 
     @Test
     void getAllDoctors_Success() throws Exception {
-        when(doctorService.getAllDoctors()).thenReturn(doctorList);
+        when(doctorService.getDoctorsPage(null, 50)).thenReturn(new CursorPageDTO<>(doctorList, null));
 
         mockMvc.perform(get("/api/v1/doctors"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"))
                 .andExpect(jsonPath("$[0].id").value("doc123"))
                 .andExpect(jsonPath("$[0].name").value("Dr. Smith"));
     }
 
+    @Test
+    void getAllDoctors_WithNextPage_SetsLinkHeader() throws Exception {
+        when(doctorService.getDoctorsPage("doc100", 1)).thenReturn(new CursorPageDTO<>(doctorList, "doc123"));
+
+        mockMvc.perform(get("/api/v1/doctors")
+                .param("cursor", "doc100")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", "<http://localhost/api/v1/doctors?cursor=doc123&limit=1>; rel=\"next\""))
+                .andExpect(jsonPath("$[0].id").value("doc123"));
+    }
+
+    @Test
+    void streamAllDoctors_WritesNdjson() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<DoctorResponseDTO> consumer = invocation.getArgument(0);
+            doctorList.forEach(consumer);
+            return null;
+        }).when(doctorService).streamAllDoctors(any());
+
+        MvcResult result = mockMvc.perform(get("/api/v1/doctors/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(doctorResponseDTO) + "\n"));
+    }
+
     @Test
     void getDoctorsBySpecialty_Success() throws Exception {
         when(doctorService.getDoctorsBySpecialty("Cardiology")).thenReturn(doctorList);
@@ -165,9 +224,42 @@ class DoctorControllerTest {
                 .andExpect(jsonPath("$[0].specialty").value("Cardiology"));
     }
 
+    @Test
+    void searchDoctorsBySpecialty_Success() throws Exception {
+        when(doctorService.searchDoctorsBySpecialty("cardio", 20)).thenReturn(doctorList);
+
+        mockMvc.perform(get("/api/v1/doctors/search")
+                .param("q", "cardio"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].specialty").value("Cardiology"));
+    }
+
+    @Test
+    void getAvailableDoctors_Success() throws Exception {
+        when(doctorService.getAvailableDoctors("2030-01-15", "10:00", "Cardiology", 5)).thenReturn(doctorList);
+
+        mockMvc.perform(get("/api/v1/doctors/available")
+                .param("date", "2030-01-15")
+                .param("time", "10:00")
+                .param("specialty", "Cardiology")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("doc123"));
+    }
+
+    @Test
+    void getProfileCacheStats_Success() throws Exception {
+        when(doctorService.getProfileCacheStats()).thenReturn(new CacheStatsDTO(1, 2, 1, 2.0 / 3, 0, 0));
+
+        mockMvc.perform(get("/api/v1/doctors/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").value(2))
+                .andExpect(jsonPath("$.missCount").value(1));
+    }
+
     @Test
     void getTopRatedDoctors_Success() throws Exception {
-        when(doctorService.getTopRatedDoctors(5)).thenReturn(doctorList);
+        when(doctorService.getTopRatedDoctors(5, null)).thenReturn(doctorList);
 
         mockMvc.perform(get("/api/v1/doctors/top-rated")
                 .param("limit", "5"))
@@ -177,10 +269,21 @@ class DoctorControllerTest {
 
     @Test
     void getTopRatedDoctors_DefaultLimit() throws Exception {
-        when(doctorService.getTopRatedDoctors(10)).thenReturn(doctorList);
+        when(doctorService.getTopRatedDoctors(10, null)).thenReturn(doctorList);
 
         mockMvc.perform(get("/api/v1/doctors/top-rated"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].rating").value(4.5));
     }
+
+    @Test
+    void getTopRatedDoctors_BySpecialty() throws Exception {
+        when(doctorService.getTopRatedDoctors(3, "Cardiology")).thenReturn(doctorList);
+
+        mockMvc.perform(get("/api/v1/doctors/top-rated")
+                .param("limit", "3")
+                .param("specialty", "Cardiology"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rating").value(4.5));
+    }
 }
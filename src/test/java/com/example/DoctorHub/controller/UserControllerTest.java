@@ -1,6 +1,8 @@
 package com.example.DoctorHub.controller;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -18,8 +20,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.dto.BulkImportResponseDTO;
+import com.example.DoctorHub.dto.BulkUserImportRequestDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.UserRequestDTO;
 import com.example.DoctorHub.dto.UserResponseDTO;
+import com.example.DoctorHub.exception.InvalidCursorException;
 import com.example.DoctorHub.exception.UserNotFoundException;
 import com.example.DoctorHub.service.IUserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -83,6 +89,29 @@ class UserControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void importUsers_Success() throws Exception {
+        when(userService.importUsers(anyList())).thenReturn(new BulkImportResponseDTO(1, List.of("user123")));
+
+        mockMvc.perform(post("/api/v1/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkUserImportRequestDTO(List.of(userRequestDTO)))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.ids[0]").value("user123"));
+    }
+
+    @Test
+    void importUsers_InvalidRow_ValidationError() throws Exception {
+        UserRequestDTO invalidUser = new UserRequestDTO();
+        invalidUser.setEmail("invalid-email");
+
+        mockMvc.perform(post("/api/v1/users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BulkUserImportRequestDTO(List.of(userRequestDTO, invalidUser)))))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getUserById_Success() throws Exception {
         when(userService.getUserById("user123")).thenReturn(userResponseDTO);
@@ -141,7 +170,7 @@ class UserControllerTest {
 
     @Test
     void getAllUsers_Success() throws Exception {
-        when(userService.getAllUsers()).thenReturn(userList);
+        when(userService.getUsersPage(null, 50)).thenReturn(new CursorPageDTO<>(userList, null));
 
         mockMvc.perform(get("/api/v1/users"))
                 .andExpect(status().isOk())
@@ -149,6 +178,25 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].name").value("John Doe"));
     }
 
+    @Test
+    void getAllUsers_InvalidCursor() throws Exception {
+        when(userService.getUsersPage("user100", 50)).thenThrow(new InvalidCursorException("Invalid cursor: user100"));
+
+        mockMvc.perform(get("/api/v1/users").param("cursor", "user100"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Cursor"));
+    }
+
+    @Test
+    void searchUsersByName_LinksNextPage() throws Exception {
+        when(userService.searchUsersByName("john", null, 20)).thenReturn(new CursorPageDTO<>(userList, "20"));
+
+        mockMvc.perform(get("/api/v1/users/search").param("q", "john"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("user123"))
+                .andExpect(header().string("Link", containsString("cursor=20")));
+    }
+
     @Test
     void getUserByEmail_Success() throws Exception {
         when(userService.getUserByEmail("john.doe@example.com")).thenReturn(userResponseDTO);
@@ -0,0 +1,76 @@
+package com.example.DoctorHub.events;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.DaySlotsDTO;
+
+class SlotEventBroadcasterTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 15);
+
+    private SlotEventBroadcaster slotEventBroadcaster;
+    private CountDownLatch snapshotReleased;
+
+    @BeforeEach
+    void setUp() {
+        slotEventBroadcaster = new SlotEventBroadcaster(Duration.ofMinutes(30), Duration.ofHours(1), 4);
+        snapshotReleased = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshotReleased.countDown();
+        slotEventBroadcaster.shutdown();
+    }
+
+    @Test
+    void publish_QueuesBehindSlowSnapshotWithoutWaiting() {
+        slotEventBroadcaster.subscribe("2123", DAY, blockedSnapshot("2123"));
+
+        // The snapshot is still loading, so these only queue up
+        for (int i = 0; i < 4; i++) {
+            slotEventBroadcaster.publish(slot("2123"));
+        }
+
+        assertEquals(1, slotEventBroadcaster.subscriberCount());
+    }
+
+    @Test
+    void publish_DropsSubscriberThatFallsBehind() {
+        slotEventBroadcaster.subscribe("2123", DAY, blockedSnapshot("2123"));
+        slotEventBroadcaster.subscribe("2456", DAY, blockedSnapshot("2456"));
+
+        for (int i = 0; i < 5; i++) {
+            slotEventBroadcaster.publish(slot("2123"));
+        }
+
+        assertEquals(1, slotEventBroadcaster.subscriberCount());
+    }
+
+    private Supplier<DaySlotsDTO> blockedSnapshot(String doctorId) {
+        return () -> {
+            try {
+                snapshotReleased.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return new DaySlotsDTO(doctorId, DAY, Collections.emptyList(), "\"0\"");
+        };
+    }
+
+    private AppointmentSlotResponseDTO slot(String doctorId) {
+        return new AppointmentSlotResponseDTO("3123", doctorId, DAY.atTime(9, 0), DAY.atTime(9, 30), true);
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import com.example.DoctorHub.dto.ErrorResponseDTO;
 
@@ -90,6 +91,119 @@ class GlobalExceptionHandlerTest {
         assertNotNull(errorResponse.getTimestamp());
     }
 
+    @Test
+    void handleInvalidIdempotencyKeyException() {
+        InvalidIdempotencyKeyException ex = new InvalidIdempotencyKeyException("Idempotency key must be 1 to 255 characters");
+
+        ResponseEntity<ErrorResponseDTO> response = globalExceptionHandler.handleInvalidIdempotencyKeyException(ex);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
+        assertEquals("Invalid Idempotency Key", errorResponse.getError());
+        assertEquals("Idempotency key must be 1 to 255 characters", errorResponse.getMessage());
+    }
+
+    @Test
+    void handleInvalidCursorException() {
+        InvalidCursorException ex = new InvalidCursorException("Invalid cursor: user100");
+
+        ResponseEntity<ErrorResponseDTO> response = globalExceptionHandler.handleInvalidCursorException(ex);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(HttpStatus.BAD_REQUEST.value(), errorResponse.getStatus());
+        assertEquals("Invalid Cursor", errorResponse.getError());
+        assertEquals("Invalid cursor: user100", errorResponse.getMessage());
+    }
+
+    @Test
+    void handleIdempotencyKeyReusedException() {
+        IdempotencyKeyReusedException ex = new IdempotencyKeyReusedException("Idempotency key was already used with a different request");
+
+        ResponseEntity<ErrorResponseDTO> response = globalExceptionHandler.handleIdempotencyKeyReusedException(ex);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, response.getStatusCode());
+        
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), errorResponse.getStatus());
+        assertEquals("Idempotency Key Reused", errorResponse.getError());
+        assertEquals("/api/appointments", errorResponse.getPath());
+    }
+
+    @Test
+    void handleIdempotentRequestInProgressException() {
+        IdempotentRequestInProgressException ex = new IdempotentRequestInProgressException("A request with this idempotency key is still in progress");
+
+        ResponseEntity<ErrorResponseDTO> response = globalExceptionHandler.handleIdempotentRequestInProgressException(ex);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals("Request In Progress", errorResponse.getError());
+    }
+
+    @Test
+    void handlePasswordHashingBusyException() {
+        PasswordHashingBusyException ex = new PasswordHashingBusyException("Too many password checks in progress, retry later");
+
+        ResponseEntity<ErrorResponseDTO> response = globalExceptionHandler.handlePasswordHashingBusyException(ex);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals("Too Many Requests", errorResponse.getError());
+        assertEquals("/api/users", errorResponse.getPath());
+    }
+
+    @Test
+    void handleAppointmentSlotNotAvailableException() {
+        AppointmentSlotNotAvailableException ex = new AppointmentSlotNotAvailableException("Appointment slot is not available");
+
+        ResponseEntity<ErrorResponseDTO> response = globalExceptionHandler.handleAppointmentSlotNotAvailableException(ex);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(HttpStatus.CONFLICT.value(), errorResponse.getStatus());
+        assertEquals("Appointment Slot Not Available", errorResponse.getError());
+        assertEquals("Appointment slot is not available", errorResponse.getMessage());
+        assertEquals("/api/appointments", errorResponse.getPath());
+        assertNotNull(errorResponse.getTimestamp());
+    }
+
+    @Test
+    void handleDatabaseUnavailableException() {
+        CannotCreateTransactionException ex = new CannotCreateTransactionException("Could not open JPA EntityManager for transaction");
+
+        ResponseEntity<ErrorResponseDTO> response = globalExceptionHandler.handleDatabaseUnavailableException(ex);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        
+        ErrorResponseDTO errorResponse = response.getBody();
+        assertNotNull(errorResponse);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), errorResponse.getStatus());
+        assertEquals("Service Unavailable", errorResponse.getError());
+    }
+
     @Test
     void handleRuntimeException() {
         RuntimeException ex = new RuntimeException("Something went wrong");
@@ -0,0 +1,210 @@
+package com.example.DoctorHub.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.Doctor;
+import com.example.DoctorHub.repository.AppointmentSlotRepository;
+import com.example.DoctorHub.repository.DoctorRepository;
+
+@ExtendWith(MockitoExtension.class)
+class DoctorAvailabilityIndexTest {
+
+    @Mock
+    private AppointmentSlotRepository appointmentSlotRepository;
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    private DoctorAvailabilityIndex doctorAvailabilityIndex;
+
+    private Doctor cardiologist;
+    private Doctor dermatologist;
+
+    @BeforeEach
+    void setUp() {
+        doctorAvailabilityIndex = new DoctorAvailabilityIndex(appointmentSlotRepository, doctorRepository, 30);
+        cardiologist = doctor(21L);
+        dermatologist = doctor(22L);
+
+        when(doctorRepository.findAllSpecialties()).thenReturn(Arrays.asList(
+            specialty(21L, "Cardiology"),
+            specialty(22L, "Dermatology")));
+    }
+
+    @Test
+    void findAvailableDoctorIds_LoadsDayOnce() {
+        when(appointmentSlotRepository.findAvailableByStartTimeRange(any(), any())).thenReturn(Arrays.asList(
+            slot(31L, cardiologist, at(9, 0), at(11, 0), true),
+            slot(32L, dermatologist, at(10, 0), at(10, 30), true)));
+
+        assertEquals(List.of("21", "22"), doctorAvailabilityIndex.findAvailableDoctorIds(at(10, 0), null, 10));
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(10, 45), null, 10));
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(11, 0), null, 10));
+
+        verify(appointmentSlotRepository, times(1)).findAvailableByStartTimeRange(at(0, 0), at(0, 0).plusDays(1));
+        verify(doctorRepository, times(1)).findAllSpecialties();
+    }
+
+    @Test
+    void findAvailableDoctorIds_FiltersBySpecialty() {
+        when(appointmentSlotRepository.findAvailableByStartTimeRange(any(), any())).thenReturn(Arrays.asList(
+            slot(31L, cardiologist, at(9, 0), at(11, 0), true),
+            slot(32L, dermatologist, at(10, 0), at(10, 30), true)));
+
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(10, 0), "cardiology", 10));
+        assertEquals(List.of("22"), doctorAvailabilityIndex.findAvailableDoctorIds(at(10, 0), "Dermatology", 10));
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(10, 0), "Neurology", 10));
+    }
+
+    @Test
+    void findAvailableDoctorIds_StopsAtLimit() {
+        when(appointmentSlotRepository.findAvailableByStartTimeRange(any(), any())).thenReturn(Arrays.asList(
+            slot(31L, cardiologist, at(9, 0), at(10, 0), true),
+            slot(32L, dermatologist, at(9, 0), at(10, 0), true)));
+
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 1));
+    }
+
+    @Test
+    void findAvailableDoctorIds_IgnoresPartlyCoveredBuckets() {
+        when(appointmentSlotRepository.findAvailableByStartTimeRange(any(), any())).thenReturn(Arrays.asList(
+            slot(31L, cardiologist, at(9, 10), at(9, 40), true)));
+
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 10), null, 10));
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 20), null, 10));
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 35), null, 10));
+    }
+
+    @Test
+    void put_BookingAndFreeingSlotUpdatesBuckets() {
+        AppointmentSlot morningSlot = slot(31L, cardiologist, at(9, 0), at(10, 0), true);
+        AppointmentSlot overlappingSlot = slot(32L, cardiologist, at(9, 30), at(10, 0), true);
+        when(appointmentSlotRepository.findAvailableByStartTimeRange(any(), any()))
+            .thenReturn(Arrays.asList(morningSlot, overlappingSlot));
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 30), null, 10));
+
+        morningSlot.setAvailable(false);
+        doctorAvailabilityIndex.put(morningSlot);
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 30), null, 10));
+
+        morningSlot.setAvailable(true);
+        doctorAvailabilityIndex.put(morningSlot);
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+    }
+
+    @Test
+    void put_MovesSlotBetweenDays() {
+        when(appointmentSlotRepository.findAvailableByStartTimeRange(any(), any())).thenReturn(Collections.emptyList());
+        AppointmentSlot slot = slot(31L, cardiologist, at(9, 0), at(10, 0), true);
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0).plusDays(1), null, 10));
+
+        doctorAvailabilityIndex.put(slot);
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+
+        slot.setStartTime(at(9, 0).plusDays(1));
+        slot.setEndTime(at(10, 0).plusDays(1));
+        doctorAvailabilityIndex.put(slot);
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0).plusDays(1), null, 10));
+    }
+
+    @Test
+    void remove_ClearsSlotBuckets() {
+        when(appointmentSlotRepository.findAvailableByStartTimeRange(any(), any())).thenReturn(Arrays.asList(
+            slot(31L, cardiologist, at(9, 0), at(10, 0), true)));
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+
+        doctorAvailabilityIndex.remove("31");
+
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+    }
+
+    @Test
+    void putDoctor_AndRemoveDoctor_UpdateSpecialtyMasks() {
+        when(appointmentSlotRepository.findAvailableByStartTimeRange(any(), any())).thenReturn(Arrays.asList(
+            slot(31L, cardiologist, at(9, 0), at(10, 0), true)));
+
+        doctorAvailabilityIndex.putDoctor("21", "Neurology");
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), "Cardiology", 10));
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), "Neurology", 10));
+
+        doctorAvailabilityIndex.removeDoctor("21");
+        assertEquals(Collections.emptyList(), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+    }
+
+    @Test
+    void findAvailableDoctorIds_RejectsDatesOutsideHorizon() {
+        assertThrows(IllegalArgumentException.class,
+            () -> doctorAvailabilityIndex.findAvailableDoctorIds(LocalDate.now().minusDays(1).atTime(9, 0), null, 10));
+        assertThrows(IllegalArgumentException.class,
+            () -> doctorAvailabilityIndex.findAvailableDoctorIds(LocalDate.now().plusDays(31).atTime(9, 0), null, 10));
+
+        verify(appointmentSlotRepository, never()).findAvailableByStartTimeRange(any(), any());
+    }
+
+    @Test
+    void evictDaysBefore_DropsPastDaysAndTheirSlots() {
+        AppointmentSlot slot = slot(31L, cardiologist, at(9, 0), at(10, 0), true);
+        when(appointmentSlotRepository.findAvailableByStartTimeRange(any(), any())).thenReturn(Arrays.asList(slot));
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+
+        doctorAvailabilityIndex.evictDaysBefore(at(0, 0).toLocalDate().plusDays(1));
+        // The evicted slot no longer ties its ID to the day, so removing it is a no-op
+        doctorAvailabilityIndex.remove("31");
+
+        assertEquals(List.of("21"), doctorAvailabilityIndex.findAvailableDoctorIds(at(9, 0), null, 10));
+        verify(appointmentSlotRepository, times(2)).findAvailableByStartTimeRange(at(0, 0), at(0, 0).plusDays(1));
+    }
+
+    private Doctor doctor(long id) {
+        Doctor doctor = new Doctor();
+        doctor.setId(id);
+        return doctor;
+    }
+
+    private DoctorRepository.SpecialtyView specialty(long id, String specialization) {
+        return new DoctorRepository.SpecialtyView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getSpecialization() {
+                return specialization;
+            }
+        };
+    }
+
+    private AppointmentSlot slot(long id, Doctor doctor, LocalDateTime start, LocalDateTime end, boolean available) {
+        AppointmentSlot slot = new AppointmentSlot();
+        slot.setId(id);
+        slot.setDoctor(doctor);
+        slot.setStartTime(start);
+        slot.setEndTime(end);
+        slot.setAvailable(available);
+        return slot;
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return LocalDate.now().plusDays(1).atTime(hour, minute);
+    }
+}
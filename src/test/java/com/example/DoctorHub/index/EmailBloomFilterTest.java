@@ -0,0 +1,117 @@
+package com.example.DoctorHub.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.DoctorHub.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class EmailBloomFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailBloomFilter emailBloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.count()).thenReturn(2L);
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("john.doe@example.com", "jane.doe@example.com"));
+        emailBloomFilter = new EmailBloomFilter(userRepository, transactionManager, 10_000, 0.01, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailBloomFilter.shutdown();
+    }
+
+    @Test
+    void mightContain_RegisteredEmails() {
+        assertTrue(emailBloomFilter.mightContain("john.doe@example.com"));
+        assertTrue(emailBloomFilter.mightContain("jane.doe@example.com"));
+    }
+
+    @Test
+    void mightContain_IgnoresCaseAndAccents() {
+        assertTrue(emailBloomFilter.mightContain("John.Doe@Example.com"));
+        assertTrue(emailBloomFilter.mightContain("jan\u00e9.doe@example.com"));
+    }
+
+    @Test
+    void mightContain_LoadsOnce() {
+        emailBloomFilter.mightContain("john.doe@example.com");
+        emailBloomFilter.mightContain("nobody@example.com");
+
+        verify(userRepository, times(1)).streamAllEmails();
+    }
+
+    @Test
+    void put_AddsEmail() {
+        emailBloomFilter.put("new.user@example.com");
+
+        assertTrue(emailBloomFilter.mightContain("new.user@example.com"));
+    }
+
+    @Test
+    void rebuild_PicksUpEmailsWrittenElsewhere() {
+        assertFalse(emailBloomFilter.mightContain("other.instance@example.com"));
+
+        when(userRepository.streamAllEmails()).thenReturn(Stream.of("john.doe@example.com", "other.instance@example.com"));
+        emailBloomFilter.rebuild();
+
+        assertTrue(emailBloomFilter.mightContain("other.instance@example.com"));
+    }
+
+    @Test
+    void rebuild_KeepsEmailsPutBeforeTheirRowsAreVisible() {
+        emailBloomFilter.put("new.user@example.com");
+
+        // Neither new row is committed when the rebuild reads the table
+        when(userRepository.streamAllEmails()).thenAnswer(invocation -> {
+            emailBloomFilter.put("during.rebuild@example.com");
+            return Stream.of("john.doe@example.com");
+        });
+        emailBloomFilter.rebuild();
+
+        assertTrue(emailBloomFilter.mightContain("new.user@example.com"));
+        assertTrue(emailBloomFilter.mightContain("during.rebuild@example.com"));
+    }
+
+    @Test
+    void mightContain_RulesOutMostUnregisteredEmails() {
+        IntStream.range(0, 5_000).forEach(i -> emailBloomFilter.put("user" + i + "@example.com"));
+
+        long falsePositives = IntStream.range(0, 10_000)
+            .filter(i -> emailBloomFilter.mightContain("other" + i + "@example.com"))
+            .count();
+
+        // Half full at 1% target, so the real rate is well under 1%; allow generous slack
+        assertTrue(falsePositives < 200, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void observedFalsePositiveRate_CountsDatabaseMisses() {
+        emailBloomFilter.mightContain("nobody@example.com");
+        emailBloomFilter.recordDatabaseResult(false);
+        emailBloomFilter.recordDatabaseResult(true);
+
+        // One check the database had to answer "no" out of the unregistered emails seen
+        double rate = emailBloomFilter.observedFalsePositiveRate();
+        assertTrue(rate > 0 && rate <= 1);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.DoctorHub.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.Doctor;
+import com.example.DoctorHub.repository.AppointmentSlotRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SlotIntervalIndexTest {
+
+    @Mock
+    private AppointmentSlotRepository appointmentSlotRepository;
+
+    @InjectMocks
+    private SlotIntervalIndex slotIntervalIndex;
+
+    private Doctor doctor;
+    private AppointmentSlot morningSlot;
+
+    @BeforeEach
+    void setUp() {
+        doctor = new Doctor();
+        doctor.setId(2123L);
+
+        morningSlot = slot(31L, LocalDateTime.of(2030, 1, 15, 9, 0), LocalDateTime.of(2030, 1, 15, 10, 0));
+    }
+
+    @Test
+    void tryReserve_LoadsDoctorSlotsOnce() {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Arrays.asList(morningSlot));
+
+        assertTrue(conflicts(at(9, 0), at(10, 0), null));
+        assertFalse(conflicts(at(11, 0), at(12, 0), null));
+
+        verify(appointmentSlotRepository, times(1)).findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void tryReserve_DetectsPartialOverlap() {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Arrays.asList(morningSlot));
+
+        assertTrue(conflicts(at(8, 30), at(9, 30), null));
+        assertTrue(conflicts(at(9, 30), at(10, 30), null));
+        assertTrue(conflicts(at(9, 15), at(9, 45), null));
+        assertTrue(conflicts(at(8, 0), at(11, 0), null));
+    }
+
+    @Test
+    void tryReserve_AdjacentSlotsDoNotConflict() {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Arrays.asList(morningSlot));
+
+        assertFalse(conflicts(at(8, 0), at(9, 0), null));
+        assertFalse(conflicts(at(10, 0), at(11, 0), null));
+    }
+
+    @Test
+    void tryReserve_IgnoresExcludedSlot() {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Arrays.asList(morningSlot));
+
+        assertFalse(conflicts(at(9, 30), at(10, 30), "31"));
+    }
+
+    @Test
+    void add_AndRemove_KeepIndexInSync() {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+
+        AppointmentSlot longSlot = slot(32L, at(12, 0), at(16, 0));
+        slotIntervalIndex.add(longSlot);
+        assertTrue(conflicts(at(15, 0), at(15, 30), null));
+
+        slotIntervalIndex.remove("2123", "32");
+        assertFalse(conflicts(at(15, 0), at(15, 30), null));
+    }
+
+    @Test
+    void add_ReplacesMovedSlot() {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Arrays.asList(morningSlot));
+
+        slotIntervalIndex.add(slot(31L, at(14, 0), at(15, 0)));
+
+        assertFalse(conflicts(at(9, 0), at(10, 0), null));
+        assertTrue(conflicts(at(14, 30), at(15, 30), null));
+    }
+
+    @Test
+    void tryReserve_HoldsIntervalUntilReleased() {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Arrays.asList(morningSlot));
+
+        assertTrue(slotIntervalIndex.tryReserve("2123", at(9, 30), at(10, 30)).isEmpty());
+        Optional<SlotIntervalIndex.Reservation> reservation = slotIntervalIndex.tryReserve("2123", at(10, 0), at(11, 0));
+        assertTrue(reservation.isPresent());
+        assertTrue(slotIntervalIndex.tryReserve("2123", at(10, 30), at(11, 30)).isEmpty());
+
+        reservation.get().release();
+        assertTrue(slotIntervalIndex.tryReserve("2123", at(10, 30), at(11, 30)).isPresent());
+    }
+
+    @Test
+    void tryReserve_ConfirmedReservationBecomesTheSlot() {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+
+        slotIntervalIndex.tryReserve("2123", at(14, 0), at(15, 0)).orElseThrow().confirm(slot(33L, at(14, 0), at(15, 0)));
+
+        assertTrue(conflicts(at(14, 30), at(15, 30), null));
+        assertFalse(conflicts(at(14, 30), at(15, 30), "33"));
+        slotIntervalIndex.remove("2123", "33");
+        assertFalse(conflicts(at(14, 30), at(15, 30), null));
+    }
+
+    @Test
+    void tryReserve_MovedSlotIgnoresItsOwnInterval() {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Arrays.asList(morningSlot));
+
+        slotIntervalIndex.tryReserve("2123", at(9, 30), at(10, 30), "31").orElseThrow()
+            .confirm(slot(31L, at(9, 30), at(10, 30)));
+
+        assertFalse(conflicts(at(9, 0), at(9, 30), null));
+        assertTrue(conflicts(at(10, 0), at(10, 30), null));
+    }
+
+    @Test
+    void tryReserve_ConcurrentOverlappingRequestsReserveOnce() throws Exception {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+        int requests = 200;
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger reserved = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < requests; i++) {
+                int offset = i % 30;
+                executor.submit(() -> {
+                    startSignal.await();
+                    if (slotIntervalIndex.tryReserve("2123", at(9, offset), at(10, offset)).isPresent()) {
+                        reserved.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            startSignal.countDown();
+        }
+
+        assertEquals(1, reserved.get());
+    }
+
+    @Test
+    void endedSlotsAreDropped() {
+        when(appointmentSlotRepository.findByDoctorIdAndEndTimeAfter(eq(2123L), any(LocalDateTime.class))).thenReturn(Collections.emptyList());
+        LocalDateTime start = LocalDateTime.now().minusHours(3);
+
+        slotIntervalIndex.add(slot(34L, start, start.plusHours(1)));
+
+        assertFalse(conflicts(start, start.plusHours(1), null));
+    }
+
+    // Reserves and gives the interval straight back, so checks leave the index as it was
+    private boolean conflicts(LocalDateTime start, LocalDateTime end, String excludeSlotId) {
+        Optional<SlotIntervalIndex.Reservation> reservation = slotIntervalIndex.tryReserve("2123", start, end, excludeSlotId);
+        reservation.ifPresent(SlotIntervalIndex.Reservation::release);
+        return reservation.isEmpty();
+    }
+
+    private AppointmentSlot slot(long id, LocalDateTime start, LocalDateTime end) {
+        AppointmentSlot slot = new AppointmentSlot();
+        slot.setId(id);
+        slot.setDoctor(doctor);
+        slot.setStartTime(start);
+        slot.setEndTime(end);
+        slot.setAvailable(true);
+        return slot;
+    }
+
+    private LocalDateTime at(int hour, int minute) {
+        return LocalDateTime.of(2030, 1, 15, hour, minute);
+    }
+}
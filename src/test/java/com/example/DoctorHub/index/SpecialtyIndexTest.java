@@ -0,0 +1,126 @@
+package com.example.DoctorHub.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.DoctorHub.repository.DoctorRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SpecialtyIndexTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @InjectMocks
+    private SpecialtyIndex specialtyIndex;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(doctorRepository.findAllSpecialties()).thenReturn(Arrays.asList(
+            specialty(21L, "Cardiology"),
+            specialty(22L, "Pediatric Cardiology"),
+            specialty(23L, "Dermatology"),
+            specialty(24L, "Pediatrics")));
+    }
+
+    @Test
+    void search_ExactMatchIsCaseInsensitive() {
+        assertEquals(List.of("23"), specialtyIndex.search("DERMATOLOGY", 10));
+    }
+
+    @Test
+    void search_MatchesPrefixes() {
+        assertEquals(List.of("21", "22"), sorted(specialtyIndex.search("card", 10)));
+        assertEquals(List.of("22", "24"), sorted(specialtyIndex.search("pedia", 10)));
+    }
+
+    @Test
+    void search_RanksExactTokenBeforePrefix() {
+        List<String> result = specialtyIndex.search("pediatric", 10);
+
+        assertEquals(List.of("22", "24"), result);
+    }
+
+    @Test
+    void search_AllTermsMustMatch() {
+        assertEquals(List.of("22"), specialtyIndex.search("pediatric card", 10));
+    }
+
+    @Test
+    void search_ToleratesTypos() {
+        assertEquals(List.of("23"), specialtyIndex.search("dermotology", 10));
+        assertEquals(List.of("21", "22"), sorted(specialtyIndex.search("cadr", 10)));
+        assertEquals(Collections.emptyList(), specialtyIndex.search("neurology", 10));
+    }
+
+    @Test
+    void search_ShortTermsAreNotFuzzy() {
+        assertEquals(Collections.emptyList(), specialtyIndex.search("xar", 10));
+    }
+
+    @Test
+    void search_RespectsLimit() {
+        assertEquals(1, specialtyIndex.search("card", 1).size());
+    }
+
+    @Test
+    void search_BlankQueryReturnsNothing() {
+        assertEquals(Collections.emptyList(), specialtyIndex.search("  ", 10));
+
+        verify(doctorRepository, never()).findAllSpecialties();
+    }
+
+    @Test
+    void put_ReplacesPreviousSpecialty() {
+        specialtyIndex.put("23", "Neurology");
+
+        assertEquals(Collections.emptyList(), specialtyIndex.search("dermatology", 10));
+        assertEquals(List.of("23"), specialtyIndex.search("neuro", 10));
+    }
+
+    @Test
+    void remove_DropsDoctor() {
+        assertEquals(List.of("21", "22"), sorted(specialtyIndex.search("cardiology", 10)));
+
+        specialtyIndex.remove("21");
+
+        assertEquals(List.of("22"), specialtyIndex.search("cardiology", 10));
+    }
+
+    @Test
+    void warmUp_LoadsOnce() {
+        specialtyIndex.warmUp();
+        specialtyIndex.search("card", 10);
+
+        verify(doctorRepository, times(1)).findAllSpecialties();
+    }
+
+    private List<String> sorted(List<String> ids) {
+        return ids.stream().sorted().toList();
+    }
+
+    private DoctorRepository.SpecialtyView specialty(long id, String specialization) {
+        return new DoctorRepository.SpecialtyView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getSpecialization() {
+                return specialization;
+            }
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.DoctorHub.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.DoctorHub.repository.DoctorRepository;
+
+@ExtendWith(MockitoExtension.class)
+class TopRatedDoctorIndexTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @InjectMocks
+    private TopRatedDoctorIndex topRatedDoctorIndex;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(doctorRepository.findAllRatings()).thenReturn(Arrays.asList(
+            rating(21L, "Cardiology", 4.2),
+            rating(22L, "Dermatology", 4.8),
+            rating(23L, "Cardiology", 4.9),
+            rating(24L, "Cardiology", 4.2),
+            rating(25L, "Dermatology", null)));
+    }
+
+    @Test
+    void top_OrdersByRatingThenId() {
+        assertEquals(List.of("23", "22", "21", "24"), topRatedDoctorIndex.top(10, null));
+        assertEquals(List.of("23", "22"), topRatedDoctorIndex.top(2, null));
+    }
+
+    @Test
+    void top_FiltersBySpecialtyIgnoringCase() {
+        assertEquals(List.of("23", "21", "24"), topRatedDoctorIndex.top(10, "cardiology"));
+        assertEquals(List.of("22"), topRatedDoctorIndex.top(10, "Dermatology"));
+        assertEquals(Collections.emptyList(), topRatedDoctorIndex.top(10, "Neurology"));
+    }
+
+    @Test
+    void top_NonPositiveLimitReturnsNothing() {
+        assertEquals(Collections.emptyList(), topRatedDoctorIndex.top(0, null));
+
+        verify(doctorRepository, never()).findAllRatings();
+    }
+
+    @Test
+    void put_ReranksChangedRating() {
+        topRatedDoctorIndex.put("21", "Cardiology", 5.0);
+
+        assertEquals(List.of("21", "23", "22", "24"), topRatedDoctorIndex.top(10, null));
+        assertEquals(List.of("21", "23", "24"), topRatedDoctorIndex.top(10, "Cardiology"));
+    }
+
+    @Test
+    void put_MovesDoctorBetweenSpecialties() {
+        topRatedDoctorIndex.put("23", "Dermatology", 4.9);
+
+        assertEquals(List.of("21", "24"), topRatedDoctorIndex.top(10, "Cardiology"));
+        assertEquals(List.of("23", "22"), topRatedDoctorIndex.top(10, "Dermatology"));
+    }
+
+    @Test
+    void put_NullRatingUnranksDoctor() {
+        topRatedDoctorIndex.put("23", "Cardiology", null);
+
+        assertEquals(List.of("22", "21", "24"), topRatedDoctorIndex.top(10, null));
+    }
+
+    @Test
+    void remove_DropsDoctorFromEveryRanking() {
+        topRatedDoctorIndex.remove("23");
+
+        assertEquals(List.of("22", "21", "24"), topRatedDoctorIndex.top(10, null));
+        assertEquals(List.of("21", "24"), topRatedDoctorIndex.top(10, "Cardiology"));
+    }
+
+    @Test
+    void top_BeyondSnapshotWalksRanking() {
+        List<DoctorRepository.RatingView> ratings = new ArrayList<>();
+        for (int i = 0; i < TopRatedDoctorIndex.SNAPSHOT_SIZE + 20; i++) {
+            ratings.add(rating(2000 + i, "Cardiology", 1.0 + i / 100.0));
+        }
+        when(doctorRepository.findAllRatings()).thenReturn(ratings);
+
+        List<String> top = topRatedDoctorIndex.top(TopRatedDoctorIndex.SNAPSHOT_SIZE + 10, null);
+        assertEquals(TopRatedDoctorIndex.SNAPSHOT_SIZE + 10, top.size());
+        assertEquals("2119", top.get(0));
+        assertEquals("2010", top.get(top.size() - 1));
+
+        // A change below the snapshot leaves it alone, one inside it is visible immediately
+        topRatedDoctorIndex.put("2000", "Cardiology", 1.005);
+        topRatedDoctorIndex.put("2005", "Cardiology", 9.0);
+        assertEquals(List.of("2005", "2119"), topRatedDoctorIndex.top(2, null));
+    }
+
+    @Test
+    void warmUp_LoadsOnce() {
+        topRatedDoctorIndex.warmUp();
+        topRatedDoctorIndex.top(10, null);
+
+        verify(doctorRepository, times(1)).findAllRatings();
+    }
+
+    private DoctorRepository.RatingView rating(long id, String specialization, Double rating) {
+        return new DoctorRepository.RatingView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getSpecialization() {
+                return specialization;
+            }
+
+            @Override
+            public Double getRating() {
+                return rating;
+            }
+        };
+    }
+}
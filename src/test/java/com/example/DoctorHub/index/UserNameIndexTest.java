@@ -0,0 +1,104 @@
+package com.example.DoctorHub.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.DoctorHub.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+class UserNameIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private UserNameIndex userNameIndex;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userRepository.streamAllNames()).thenReturn(Stream.of(
+            name(11L, "John Smith"),
+            name(12L, "Johnny Appleseed"),
+            name(13L, "Jane Smithers"),
+            name(14L, "Jos\u00e9 \u00c1lvarez")));
+        userNameIndex = new UserNameIndex(userRepository, transactionManager);
+    }
+
+    @Test
+    void search_MatchesPartialWordsCaseInsensitively() {
+        assertEquals(List.of("11", "13"), userNameIndex.search("SMI", 0, 10));
+    }
+
+    @Test
+    void search_RanksCloserNamesFirst() {
+        assertEquals(List.of("11", "12"), userNameIndex.search("john", 0, 10));
+        assertEquals("11", userNameIndex.search("john smith", 0, 10).get(0));
+    }
+
+    @Test
+    void search_ToleratesTypos() {
+        assertTrue(userNameIndex.search("jhon smith", 0, 10).contains("11"));
+    }
+
+    @Test
+    void search_IgnoresAccents() {
+        assertEquals(List.of("14"), userNameIndex.search("jose alv", 0, 10));
+    }
+
+    @Test
+    void search_PagesByOffset() {
+        assertEquals(List.of("11"), userNameIndex.search("john", 0, 1));
+        assertEquals(List.of("12"), userNameIndex.search("john", 1, 1));
+        assertEquals(Collections.emptyList(), userNameIndex.search("john", 2, 1));
+    }
+
+    @Test
+    void search_BlankQueryMatchesNothing() {
+        assertEquals(Collections.emptyList(), userNameIndex.search("  ", 0, 10));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void put_ReindexesRenamedUser() {
+        userNameIndex.put("11", "Jack Black");
+
+        assertEquals(List.of("13"), userNameIndex.search("smith", 0, 10));
+        assertEquals(List.of("11"), userNameIndex.search("black", 0, 10));
+    }
+
+    @Test
+    void remove_DropsUser() {
+        userNameIndex.search("john", 0, 10);
+        userNameIndex.remove("12");
+
+        assertEquals(List.of("11"), userNameIndex.search("john", 0, 10));
+        verify(userRepository, times(1)).streamAllNames();
+    }
+
+    private static UserRepository.NameView name(Long id, String name) {
+        return new UserRepository.NameView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
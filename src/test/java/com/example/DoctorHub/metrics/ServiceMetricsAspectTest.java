@@ -0,0 +1,96 @@
+package com.example.DoctorHub.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import com.example.DoctorHub.exception.AppointmentSlotNotAvailableException;
+import com.example.DoctorHub.exception.DoctorNotFoundException;
+import com.example.DoctorHub.exception.InvalidCursorException;
+import com.example.DoctorHub.exception.PasswordHashingBusyException;
+import com.example.DoctorHub.service.IAppointmentService;
+import com.example.DoctorHub.service.IDoctorService;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private IDoctorService doctorService;
+    private IDoctorService instrumentedDoctorService;
+    private IAppointmentService instrumentedAppointmentService;
+    private IAppointmentService appointmentService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ServiceMetricsAspect aspect = new ServiceMetricsAspect(meterRegistry);
+        doctorService = mock(IDoctorService.class);
+        appointmentService = mock(IAppointmentService.class);
+        instrumentedDoctorService = instrument(doctorService, aspect);
+        instrumentedAppointmentService = instrument(appointmentService, aspect);
+    }
+
+    @Test
+    void measure_TimesSuccessfulCalls() {
+        when(doctorService.getTopRatedDoctors(5)).thenReturn(List.of());
+
+        instrumentedDoctorService.getTopRatedDoctors(5);
+        instrumentedDoctorService.getTopRatedDoctors(5);
+
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+            .tag("service", "IDoctorService")
+            .tag("method", "getTopRatedDoctors")
+            .timer();
+        assertEquals(2, timer.count());
+        assertEquals(2, outcomes("IDoctorService", "getTopRatedDoctors", "success"));
+    }
+
+    @Test
+    void measure_CountsNotFound() {
+        when(doctorService.getDoctorById("missing")).thenThrow(new DoctorNotFoundException("Doctor not found"));
+
+        assertThrows(DoctorNotFoundException.class, () -> instrumentedDoctorService.getDoctorById("missing"));
+
+        assertEquals(1, outcomes("IDoctorService", "getDoctorById", "not_found"));
+        assertEquals(1, meterRegistry.get(ServiceMetricsAspect.TIMER_NAME).tag("method", "getDoctorById").timer().count());
+    }
+
+    @Test
+    void measure_CountsSlotNotAvailable() {
+        when(appointmentService.createAppointment(any())).thenThrow(new AppointmentSlotNotAvailableException("Slot taken"));
+
+        assertThrows(AppointmentSlotNotAvailableException.class, () -> instrumentedAppointmentService.createAppointment(null));
+
+        assertEquals(1, outcomes("IAppointmentService", "createAppointment", "slot_not_available"));
+    }
+
+    @Test
+    void outcome_ClassifiesExceptions() {
+        assertEquals("invalid_request", ServiceMetricsAspect.outcome(new IllegalArgumentException()));
+        assertEquals("invalid_request", ServiceMetricsAspect.outcome(new InvalidCursorException("Invalid cursor: abc")));
+        assertEquals("rejected", ServiceMetricsAspect.outcome(new PasswordHashingBusyException("Password hashing is busy")));
+        assertEquals("error", ServiceMetricsAspect.outcome(new IllegalStateException()));
+    }
+
+    private double outcomes(String service, String method, String outcome) {
+        return meterRegistry.get(ServiceMetricsAspect.OUTCOME_COUNTER_NAME)
+            .tag("service", service)
+            .tag("method", method)
+            .tag("outcome", outcome)
+            .counter()
+            .count();
+    }
+
+    private static <T> T instrument(T target, ServiceMetricsAspect aspect) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.DoctorHub.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.DoctorHub.Enum.AppointmentStatus;
+import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.dto.AppointmentResponseDTO;
+import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.DoctorResponseDTO;
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.model.Appointment;
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.Doctor;
+import com.example.DoctorHub.model.User;
+
+/**
+ * Maps list query results to DTOs the way the services do and counts the JDBC statements
+ * Hibernate prepares, so a lazy association walked per row shows up as a failure.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class RepositoryStatementCountTest {
+
+    private static final int ROWS = 5;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentSlotRepository appointmentSlotRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    private Statistics statistics;
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+
+        List<Doctor> doctors = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            doctors.add(persistDoctor(i));
+        }
+        doctor = doctors.get(0);
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 15, 9, 0);
+        for (int i = 0; i < ROWS; i++) {
+            User patient = persistUser("patient" + i, Role.PATIENT);
+
+            AppointmentSlot slot = new AppointmentSlot();
+            slot.setDoctor(doctor);
+            slot.setStartTime(start.plusHours(i));
+            slot.setEndTime(start.plusHours(i + 1));
+            slot.setAvailable(false);
+            entityManager.persist(slot);
+
+            Appointment appointment = new Appointment();
+            appointment.setAppointmentSlot(slot);
+            appointment.setDoctor(doctor);
+            appointment.setPatient(patient);
+            appointment.setAppointmentStatus(AppointmentStatus.SCHEDULED);
+            entityManager.persist(appointment);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void appointmentsByDoctorId_UseOneStatement() {
+        List<AppointmentResponseDTO> result = appointmentRepository.findByDoctorId(doctor.getId())
+            .stream()
+            .map(Mapper::toAppointmentResponseDTO)
+            .collect(Collectors.toList());
+
+        assertEquals(ROWS, result.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void appointmentsByDateRange_UseOneStatement() {
+        List<AppointmentResponseDTO> result = appointmentRepository.findByDate(LocalDate.of(2030, 1, 15))
+            .stream()
+            .map(Mapper::toAppointmentResponseDTO)
+            .collect(Collectors.toList());
+
+        assertEquals(ROWS, result.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void appointmentSlotsByDoctorId_UseOneStatement() {
+        List<AppointmentSlotResponseDTO> result = appointmentSlotRepository.findByDoctorId(doctor.getId())
+            .stream()
+            .map(Mapper::toAppointmentSlotResponseDTO)
+            .collect(Collectors.toList());
+
+        assertEquals(ROWS, result.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void allDoctors_UseOneStatement() {
+        List<DoctorResponseDTO> result = doctorRepository.findAll()
+            .stream()
+            .map(Mapper::toDoctorResponseDTO)
+            .collect(Collectors.toList());
+
+        assertEquals(ROWS, result.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void doctorsBySpecialty_UseOneStatement() {
+        List<DoctorResponseDTO> result = doctorRepository.findBySpecialization("Cardiology")
+            .stream()
+            .map(Mapper::toDoctorResponseDTO)
+            .collect(Collectors.toList());
+
+        assertEquals(ROWS, result.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void topRatedDoctors_UseOneStatement() {
+        List<DoctorResponseDTO> result = doctorRepository.findAllOrderByRatingDescAndLimit(3)
+            .stream()
+            .map(Mapper::toDoctorResponseDTO)
+            .collect(Collectors.toList());
+
+        assertEquals(3, result.size());
+        assertEquals(4.4, result.get(0).getRating(), 0.001);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void doctorsPage_UsesOneStatement() {
+        List<DoctorResponseDTO> result = doctorRepository.findAllByOrderByIdAsc(Limit.of(ROWS + 1))
+            .stream()
+            .map(Mapper::toDoctorResponseDTO)
+            .collect(Collectors.toList());
+
+        assertEquals(ROWS, result.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Doctor persistDoctor(int i) {
+        Doctor newDoctor = new Doctor();
+        newDoctor.setUser(persistUser("doctor" + i, Role.DOCTOR));
+        newDoctor.setSpecialization("Cardiology");
+        newDoctor.setLicenseNumber("LIC" + i);
+        newDoctor.setRating(4.0 + i / 10.0);
+        return entityManager.persist(newDoctor);
+    }
+
+    private User persistUser(String name, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password123");
+        user.setRole(role);
+        return entityManager.persist(user);
+    }
+}
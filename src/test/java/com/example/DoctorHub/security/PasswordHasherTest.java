@@ -0,0 +1,82 @@
+package com.example.DoctorHub.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.DoctorHub.exception.PasswordHashingBusyException;
+
+class PasswordHasherTest {
+
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        // Lowest BCrypt strength keeps the tests fast
+        passwordHasher = new PasswordHasher(4, 2, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void hash_ProducesVerifiableBCryptHash() {
+        String hash = passwordHasher.hash("password123");
+
+        assertNotEquals("password123", hash);
+        assertFalse(passwordHasher.needsRehash(hash));
+        assertTrue(passwordHasher.matches("password123", hash));
+        assertFalse(passwordHasher.matches("wrongpassword", hash));
+    }
+
+    @Test
+    void hashAll_KeepsOrder() {
+        List<String> hashes = passwordHasher.hashAll(List.of("first", "second", "third"));
+
+        assertEquals(3, hashes.size());
+        assertTrue(passwordHasher.matches("first", hashes.get(0)));
+        assertTrue(passwordHasher.matches("second", hashes.get(1)));
+        assertTrue(passwordHasher.matches("third", hashes.get(2)));
+    }
+
+    @Test
+    void matches_LegacyPlaintext() {
+        assertTrue(passwordHasher.needsRehash("password123"));
+        assertTrue(passwordHasher.matches("password123", "password123"));
+        assertFalse(passwordHasher.matches("wrongpassword", "password123"));
+        assertFalse(passwordHasher.matches("password123", null));
+    }
+
+    @Test
+    void hash_Saturated_FailsFast() throws Exception {
+        // Strength 14 takes about a second per hash; one thread and a one-slot queue fill immediately
+        PasswordHasher slowHasher = new PasswordHasher(14, 1, 1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        CountDownLatch started = new CountDownLatch(2);
+        try {
+            Future<?> first = callers.submit(() -> { started.countDown(); slowHasher.hash("a"); });
+            Future<?> second = callers.submit(() -> { started.countDown(); slowHasher.hash("b"); });
+            started.await();
+            // Give both callers time to occupy the thread and the queue slot
+            Thread.sleep(200);
+
+            assertThrows(PasswordHashingBusyException.class, () -> slowHasher.hash("c"));
+
+            first.cancel(true);
+            second.cancel(true);
+        } finally {
+            callers.shutdownNow();
+            slowHasher.shutdown();
+        }
+    }
+}
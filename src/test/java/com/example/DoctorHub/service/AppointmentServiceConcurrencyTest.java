@@ -0,0 +1,139 @@
+package com.example.DoctorHub.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.DoctorHub.Enum.AppointmentStatus;
+import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.cache.DaySlotCache;
+import com.example.DoctorHub.dto.AppointmentRequestDTO;
+import com.example.DoctorHub.events.SlotEventBroadcaster;
+import com.example.DoctorHub.exception.AppointmentSlotNotAvailableException;
+import com.example.DoctorHub.index.DoctorAvailabilityIndex;
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.Doctor;
+import com.example.DoctorHub.model.User;
+import com.example.DoctorHub.repository.AppointmentRepository;
+import com.example.DoctorHub.repository.AppointmentSlotRepository;
+import com.example.DoctorHub.repository.DoctorRepository;
+import com.example.DoctorHub.repository.UserRepository;
+
+/**
+ * Books one slot from many threads through the real service and the conditional claim UPDATE
+ * on H2, and checks that exactly one booking wins.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ AppointmentServiceImpl.class, DoctorAvailabilityIndex.class, DaySlotCache.class, SlotEventBroadcaster.class })
+// The worker threads must see committed rows, so the test does not run in a rolled-back transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AppointmentServiceConcurrencyTest {
+
+    private static final int BOOKINGS = 16;
+
+    @Autowired
+    private IAppointmentService appointmentService;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private AppointmentSlotRepository appointmentSlotRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Doctor doctor;
+    private User patient;
+    private AppointmentSlot slot;
+
+    @BeforeEach
+    void setUp() {
+        Doctor newDoctor = new Doctor();
+        newDoctor.setUser(user("Dr. Contended", "dr.contended@example.com", Role.DOCTOR));
+        newDoctor.setSpecialization("Cardiology");
+        newDoctor.setLicenseNumber("LIC-CONTENDED");
+        doctor = doctorRepository.save(newDoctor);
+        patient = userRepository.save(user("Pat Contended", "pat.contended@example.com", Role.PATIENT));
+
+        AppointmentSlot newSlot = new AppointmentSlot();
+        newSlot.setDoctor(doctor);
+        newSlot.setStartTime(LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(9, 0)));
+        newSlot.setEndTime(LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(9, 30)));
+        newSlot.setAvailable(true);
+        slot = appointmentSlotRepository.save(newSlot);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentRepository.deleteAllInBatch();
+        appointmentSlotRepository.deleteAllInBatch();
+        doctorRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createAppointment_ContendedSlotIsBookedOnce() throws Exception {
+        AppointmentRequestDTO request = new AppointmentRequestDTO(Mapper.toIdString(slot.getId()),
+            Mapper.toIdString(doctor.getId()), Mapper.toIdString(patient.getId()), AppointmentStatus.PENDING);
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(BOOKINGS)) {
+            for (int i = 0; i < BOOKINGS; i++) {
+                executor.submit(() -> {
+                    startSignal.await();
+                    try {
+                        appointmentService.createAppointment(request);
+                        booked.incrementAndGet();
+                    } catch (AppointmentSlotNotAvailableException e) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            startSignal.countDown();
+        }
+
+        assertEquals(1, booked.get());
+        assertEquals(BOOKINGS - 1, rejected.get());
+        assertEquals(0, failed.get());
+        assertEquals(1, appointmentRepository.count());
+        assertFalse(appointmentSlotRepository.findById(slot.getId()).orElseThrow().isAvailable());
+    }
+
+    private static User user(String name, String email, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(email);
+        user.setPassword("password123");
+        user.setRole(role);
+        return user;
+    }
+}
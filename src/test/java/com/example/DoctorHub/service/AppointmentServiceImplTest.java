@@ -2,7 +2,10 @@ package com.example.DoctorHub.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import java.time.LocalDate;
@@ -17,14 +20,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import com.example.DoctorHub.Enum.AppointmentStatus;
 import com.example.DoctorHub.dto.AppointmentRequestDTO;
 import com.example.DoctorHub.dto.AppointmentResponseDTO;
+import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.BatchAppointmentResponseDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.exception.AppointmentNotFoundException;
+import com.example.DoctorHub.exception.AppointmentSlotNotAvailableException;
 import com.example.DoctorHub.exception.AppointmentSlotNotFoundException;
 import com.example.DoctorHub.exception.DoctorNotFoundException;
 import com.example.DoctorHub.exception.UserNotFoundException;
+import com.example.DoctorHub.cache.DaySlotCache;
+import com.example.DoctorHub.events.SlotEventBroadcaster;
+import com.example.DoctorHub.index.DoctorAvailabilityIndex;
 import com.example.DoctorHub.model.Appointment;
 import com.example.DoctorHub.model.AppointmentSlot;
 import com.example.DoctorHub.model.Doctor;
@@ -49,6 +60,15 @@ class AppointmentServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private DoctorAvailabilityIndex doctorAvailabilityIndex;
+
+    @Mock
+    private DaySlotCache daySlotCache;
+
+    @Mock
+    private SlotEventBroadcaster slotEventBroadcaster;
+
     @InjectMocks
     private AppointmentServiceImpl appointmentService;
 
@@ -65,24 +85,24 @@ class AppointmentServiceImplTest {
     void setUp() {
         // Setup User objects
         doctorUser = new User();
-        doctorUser.setId("user123");
+        doctorUser.setId(1123L);
         doctorUser.setName("Dr. Smith");
         doctorUser.setEmail("dr.smith@example.com");
 
         patient = new User();
-        patient.setId("user456");
+        patient.setId(1456L);
         patient.setName("John Doe");
         patient.setEmail("john.doe@example.com");
 
         // Setup Doctor
         doctor = new Doctor();
-        doctor.setId("doc123");
+        doctor.setId(2123L);
         doctor.setUser(doctorUser);
         doctor.setSpecialization("Cardiology");
 
         // Setup AppointmentSlot
         appointmentSlot = new AppointmentSlot();
-        appointmentSlot.setId("slot123");
+        appointmentSlot.setId(3123L);
         appointmentSlot.setDoctor(doctor);
         appointmentSlot.setStartTime(LocalDateTime.of(2024, 1, 15, 9, 0));
         appointmentSlot.setEndTime(LocalDateTime.of(2024, 1, 15, 10, 0));
@@ -90,7 +110,7 @@ class AppointmentServiceImplTest {
 
         // Setup Appointment
         appointment = new Appointment();
-        appointment.setId("apt123");
+        appointment.setId(4123L);
         appointment.setAppointmentSlot(appointmentSlot);
         appointment.setDoctor(doctor);
         appointment.setPatient(patient);
@@ -98,15 +118,15 @@ class AppointmentServiceImplTest {
 
         // Setup DTOs
         appointmentRequestDTO = new AppointmentRequestDTO();
-        appointmentRequestDTO.setAppointmentSlotId("slot123");
-        appointmentRequestDTO.setDoctorId("doc123");
-        appointmentRequestDTO.setPatientId("user456");
+        appointmentRequestDTO.setAppointmentSlotId("3123");
+        appointmentRequestDTO.setDoctorId("2123");
+        appointmentRequestDTO.setPatientId("1456");
         appointmentRequestDTO.setStatus(AppointmentStatus.PENDING);
 
         appointmentResponseDTO = new AppointmentResponseDTO();
-        appointmentResponseDTO.setAppointmentSlotId("slot123");
-        appointmentResponseDTO.setDoctorId("doc123");
-        appointmentResponseDTO.setPatientId("user456");
+        appointmentResponseDTO.setAppointmentSlotId("3123");
+        appointmentResponseDTO.setDoctorId("2123");
+        appointmentResponseDTO.setPatientId("1456");
         appointmentResponseDTO.setAppointmentStatus(AppointmentStatus.PENDING);
 
         appointmentList = Arrays.asList(appointment);
@@ -114,196 +134,276 @@ class AppointmentServiceImplTest {
 
     @Test
     void createAppointment_Success() {
-        when(appointmentSlotRepository.findById("slot123")).thenReturn(Optional.of(appointmentSlot));
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
-        when(userRepository.findById("user456")).thenReturn(Optional.of(patient));
-        when(appointmentSlotRepository.save(any(AppointmentSlot.class))).thenReturn(appointmentSlot);
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(userRepository.findById(1456L)).thenReturn(Optional.of(patient));
+        when(appointmentSlotRepository.claimSlot(eq(3123L), any(LocalDateTime.class))).thenReturn(1);
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(appointment);
 
         AppointmentResponseDTO result = appointmentService.createAppointment(appointmentRequestDTO);
 
         assertNotNull(result);
-        assertEquals("slot123", result.getAppointmentSlotId());
-        assertEquals("doc123", result.getDoctorId());
-        assertEquals("user456", result.getPatientId());
-
-        verify(appointmentSlotRepository).findById("slot123");
-        verify(doctorRepository).findById("doc123");
-        verify(userRepository).findById("user456");
-        verify(appointmentSlotRepository).save(any(AppointmentSlot.class));
+        assertEquals("3123", result.getAppointmentSlotId());
+        assertEquals("2123", result.getDoctorId());
+        assertEquals("1456", result.getPatientId());
+
+        verify(appointmentSlotRepository).findById(3123L);
+        verify(doctorRepository).findById(2123L);
+        verify(userRepository).findById(1456L);
+        verify(appointmentSlotRepository).claimSlot(eq(3123L), any(LocalDateTime.class));
+        verify(appointmentSlotRepository, never()).save(any(AppointmentSlot.class));
         verify(appointmentRepository).save(any(Appointment.class));
+        verify(doctorAvailabilityIndex).put(appointmentSlot);
+        verify(daySlotCache).put(argThat(slot -> slot.getId().equals("3123") && !slot.isAvailable()));
+        verify(slotEventBroadcaster).publish(argThat(slot -> slot.getId().equals("3123") && !slot.isAvailable()));
+        assertFalse(appointmentSlot.isAvailable());
+    }
+
+    @Test
+    void createAppointment_SlotClaimedConcurrently() {
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(userRepository.findById(1456L)).thenReturn(Optional.of(patient));
+        when(appointmentSlotRepository.claimSlot(eq(3123L), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(AppointmentSlotNotAvailableException.class, () -> {
+            appointmentService.createAppointment(appointmentRequestDTO);
+        });
+
+        verify(appointmentRepository, never()).save(any(Appointment.class));
     }
 
     @Test
     void createAppointment_SlotNotFound() {
-        when(appointmentSlotRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(appointmentSlotRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(AppointmentSlotNotFoundException.class, () -> {
-            appointmentRequestDTO.setAppointmentSlotId("nonexistent");
+            appointmentRequestDTO.setAppointmentSlotId("999");
             appointmentService.createAppointment(appointmentRequestDTO);
         });
 
-        verify(appointmentSlotRepository).findById("nonexistent");
-        verify(doctorRepository, never()).findById(anyString());
+        verify(appointmentSlotRepository).findById(999L);
+        verify(doctorRepository, never()).findById(anyLong());
     }
 
     @Test
     void createAppointment_SlotNotAvailable() {
         appointmentSlot.setAvailable(false);
-        when(appointmentSlotRepository.findById("slot123")).thenReturn(Optional.of(appointmentSlot));
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
 
-        assertThrows(RuntimeException.class, () -> {
+        assertThrows(AppointmentSlotNotAvailableException.class, () -> {
             appointmentService.createAppointment(appointmentRequestDTO);
         });
 
-        verify(appointmentSlotRepository).findById("slot123");
-        verify(doctorRepository, never()).findById(anyString());
+        verify(appointmentSlotRepository).findById(3123L);
+        verify(doctorRepository, never()).findById(anyLong());
     }
 
     @Test
     void createAppointment_DoctorNotFound() {
-        when(appointmentSlotRepository.findById("slot123")).thenReturn(Optional.of(appointmentSlot));
-        when(doctorRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
+        when(doctorRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(DoctorNotFoundException.class, () -> {
-            appointmentRequestDTO.setDoctorId("nonexistent");
+            appointmentRequestDTO.setDoctorId("999");
             appointmentService.createAppointment(appointmentRequestDTO);
         });
 
-        verify(appointmentSlotRepository).findById("slot123");
-        verify(doctorRepository).findById("nonexistent");
-        verify(userRepository, never()).findById(anyString());
+        verify(appointmentSlotRepository).findById(3123L);
+        verify(doctorRepository).findById(999L);
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
     void createAppointment_PatientNotFound() {
-        when(appointmentSlotRepository.findById("slot123")).thenReturn(Optional.of(appointmentSlot));
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
-        when(userRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> {
-            appointmentRequestDTO.setPatientId("nonexistent");
+            appointmentRequestDTO.setPatientId("999");
             appointmentService.createAppointment(appointmentRequestDTO);
         });
 
-        verify(appointmentSlotRepository).findById("slot123");
-        verify(doctorRepository).findById("doc123");
-        verify(userRepository).findById("nonexistent");
+        verify(appointmentSlotRepository).findById(3123L);
+        verify(doctorRepository).findById(2123L);
+        verify(userRepository).findById(999L);
+    }
+
+    @Test
+    void createAppointments_BooksAvailableSlotsAndReportsFailures() {
+        AppointmentSlot bookedSlot = new AppointmentSlot();
+        bookedSlot.setId(3456L);
+        bookedSlot.setDoctor(doctor);
+        bookedSlot.setStartTime(LocalDateTime.of(2024, 1, 22, 9, 0));
+        bookedSlot.setEndTime(LocalDateTime.of(2024, 1, 22, 10, 0));
+        bookedSlot.setAvailable(false);
+        when(appointmentSlotRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(appointmentSlot, bookedSlot));
+        when(doctorRepository.findAllById(any())).thenReturn(List.of(doctor));
+        when(userRepository.findAllById(any())).thenReturn(List.of(patient));
+        when(appointmentRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchAppointmentResponseDTO result = appointmentService.createAppointments(List.of(
+            appointmentRequestDTO,
+            new AppointmentRequestDTO("3456", "2123", "1456", AppointmentStatus.PENDING),
+            new AppointmentRequestDTO("999", "2123", "1456", AppointmentStatus.PENDING),
+            new AppointmentRequestDTO("3123", "2123", "1456", AppointmentStatus.PENDING)));
+
+        assertEquals(1, result.getBooked());
+        assertEquals(3, result.getFailed());
+        assertEquals(201, result.getResults().get(0).getStatus());
+        assertEquals("3123", result.getResults().get(0).getAppointment().getAppointmentSlotId());
+        assertEquals(409, result.getResults().get(1).getStatus());
+        assertEquals(404, result.getResults().get(2).getStatus());
+        assertEquals("Appointment Slot Not Found", result.getResults().get(2).getError());
+        // The same slot twice in one batch is booked once
+        assertEquals(409, result.getResults().get(3).getStatus());
+        assertNull(result.getResults().get(3).getAppointment());
+        assertFalse(appointmentSlot.isAvailable());
+
+        verify(appointmentSlotRepository).findAllByIdForUpdate(List.of(3123L, 3456L, 999L));
+        verify(doctorRepository).findAllById(List.of(2123L));
+        verify(userRepository).findAllById(List.of(1456L));
+        verify(appointmentSlotRepository, never()).findById(anyLong());
+        verify(appointmentSlotRepository, never()).claimSlot(anyLong(), any(LocalDateTime.class));
+        verify(appointmentSlotRepository).saveAll(List.of(appointmentSlot));
+        verify(appointmentRepository).saveAll(argThat((List<Appointment> appointments) -> appointments.size() == 1));
+        verify(doctorAvailabilityIndex).put(appointmentSlot);
+        verify(doctorAvailabilityIndex, never()).put(bookedSlot);
+        verify(slotEventBroadcaster, times(1)).publish(any(AppointmentSlotResponseDTO.class));
+    }
+
+    @Test
+    void createAppointments_UnknownDoctorOrPatientLeavesSlotAvailable() {
+        when(appointmentSlotRepository.findAllByIdForUpdate(anyCollection())).thenReturn(List.of(appointmentSlot));
+        when(doctorRepository.findAllById(any())).thenReturn(List.of(doctor));
+        when(userRepository.findAllById(any())).thenReturn(List.of());
+
+        BatchAppointmentResponseDTO result = appointmentService.createAppointments(List.of(
+            new AppointmentRequestDTO("3123", "999", "1456", AppointmentStatus.PENDING),
+            new AppointmentRequestDTO("3123", "2123", "999", AppointmentStatus.PENDING)));
+
+        assertEquals(0, result.getBooked());
+        assertEquals(2, result.getFailed());
+        assertEquals("Doctor Not Found", result.getResults().get(0).getError());
+        assertEquals("User Not Found", result.getResults().get(1).getError());
+        assertTrue(appointmentSlot.isAvailable());
+        verify(doctorAvailabilityIndex, never()).put(any(AppointmentSlot.class));
+        verify(slotEventBroadcaster, never()).publish(any(AppointmentSlotResponseDTO.class));
     }
 
     @Test
     void getAppointmentById_Success() {
-        when(appointmentRepository.findById("apt123")).thenReturn(Optional.of(appointment));
+        when(appointmentRepository.findById(4123L)).thenReturn(Optional.of(appointment));
 
-        AppointmentResponseDTO result = appointmentService.getAppointmentById("apt123");
+        AppointmentResponseDTO result = appointmentService.getAppointmentById("4123");
 
         assertNotNull(result);
-        assertEquals("slot123", result.getAppointmentSlotId());
+        assertEquals("3123", result.getAppointmentSlotId());
 
-        verify(appointmentRepository).findById("apt123");
+        verify(appointmentRepository).findById(4123L);
     }
 
     @Test
     void getAppointmentById_NotFound() {
-        when(appointmentRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(appointmentRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(AppointmentNotFoundException.class, () -> {
-            appointmentService.getAppointmentById("nonexistent");
+            appointmentService.getAppointmentById("999");
         });
 
-        verify(appointmentRepository).findById("nonexistent");
+        verify(appointmentRepository).findById(999L);
     }
 
     @Test
     void updateAppointment_Success() {
-        when(appointmentRepository.findById("apt123")).thenReturn(Optional.of(appointment));
+        when(appointmentRepository.findById(4123L)).thenReturn(Optional.of(appointment));
         when(appointmentRepository.save(any(Appointment.class))).thenReturn(appointment);
 
-        AppointmentResponseDTO result = appointmentService.updateAppointment("apt123", appointmentRequestDTO);
+        AppointmentResponseDTO result = appointmentService.updateAppointment("4123", appointmentRequestDTO);
 
         assertNotNull(result);
-        assertEquals("slot123", result.getAppointmentSlotId());
+        assertEquals("3123", result.getAppointmentSlotId());
 
-        verify(appointmentRepository).findById("apt123");
+        verify(appointmentRepository).findById(4123L);
         verify(appointmentRepository).save(any(Appointment.class));
     }
 
     @Test
     void updateAppointment_NotFound() {
-        when(appointmentRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(appointmentRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(AppointmentNotFoundException.class, () -> {
-            appointmentService.updateAppointment("nonexistent", appointmentRequestDTO);
+            appointmentService.updateAppointment("999", appointmentRequestDTO);
         });
 
-        verify(appointmentRepository).findById("nonexistent");
+        verify(appointmentRepository).findById(999L);
         verify(appointmentRepository, never()).save(any(Appointment.class));
     }
 
     @Test
     void deleteAppointment_Success() {
-        when(appointmentRepository.findById("apt123")).thenReturn(Optional.of(appointment));
+        when(appointmentRepository.findById(4123L)).thenReturn(Optional.of(appointment));
         when(appointmentSlotRepository.save(any(AppointmentSlot.class))).thenReturn(appointmentSlot);
-        doNothing().when(appointmentRepository).deleteById("apt123");
+        doNothing().when(appointmentRepository).deleteById(4123L);
 
-        boolean result = appointmentService.deleteAppointment("apt123");
+        boolean result = appointmentService.deleteAppointment("4123");
 
         assertTrue(result);
-        verify(appointmentRepository).findById("apt123");
+        verify(appointmentRepository).findById(4123L);
         verify(appointmentSlotRepository).save(any(AppointmentSlot.class));
-        verify(appointmentRepository).deleteById("apt123");
+        verify(appointmentRepository).deleteById(4123L);
+        verify(slotEventBroadcaster).publish(argThat(AppointmentSlotResponseDTO::isAvailable));
     }
 
     @Test
     void deleteAppointment_NotFound() {
-        when(appointmentRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(appointmentRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(AppointmentNotFoundException.class, () -> {
-            appointmentService.deleteAppointment("nonexistent");
+            appointmentService.deleteAppointment("999");
         });
 
-        verify(appointmentRepository).findById("nonexistent");
+        verify(appointmentRepository).findById(999L);
         verify(appointmentSlotRepository, never()).save(any(AppointmentSlot.class));
-        verify(appointmentRepository, never()).deleteById(anyString());
+        verify(appointmentRepository, never()).deleteById(anyLong());
     }
 
     @Test
-    void getAllAppointments_Success() {
-        when(appointmentRepository.findAll()).thenReturn(appointmentList);
+    void getAppointmentsPage_AfterCursor_LastPageHasNoCursor() {
+        when(appointmentRepository.findByIdGreaterThanOrderByIdAsc(4100L, Limit.of(51))).thenReturn(appointmentList);
 
-        List<AppointmentResponseDTO> result = appointmentService.getAllAppointments();
-
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("slot123", result.get(0).getAppointmentSlotId());
+        CursorPageDTO<AppointmentResponseDTO> result = appointmentService.getAppointmentsPage("4100", 50);
 
-        verify(appointmentRepository).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals("3123", result.getItems().get(0).getAppointmentSlotId());
+        assertNull(result.getNextCursor());
     }
 
     @Test
     void getAppointmentsByUserId_Success() {
-        when(appointmentRepository.findByPatientId("user456")).thenReturn(appointmentList);
+        when(appointmentRepository.findByPatientId(1456L)).thenReturn(appointmentList);
 
-        List<AppointmentResponseDTO> result = appointmentService.getAppointmentsByUserId("user456");
+        List<AppointmentResponseDTO> result = appointmentService.getAppointmentsByUserId("1456");
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("user456", result.get(0).getPatientId());
+        assertEquals("1456", result.get(0).getPatientId());
 
-        verify(appointmentRepository).findByPatientId("user456");
+        verify(appointmentRepository).findByPatientId(1456L);
     }
 
     @Test
     void getAppointmentsByDoctorId_Success() {
-        when(appointmentRepository.findByDoctorId("doc123")).thenReturn(appointmentList);
+        when(appointmentRepository.findByDoctorId(2123L)).thenReturn(appointmentList);
 
-        List<AppointmentResponseDTO> result = appointmentService.getAppointmentsByDoctorId("doc123");
+        List<AppointmentResponseDTO> result = appointmentService.getAppointmentsByDoctorId("2123");
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("doc123", result.get(0).getDoctorId());
+        assertEquals("2123", result.get(0).getDoctorId());
 
-        verify(appointmentRepository).findByDoctorId("doc123");
+        verify(appointmentRepository).findByDoctorId(2123L);
     }
 
     @Test
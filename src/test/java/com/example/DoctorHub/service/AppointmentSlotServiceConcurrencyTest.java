@@ -0,0 +1,172 @@
+package com.example.DoctorHub.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.DoctorHub.Enum.RecurrencePattern;
+import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.cache.DaySlotCache;
+import com.example.DoctorHub.cache.DoctorExistenceCache;
+import com.example.DoctorHub.dto.AppointmentSlotRequestDTO;
+import com.example.DoctorHub.dto.RecurringSlotRequestDTO;
+import com.example.DoctorHub.events.SlotEventBroadcaster;
+import com.example.DoctorHub.index.DoctorAvailabilityIndex;
+import com.example.DoctorHub.index.SlotIntervalIndex;
+import com.example.DoctorHub.mapper.Mapper;
+import com.example.DoctorHub.model.AppointmentSlot;
+import com.example.DoctorHub.model.Doctor;
+import com.example.DoctorHub.model.User;
+import com.example.DoctorHub.repository.AppointmentSlotRepository;
+import com.example.DoctorHub.repository.DoctorRepository;
+import com.example.DoctorHub.repository.UserRepository;
+
+/**
+ * Creates overlapping slots for one doctor from many threads through the real service, index
+ * and repositories on H2, and checks that no two written slots overlap.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({ AppointmentSlotServiceImpl.class, SlotIntervalIndex.class, DoctorAvailabilityIndex.class,
+          DaySlotCache.class, SlotEventBroadcaster.class, DoctorExistenceCache.class })
+// The worker threads must see committed rows, so the test does not run in a rolled-back transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AppointmentSlotServiceConcurrencyTest {
+
+    private static final int REQUESTS = 32;
+
+    @Autowired
+    private IAppointmentSlotService appointmentSlotService;
+
+    @Autowired
+    private AppointmentSlotRepository appointmentSlotRepository;
+
+    @Autowired
+    private DoctorRepository doctorRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setName("Dr. Concurrent");
+        user.setEmail("dr.concurrent@example.com");
+        user.setPassword("password123");
+        user.setRole(Role.DOCTOR);
+
+        Doctor newDoctor = new Doctor();
+        newDoctor.setUser(user);
+        newDoctor.setSpecialization("Cardiology");
+        newDoctor.setLicenseNumber("LIC-CONCURRENT");
+        doctor = doctorRepository.save(newDoctor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        appointmentSlotRepository.deleteAllInBatch();
+        doctorRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void createAppointmentSlot_ConcurrentOverlappingCreatesSaveOneSlot() throws Exception {
+        // Every request is an hour long and starts within the same half hour, so each pair overlaps
+        LocalDateTime base = LocalDateTime.of(LocalDate.now().plusDays(1), LocalTime.of(10, 0));
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(REQUESTS)) {
+            for (int i = 0; i < REQUESTS; i++) {
+                LocalDateTime start = base.plusMinutes(i % 30);
+                AppointmentSlotRequestDTO request = new AppointmentSlotRequestDTO(Mapper.toIdString(doctor.getId()), start, start.plusHours(1));
+                executor.submit(() -> {
+                    startSignal.await();
+                    try {
+                        appointmentSlotService.createAppointmentSlot(request);
+                        created.incrementAndGet();
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            startSignal.countDown();
+        }
+
+        assertEquals(1, created.get());
+        assertEquals(REQUESTS - 1, rejected.get());
+        assertEquals(0, failed.get());
+        assertEquals(1, appointmentSlotRepository.findByDoctorId(doctor.getId()).size());
+    }
+
+    @Test
+    void createRecurringAppointmentSlots_ConcurrentSeriesAndCreatesNeverOverlap() throws Exception {
+        // Each series covers the same mornings shifted by a few minutes, and each single create
+        // lands inside them, so every request competes with every other one
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        String doctorId = Mapper.toIdString(doctor.getId());
+        CountDownLatch startSignal = new CountDownLatch(1);
+        AtomicInteger failed = new AtomicInteger();
+        try (ExecutorService executor = Executors.newFixedThreadPool(REQUESTS)) {
+            for (int i = 0; i < REQUESTS; i++) {
+                int offset = i % 15;
+                boolean series = i % 2 == 0;
+                executor.submit(() -> {
+                    startSignal.await();
+                    try {
+                        if (series) {
+                            appointmentSlotService.createRecurringAppointmentSlots(new RecurringSlotRequestDTO(doctorId,
+                                firstDay, firstDay.plusDays(2), LocalTime.of(9, offset), LocalTime.of(12, offset), 30,
+                                RecurrencePattern.DAILY, null));
+                        } else {
+                            LocalDateTime start = LocalDateTime.of(firstDay.plusDays(offset % 3), LocalTime.of(10, offset));
+                            appointmentSlotService.createAppointmentSlot(new AppointmentSlotRequestDTO(doctorId, start, start.plusMinutes(30)));
+                        }
+                    } catch (IllegalArgumentException e) {
+                        // A single create that lost to a series or another create
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+            startSignal.countDown();
+        }
+
+        assertEquals(0, failed.get());
+        List<AppointmentSlot> saved = new ArrayList<>(appointmentSlotRepository.findByDoctorId(doctor.getId()));
+        assertFalse(saved.isEmpty());
+        saved.sort(Comparator.comparing(AppointmentSlot::getStartTime));
+        for (int i = 1; i < saved.size(); i++) {
+            assertFalse(saved.get(i).getStartTime().isBefore(saved.get(i - 1).getEndTime()),
+                "Slot " + saved.get(i).getId() + " overlaps slot " + saved.get(i - 1).getId());
+        }
+    }
+}
@@ -2,27 +2,46 @@ package com.example.DoctorHub.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.example.DoctorHub.cache.DaySlotCache;
+import com.example.DoctorHub.cache.DoctorExistenceCache;
 import com.example.DoctorHub.dto.AppointmentSlotRequestDTO;
 import com.example.DoctorHub.dto.AppointmentSlotResponseDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
+import com.example.DoctorHub.dto.DaySlotsDTO;
+import com.example.DoctorHub.dto.RecurringSlotRequestDTO;
+import com.example.DoctorHub.dto.RecurringSlotResponseDTO;
+import com.example.DoctorHub.Enum.RecurrencePattern;
 import com.example.DoctorHub.exception.AppointmentSlotNotFoundException;
 import com.example.DoctorHub.exception.DoctorNotFoundException;
+import com.example.DoctorHub.events.SlotEventBroadcaster;
+import com.example.DoctorHub.index.DoctorAvailabilityIndex;
+import com.example.DoctorHub.index.SlotIntervalIndex;
 import com.example.DoctorHub.model.AppointmentSlot;
 import com.example.DoctorHub.model.Doctor;
 import com.example.DoctorHub.model.User;
@@ -38,6 +57,24 @@ class AppointmentSlotServiceImplTest {
     @Mock
     private DoctorRepository doctorRepository;
 
+    @Mock
+    private SlotIntervalIndex slotIntervalIndex;
+
+    @Mock
+    private SlotIntervalIndex.Reservation reservation;
+
+    @Mock
+    private DoctorAvailabilityIndex doctorAvailabilityIndex;
+
+    @Mock
+    private SlotEventBroadcaster slotEventBroadcaster;
+
+    @Spy
+    private DaySlotCache daySlotCache = new DaySlotCache(100, Duration.ofMinutes(5));
+
+    @Spy
+    private DoctorExistenceCache doctorExistenceCache = new DoctorExistenceCache(100, Duration.ofMinutes(30), Duration.ofSeconds(30));
+
     @InjectMocks
     private AppointmentSlotServiceImpl appointmentSlotService;
 
@@ -52,19 +89,19 @@ class AppointmentSlotServiceImplTest {
     void setUp() {
         // Setup User
         doctorUser = new User();
-        doctorUser.setId("user123");
+        doctorUser.setId(1123L);
         doctorUser.setName("Dr. Smith");
         doctorUser.setEmail("dr.smith@example.com");
 
         // Setup Doctor
         doctor = new Doctor();
-        doctor.setId("doc123");
+        doctor.setId(2123L);
         doctor.setUser(doctorUser);
         doctor.setSpecialization("Cardiology");
 
         // Setup AppointmentSlot
         appointmentSlot = new AppointmentSlot();
-        appointmentSlot.setId("slot123");
+        appointmentSlot.setId(3123L);
         appointmentSlot.setDoctor(doctor);
         appointmentSlot.setStartTime(LocalDateTime.of(2024, 1, 15, 9, 0));
         appointmentSlot.setEndTime(LocalDateTime.of(2024, 1, 15, 10, 0));
@@ -72,12 +109,12 @@ class AppointmentSlotServiceImplTest {
 
         // Setup DTOs
         appointmentSlotRequestDTO = new AppointmentSlotRequestDTO();
-        appointmentSlotRequestDTO.setDoctorId("doc123");
-        appointmentSlotRequestDTO.setStartTime(LocalDateTime.of(2024, 1, 15, 9, 0));
-        appointmentSlotRequestDTO.setEndDateTime(LocalDateTime.of(2024, 1, 15, 10, 0));
+        appointmentSlotRequestDTO.setDoctorId("2123");
+        appointmentSlotRequestDTO.setStartTime(LocalDateTime.of(2030, 1, 15, 9, 0));
+        appointmentSlotRequestDTO.setEndDateTime(LocalDateTime.of(2030, 1, 15, 10, 0));
 
         appointmentSlotResponseDTO = new AppointmentSlotResponseDTO();
-        appointmentSlotResponseDTO.setDoctorId("doc123");
+        appointmentSlotResponseDTO.setDoctorId("2123");
         appointmentSlotResponseDTO.setStartTime(LocalDateTime.of(2024, 1, 15, 9, 0));
         appointmentSlotResponseDTO.setEndDateTime(LocalDateTime.of(2024, 1, 15, 10, 0));
         appointmentSlotResponseDTO.setAvailable(true);
@@ -87,32 +124,51 @@ class AppointmentSlotServiceImplTest {
 
     @Test
     void createAppointmentSlot_Success() {
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
-        when(appointmentSlotRepository.findByDoctorIdAndDateAndTimeRange(anyString(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Collections.emptyList());
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(slotIntervalIndex.tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(reservation));
         when(appointmentSlotRepository.save(any(AppointmentSlot.class))).thenReturn(appointmentSlot);
 
         AppointmentSlotResponseDTO result = appointmentSlotService.createAppointmentSlot(appointmentSlotRequestDTO);
 
         assertNotNull(result);
-        assertEquals("doc123", result.getDoctorId());
+        assertEquals("2123", result.getDoctorId());
         assertTrue(result.isAvailable());
 
-        verify(doctorRepository).findById("doc123");
-        verify(appointmentSlotRepository).findByDoctorIdAndDateAndTimeRange(anyString(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(doctorRepository).findById(2123L);
+        verify(appointmentSlotRepository, never()).findByDoctorIdAndDateAndTimeRange(anyLong(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class));
         verify(appointmentSlotRepository).save(any(AppointmentSlot.class));
+        verify(reservation).confirm(appointmentSlot);
+        verify(reservation, never()).release();
+        verify(doctorAvailabilityIndex).put(appointmentSlot);
+    }
+
+    @Test
+    void createAppointmentSlot_FailedSaveReleasesReservation() {
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(slotIntervalIndex.tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(reservation));
+        when(appointmentSlotRepository.save(any(AppointmentSlot.class))).thenThrow(new IllegalStateException("database down"));
+
+        assertThrows(IllegalStateException.class, () -> {
+            appointmentSlotService.createAppointmentSlot(appointmentSlotRequestDTO);
+        });
+
+        verify(reservation).release();
+        verify(reservation, never()).confirm(any(AppointmentSlot.class));
+        verify(doctorAvailabilityIndex, never()).put(any(AppointmentSlot.class));
     }
 
     @Test
     void createAppointmentSlot_DoctorNotFound() {
-        when(doctorRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(doctorRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(DoctorNotFoundException.class, () -> {
-            appointmentSlotRequestDTO.setDoctorId("nonexistent");
+            appointmentSlotRequestDTO.setDoctorId("999");
             appointmentSlotService.createAppointmentSlot(appointmentSlotRequestDTO);
         });
 
-        verify(doctorRepository).findById("nonexistent");
+        verify(doctorRepository).findById(999L);
         verify(appointmentSlotRepository, never()).save(any(AppointmentSlot.class));
     }
 
@@ -125,7 +181,7 @@ class AppointmentSlotServiceImplTest {
             appointmentSlotService.createAppointmentSlot(appointmentSlotRequestDTO);
         });
 
-        verify(doctorRepository, never()).findById(anyString());
+        verify(doctorRepository, never()).findById(anyLong());
         verify(appointmentSlotRepository, never()).save(any(AppointmentSlot.class));
     }
 
@@ -137,231 +193,433 @@ class AppointmentSlotServiceImplTest {
             appointmentSlotService.createAppointmentSlot(appointmentSlotRequestDTO);
         });
 
-        verify(doctorRepository, never()).findById(anyString());
+        verify(doctorRepository, never()).findById(anyLong());
         verify(appointmentSlotRepository, never()).save(any(AppointmentSlot.class));
     }
 
     @Test
     void createAppointmentSlot_TimeConflict() {
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
-        when(appointmentSlotRepository.findByDoctorIdAndDateAndTimeRange(anyString(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(appointmentSlotList);
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(slotIntervalIndex.tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class, () -> {
             appointmentSlotService.createAppointmentSlot(appointmentSlotRequestDTO);
         });
 
-        verify(doctorRepository).findById("doc123");
-        verify(appointmentSlotRepository).findByDoctorIdAndDateAndTimeRange(anyString(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(doctorRepository).findById(2123L);
+        verify(slotIntervalIndex).tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class));
         verify(appointmentSlotRepository, never()).save(any(AppointmentSlot.class));
     }
 
+    @Test
+    void createRecurringAppointmentSlots_Weekdays() {
+        // 2030-01-14 is a Monday, so the week contains five weekdays
+        RecurringSlotRequestDTO request = recurringRequest(RecurrencePattern.WEEKDAYS,
+                LocalDate.of(2030, 1, 14), LocalDate.of(2030, 1, 20));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(slotIntervalIndex.tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(reservation));
+        when(appointmentSlotRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RecurringSlotResponseDTO result = appointmentSlotService.createRecurringAppointmentSlots(request);
+
+        assertEquals(20, result.getGeneratedSlots());
+        assertEquals(20, result.getCreatedSlots());
+        assertEquals(0, result.getConflictingSlots());
+        verify(appointmentSlotRepository).saveAll(anyIterable());
+        verify(appointmentSlotRepository, never()).save(any(AppointmentSlot.class));
+        verify(reservation, times(20)).confirm(any(AppointmentSlot.class));
+        verify(reservation, never()).release();
+    }
+
+    @Test
+    void createRecurringAppointmentSlots_FailedSaveReleasesReservations() {
+        RecurringSlotRequestDTO request = recurringRequest(RecurrencePattern.WEEKLY,
+                LocalDate.of(2030, 1, 14), LocalDate.of(2030, 1, 20));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(slotIntervalIndex.tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(reservation));
+        when(appointmentSlotRepository.saveAll(anyIterable())).thenThrow(new IllegalStateException("database down"));
+
+        assertThrows(IllegalStateException.class, () -> {
+            appointmentSlotService.createRecurringAppointmentSlots(request);
+        });
+
+        verify(reservation, times(4)).release();
+        verify(reservation, never()).confirm(any(AppointmentSlot.class));
+    }
+
+    @Test
+    void createRecurringAppointmentSlots_RollbackReleasesReservations() {
+        RecurringSlotRequestDTO request = recurringRequest(RecurrencePattern.WEEKLY,
+                LocalDate.of(2030, 1, 14), LocalDate.of(2030, 1, 20));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(slotIntervalIndex.tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(reservation));
+        when(appointmentSlotRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            appointmentSlotService.createRecurringAppointmentSlots(request);
+            // The reservations are held, and confirmed, before the transaction completes
+            verify(reservation, times(4)).confirm(any(AppointmentSlot.class));
+            verify(reservation, never()).release();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(reservation, times(4)).release();
+        verify(doctorAvailabilityIndex, never()).put(any(AppointmentSlot.class));
+    }
+
+    @Test
+    void createRecurringAppointmentSlots_SkipsConflicts() {
+        RecurringSlotRequestDTO request = recurringRequest(RecurrencePattern.WEEKLY,
+                LocalDate.of(2030, 1, 14), LocalDate.of(2030, 2, 3));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(slotIntervalIndex.tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(reservation));
+        when(slotIntervalIndex.tryReserve("2123", LocalDateTime.of(2030, 1, 21, 9, 0), LocalDateTime.of(2030, 1, 21, 9, 15)))
+                .thenReturn(Optional.empty());
+        when(appointmentSlotRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RecurringSlotResponseDTO result = appointmentSlotService.createRecurringAppointmentSlots(request);
+
+        assertEquals(12, result.getGeneratedSlots());
+        assertEquals(11, result.getCreatedSlots());
+        assertEquals(1, result.getConflictingSlots());
+    }
+
+    @Test
+    void createRecurringAppointmentSlots_CustomWithoutDays() {
+        RecurringSlotRequestDTO request = recurringRequest(RecurrencePattern.CUSTOM,
+                LocalDate.of(2030, 1, 14), LocalDate.of(2030, 1, 20));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            appointmentSlotService.createRecurringAppointmentSlots(request);
+        });
+
+        verify(appointmentSlotRepository, never()).saveAll(anyIterable());
+    }
+
+    @Test
+    void createRecurringAppointmentSlots_CustomDays() {
+        RecurringSlotRequestDTO request = recurringRequest(RecurrencePattern.CUSTOM,
+                LocalDate.of(2030, 1, 14), LocalDate.of(2030, 1, 20));
+        request.setDaysOfWeek(Set.of(DayOfWeek.TUESDAY, DayOfWeek.SATURDAY));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(slotIntervalIndex.tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(reservation));
+        when(appointmentSlotRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        RecurringSlotResponseDTO result = appointmentSlotService.createRecurringAppointmentSlots(request);
+
+        assertEquals(8, result.getCreatedSlots());
+    }
+
+    @Test
+    void createRecurringAppointmentSlots_HorizonTooLong() {
+        RecurringSlotRequestDTO request = recurringRequest(RecurrencePattern.DAILY,
+                LocalDate.of(2030, 1, 14), LocalDate.of(2031, 6, 1));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            appointmentSlotService.createRecurringAppointmentSlots(request);
+        });
+
+        verify(doctorRepository, never()).findById(anyLong());
+    }
+
     @Test
     void getAppointmentSlotById_Success() {
-        when(appointmentSlotRepository.findById("slot123")).thenReturn(Optional.of(appointmentSlot));
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
 
-        AppointmentSlotResponseDTO result = appointmentSlotService.getAppointmentSlotById("slot123");
+        AppointmentSlotResponseDTO result = appointmentSlotService.getAppointmentSlotById("3123");
 
         assertNotNull(result);
-        assertEquals("doc123", result.getDoctorId());
+        assertEquals("2123", result.getDoctorId());
 
-        verify(appointmentSlotRepository).findById("slot123");
+        verify(appointmentSlotRepository).findById(3123L);
     }
 
     @Test
     void getAppointmentSlotById_NotFound() {
-        when(appointmentSlotRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(appointmentSlotRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(AppointmentSlotNotFoundException.class, () -> {
-            appointmentSlotService.getAppointmentSlotById("nonexistent");
+            appointmentSlotService.getAppointmentSlotById("999");
         });
 
-        verify(appointmentSlotRepository).findById("nonexistent");
+        verify(appointmentSlotRepository).findById(999L);
     }
 
     @Test
     void updateAppointmentSlot_Success() {
-        when(appointmentSlotRepository.findById("slot123")).thenReturn(Optional.of(appointmentSlot));
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
+        when(slotIntervalIndex.tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class), eq("3123")))
+                .thenReturn(Optional.of(reservation));
         when(appointmentSlotRepository.save(any(AppointmentSlot.class))).thenReturn(appointmentSlot);
 
-        AppointmentSlotResponseDTO result = appointmentSlotService.updateAppointmentSlot("slot123", appointmentSlotRequestDTO);
+        AppointmentSlotResponseDTO result = appointmentSlotService.updateAppointmentSlot("3123", appointmentSlotRequestDTO);
 
         assertNotNull(result);
-        assertEquals("doc123", result.getDoctorId());
+        assertEquals("2123", result.getDoctorId());
 
-        verify(appointmentSlotRepository).findById("slot123");
+        verify(appointmentSlotRepository).findById(3123L);
         verify(appointmentSlotRepository).save(any(AppointmentSlot.class));
+        // The slot stays with its doctor, so confirming the reservation replaces its old interval
+        verify(reservation).confirm(appointmentSlot);
+        verify(slotIntervalIndex, never()).remove("2123", "3123");
+        verify(doctorAvailabilityIndex).put(appointmentSlot);
+    }
+
+    @Test
+    void updateAppointmentSlot_TimeConflict() {
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
+        when(slotIntervalIndex.tryReserve(eq("2123"), any(LocalDateTime.class), any(LocalDateTime.class), eq("3123")))
+                .thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            appointmentSlotService.updateAppointmentSlot("3123", appointmentSlotRequestDTO);
+        });
+
+        verify(appointmentSlotRepository, never()).save(any(AppointmentSlot.class));
     }
 
     @Test
     void updateAppointmentSlot_NotFound() {
-        when(appointmentSlotRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(appointmentSlotRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(AppointmentSlotNotFoundException.class, () -> {
-            appointmentSlotService.updateAppointmentSlot("nonexistent", appointmentSlotRequestDTO);
+            appointmentSlotService.updateAppointmentSlot("999", appointmentSlotRequestDTO);
         });
 
-        verify(appointmentSlotRepository).findById("nonexistent");
+        verify(appointmentSlotRepository).findById(999L);
         verify(appointmentSlotRepository, never()).save(any(AppointmentSlot.class));
     }
 
     @Test
     void updateAppointmentSlot_InvalidTimeRange() {
-        when(appointmentSlotRepository.findById("slot123")).thenReturn(Optional.of(appointmentSlot));
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
         appointmentSlotRequestDTO.setStartTime(LocalDateTime.of(2024, 1, 15, 10, 0));
         appointmentSlotRequestDTO.setEndDateTime(LocalDateTime.of(2024, 1, 15, 9, 0));
 
         assertThrows(IllegalArgumentException.class, () -> {
-            appointmentSlotService.updateAppointmentSlot("slot123", appointmentSlotRequestDTO);
+            appointmentSlotService.updateAppointmentSlot("3123", appointmentSlotRequestDTO);
         });
 
-        verify(appointmentSlotRepository).findById("slot123");
+        verify(appointmentSlotRepository).findById(3123L);
         verify(appointmentSlotRepository, never()).save(any(AppointmentSlot.class));
     }
 
     @Test
     void deleteAppointmentSlot_Success() {
-        when(appointmentSlotRepository.findById("slot123")).thenReturn(Optional.of(appointmentSlot));
-        doNothing().when(appointmentSlotRepository).deleteById("slot123");
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
+        doNothing().when(appointmentSlotRepository).deleteById(3123L);
 
-        boolean result = appointmentSlotService.deleteAppointmentSlot("slot123");
+        boolean result = appointmentSlotService.deleteAppointmentSlot("3123");
 
         assertTrue(result);
-        verify(appointmentSlotRepository).findById("slot123");
-        verify(appointmentSlotRepository).deleteById("slot123");
+        verify(appointmentSlotRepository).findById(3123L);
+        verify(appointmentSlotRepository).deleteById(3123L);
+        verify(slotIntervalIndex).remove("2123", "3123");
+        verify(slotEventBroadcaster).publishRemoved("2123", LocalDate.of(2024, 1, 15), "3123");
     }
 
     @Test
     void deleteAppointmentSlot_NotFound() {
-        when(appointmentSlotRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(appointmentSlotRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(AppointmentSlotNotFoundException.class, () -> {
-            appointmentSlotService.deleteAppointmentSlot("nonexistent");
+            appointmentSlotService.deleteAppointmentSlot("999");
         });
 
-        verify(appointmentSlotRepository).findById("nonexistent");
-        verify(appointmentSlotRepository, never()).deleteById(anyString());
+        verify(appointmentSlotRepository).findById(999L);
+        verify(appointmentSlotRepository, never()).deleteById(anyLong());
     }
 
     @Test
     void deleteAppointmentSlot_BookedSlot() {
         appointmentSlot.setAvailable(false);
-        when(appointmentSlotRepository.findById("slot123")).thenReturn(Optional.of(appointmentSlot));
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
 
         assertThrows(IllegalStateException.class, () -> {
-            appointmentSlotService.deleteAppointmentSlot("slot123");
+            appointmentSlotService.deleteAppointmentSlot("3123");
         });
 
-        verify(appointmentSlotRepository).findById("slot123");
-        verify(appointmentSlotRepository, never()).deleteById(anyString());
+        verify(appointmentSlotRepository).findById(3123L);
+        verify(appointmentSlotRepository, never()).deleteById(anyLong());
     }
 
     @Test
-    void getAllAppointmentSlots_Success() {
-        when(appointmentSlotRepository.findAll()).thenReturn(appointmentSlotList);
-
-        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAllAppointmentSlots();
+    void getAppointmentSlotsPage_FirstPage_ReturnsSlots() {
+        when(appointmentSlotRepository.findAllByOrderByIdAsc(Limit.of(51))).thenReturn(appointmentSlotList);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("doc123", result.get(0).getDoctorId());
+        CursorPageDTO<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsPage(null, 50);
 
-        verify(appointmentSlotRepository).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals("2123", result.getItems().get(0).getDoctorId());
+        assertNull(result.getNextCursor());
     }
 
     @Test
     void getAppointmentSlotsByDoctorId_Success() {
-        when(doctorRepository.existsById("doc123")).thenReturn(true);
-        when(appointmentSlotRepository.findByDoctorId("doc123")).thenReturn(appointmentSlotList);
+        when(doctorRepository.existsById(2123L)).thenReturn(true);
+        when(appointmentSlotRepository.findByDoctorId(2123L)).thenReturn(appointmentSlotList);
 
-        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorId("doc123");
+        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorId("2123");
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("doc123", result.get(0).getDoctorId());
+        assertEquals("2123", result.get(0).getDoctorId());
 
-        verify(doctorRepository).existsById("doc123");
-        verify(appointmentSlotRepository).findByDoctorId("doc123");
+        verify(doctorRepository).existsById(2123L);
+        verify(appointmentSlotRepository).findByDoctorId(2123L);
     }
 
     @Test
     void getAppointmentSlotsByDoctorId_DoctorNotFound() {
-        when(doctorRepository.existsById("nonexistent")).thenReturn(false);
+        when(doctorRepository.existsById(999L)).thenReturn(false);
 
         assertThrows(DoctorNotFoundException.class, () -> {
-            appointmentSlotService.getAppointmentSlotsByDoctorId("nonexistent");
+            appointmentSlotService.getAppointmentSlotsByDoctorId("999");
         });
 
-        verify(doctorRepository).existsById("nonexistent");
-        verify(appointmentSlotRepository, never()).findByDoctorId(anyString());
+        verify(doctorRepository).existsById(999L);
+        verify(appointmentSlotRepository, never()).findByDoctorId(anyLong());
+    }
+
+    @Test
+    void getAppointmentSlotsByDoctorId_DoctorExistenceCached() {
+        when(doctorRepository.existsById(2123L)).thenReturn(true);
+        when(appointmentSlotRepository.findByDoctorId(2123L)).thenReturn(appointmentSlotList);
+
+        appointmentSlotService.getAppointmentSlotsByDoctorId("2123");
+        appointmentSlotService.getAppointmentSlotsByDoctorId("2123");
+
+        verify(doctorRepository, times(1)).existsById(2123L);
+        verify(appointmentSlotRepository, times(2)).findByDoctorId(2123L);
     }
 
     @Test
     void getAppointmentSlotsByDoctorIdAndDate_Success() {
-        when(doctorRepository.existsById("doc123")).thenReturn(true);
-        when(appointmentSlotRepository.findByDoctorIdAndDate("doc123", LocalDate.of(2024, 1, 15))).thenReturn(appointmentSlotList);
+        when(doctorRepository.existsById(2123L)).thenReturn(true);
+        when(appointmentSlotRepository.findByDoctorIdAndDate(2123L, LocalDate.of(2024, 1, 15))).thenReturn(appointmentSlotList);
 
-        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorIdAndDate("doc123", "2024-01-15");
+        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorIdAndDate("2123", "2024-01-15");
 
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(doctorRepository).existsById("doc123");
-        verify(appointmentSlotRepository).findByDoctorIdAndDate("doc123", LocalDate.of(2024, 1, 15));
+        verify(doctorRepository).existsById(2123L);
+        verify(appointmentSlotRepository).findByDoctorIdAndDate(2123L, LocalDate.of(2024, 1, 15));
     }
 
     @Test
     void getAppointmentSlotsByDoctorIdAndDate_InvalidDate() {
-        when(doctorRepository.existsById("doc123")).thenReturn(true);
-
         assertThrows(IllegalArgumentException.class, () -> {
-            appointmentSlotService.getAppointmentSlotsByDoctorIdAndDate("doc123", "invalid-date");
+            appointmentSlotService.getAppointmentSlotsByDoctorIdAndDate("2123", "invalid-date");
         });
 
-        verify(doctorRepository).existsById("doc123");
-        verify(appointmentSlotRepository, never()).findByDoctorIdAndDate(anyString(), any(LocalDate.class));
+        verify(doctorRepository, never()).existsById(anyLong());
+        verify(appointmentSlotRepository, never()).findByDoctorIdAndDate(anyLong(), any(LocalDate.class));
+    }
+
+    @Test
+    void getDaySlots_SecondCall_ServedFromCache() {
+        when(doctorRepository.existsById(2123L)).thenReturn(true);
+        when(appointmentSlotRepository.findByDoctorIdAndDate(2123L, LocalDate.of(2024, 1, 15))).thenReturn(appointmentSlotList);
+
+        DaySlotsDTO first = appointmentSlotService.getDaySlots("2123", "2024-01-15");
+        DaySlotsDTO second = appointmentSlotService.getDaySlots("2123", "2024-01-15");
+
+        assertEquals(first.getEtag(), second.getEtag());
+        assertEquals("3123", second.getSlots().get(0).getId());
+        verify(doctorRepository, times(1)).existsById(2123L);
+        verify(appointmentSlotRepository, times(1)).findByDoctorIdAndDate(2123L, LocalDate.of(2024, 1, 15));
+    }
+
+    @Test
+    void getDaySlots_UnknownDoctor_DayNotCachedButAbsenceIs() {
+        when(doctorRepository.existsById(999L)).thenReturn(false);
+
+        assertThrows(DoctorNotFoundException.class, () -> appointmentSlotService.getDaySlots("999", "2024-01-15"));
+        assertThrows(DoctorNotFoundException.class, () -> appointmentSlotService.getDaySlots("999", "2024-01-15"));
+
+        verify(doctorRepository, times(1)).existsById(999L);
+        verify(appointmentSlotRepository, never()).findByDoctorIdAndDate(anyLong(), any(LocalDate.class));
+    }
+
+    @Test
+    void getDaySlots_SlotDeleted_CachedDayPatchedAndETagChanges() {
+        when(doctorRepository.existsById(2123L)).thenReturn(true);
+        when(appointmentSlotRepository.findByDoctorIdAndDate(2123L, LocalDate.of(2024, 1, 15))).thenReturn(appointmentSlotList);
+        when(appointmentSlotRepository.findById(3123L)).thenReturn(Optional.of(appointmentSlot));
+        DaySlotsDTO before = appointmentSlotService.getDaySlots("2123", "2024-01-15");
+
+        appointmentSlotService.deleteAppointmentSlot("3123");
+        DaySlotsDTO after = appointmentSlotService.getDaySlots("2123", "2024-01-15");
+
+        assertTrue(after.getSlots().isEmpty());
+        assertNotEquals(before.getEtag(), after.getEtag());
+        verify(appointmentSlotRepository, times(1)).findByDoctorIdAndDate(2123L, LocalDate.of(2024, 1, 15));
     }
 
     @Test
     void getAppointmentSlotsByDoctorIdAndDateAndTime_Success() {
-        when(doctorRepository.existsById("doc123")).thenReturn(true);
-        when(appointmentSlotRepository.findByDoctorIdAndDateAndTimeRange(anyString(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+        when(doctorRepository.existsById(2123L)).thenReturn(true);
+        when(appointmentSlotRepository.findByDoctorIdAndDateAndTimeRange(anyLong(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(appointmentSlotList);
 
-        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorIdAndDateAndTime("doc123", "2024-01-15", "09:00");
+        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorIdAndDateAndTime("2123", "2024-01-15", "09:00");
 
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(doctorRepository).existsById("doc123");
-        verify(appointmentSlotRepository).findByDoctorIdAndDateAndTimeRange(anyString(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(doctorRepository).existsById(2123L);
+        verify(appointmentSlotRepository).findByDoctorIdAndDateAndTimeRange(anyLong(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
     void getAppointmentSlotsByDoctorIdAndDateAndTime_InvalidTime() {
-        when(doctorRepository.existsById("doc123")).thenReturn(true);
+        when(doctorRepository.existsById(2123L)).thenReturn(true);
 
         assertThrows(IllegalArgumentException.class, () -> {
-            appointmentSlotService.getAppointmentSlotsByDoctorIdAndDateAndTime("doc123", "2024-01-15", "invalid-time");
+            appointmentSlotService.getAppointmentSlotsByDoctorIdAndDateAndTime("2123", "2024-01-15", "invalid-time");
         });
 
-        verify(doctorRepository).existsById("doc123");
-        verify(appointmentSlotRepository, never()).findByDoctorIdAndDateAndTimeRange(anyString(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(doctorRepository).existsById(2123L);
+        verify(appointmentSlotRepository, never()).findByDoctorIdAndDateAndTimeRange(anyLong(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class));
     }
 
     @Test
     void getAppointmentSlotsByDoctorIdAndDateAndTimeAndIsAvailable_Success() {
-        when(doctorRepository.existsById("doc123")).thenReturn(true);
-        when(appointmentSlotRepository.findByDoctorIdAndDateAndTimeRange(anyString(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class)))
+        when(doctorRepository.existsById(2123L)).thenReturn(true);
+        when(appointmentSlotRepository.findByDoctorIdAndDateAndTimeRange(anyLong(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(appointmentSlotList);
 
-        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorIdAndDateAndTimeAndIsAvailable("doc123", "2024-01-15", "09:00", true);
+        List<AppointmentSlotResponseDTO> result = appointmentSlotService.getAppointmentSlotsByDoctorIdAndDateAndTimeAndIsAvailable("2123", "2024-01-15", "09:00", true);
 
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(doctorRepository).existsById("doc123");
-        verify(appointmentSlotRepository).findByDoctorIdAndDateAndTimeRange(anyString(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class));
+        verify(doctorRepository).existsById(2123L);
+        verify(appointmentSlotRepository).findByDoctorIdAndDateAndTimeRange(anyLong(), any(LocalDate.class), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    private RecurringSlotRequestDTO recurringRequest(RecurrencePattern pattern, LocalDate startDate, LocalDate endDate) {
+        RecurringSlotRequestDTO request = new RecurringSlotRequestDTO();
+        request.setDoctorId("2123");
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        request.setDailyStartTime(LocalTime.of(9, 0));
+        request.setDailyEndTime(LocalTime.of(10, 0));
+        request.setSlotLengthMinutes(15);
+        request.setRecurrencePattern(pattern);
+        return request;
     }
 }
@@ -2,27 +2,46 @@ package com.example.DoctorHub.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.DoctorHub.cache.DaySlotCache;
+import com.example.DoctorHub.cache.DoctorExistenceCache;
+import com.example.DoctorHub.cache.DoctorProfileCache;
+import com.example.DoctorHub.dto.BulkImportResponseDTO;
+import com.example.DoctorHub.dto.CacheStatsDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.DoctorRequestDTO;
 import com.example.DoctorHub.dto.DoctorResponseDTO;
 import com.example.DoctorHub.exception.DoctorNotFoundException;
+import com.example.DoctorHub.index.DoctorAvailabilityIndex;
+import com.example.DoctorHub.index.EmailBloomFilter;
+import com.example.DoctorHub.index.SpecialtyIndex;
+import com.example.DoctorHub.index.TopRatedDoctorIndex;
+import com.example.DoctorHub.index.UserNameIndex;
 import com.example.DoctorHub.model.Doctor;
 import com.example.DoctorHub.model.User;
 import com.example.DoctorHub.repository.DoctorRepository;
+import com.example.DoctorHub.security.PasswordHasher;
 
 @ExtendWith(MockitoExtension.class)
 class DoctorServiceTest {
@@ -30,6 +49,36 @@ class DoctorServiceTest {
     @Mock
     private DoctorRepository doctorRepository;
 
+    @Mock
+    private DoctorAvailabilityIndex doctorAvailabilityIndex;
+
+    @Mock
+    private SpecialtyIndex specialtyIndex;
+
+    @Mock
+    private TopRatedDoctorIndex topRatedDoctorIndex;
+
+    @Mock
+    private DaySlotCache daySlotCache;
+
+    @Mock
+    private EmailBloomFilter emailBloomFilter;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UserNameIndex userNameIndex;
+
+    @Mock
+    private DoctorExistenceCache doctorExistenceCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private DoctorProfileCache doctorProfileCache = new DoctorProfileCache(100, Duration.ofMinutes(10));
+
     @InjectMocks
     private DoctorService doctorService;
 
@@ -42,13 +91,13 @@ class DoctorServiceTest {
     @BeforeEach
     void setUp() {
         user = new User();
-        user.setId("user123");
+        user.setId(1123L);
         user.setName("Dr. Smith");
         user.setEmail("dr.smith@example.com");
         user.setPassword("password123");
 
         doctor = new Doctor();
-        doctor.setId("doc123");
+        doctor.setId(2123L);
         doctor.setUser(user);
         doctor.setSpecialization("Cardiology");
         doctor.setLicenseNumber("LIC123456");
@@ -65,7 +114,7 @@ class DoctorServiceTest {
         doctorRequestDTO.setRating(4.5);
 
         doctorResponseDTO = new DoctorResponseDTO();
-        doctorResponseDTO.setId("doc123");
+        doctorResponseDTO.setId("2123");
         doctorResponseDTO.setName("Dr. Smith");
         doctorResponseDTO.setEmail("dr.smith@example.com");
         doctorResponseDTO.setSpecialty("Cardiology");
@@ -79,103 +128,211 @@ class DoctorServiceTest {
 
     @Test
     void createDoctor_Success() {
+        when(passwordHasher.hash(doctorRequestDTO.getPassword())).thenReturn("hashed");
         when(doctorRepository.save(any(Doctor.class))).thenReturn(doctor);
 
         DoctorResponseDTO result = doctorService.createDoctor(doctorRequestDTO);
 
         assertNotNull(result);
-        assertEquals("doc123", result.getId());
+        assertEquals("2123", result.getId());
         assertEquals("Dr. Smith", result.getName());
         assertEquals("Cardiology", result.getSpecialty());
 
         verify(doctorRepository).save(any(Doctor.class));
+        verify(emailBloomFilter).put(doctorRequestDTO.getEmail());
+        verify(doctorRepository).save(argThat((Doctor saved) -> "hashed".equals(saved.getUser().getPassword())));
+        verify(doctorAvailabilityIndex).putDoctor("2123", "Cardiology");
+        verify(specialtyIndex).put("2123", "Cardiology");
+        verify(topRatedDoctorIndex).put("2123", "Cardiology", 4.5);
+        verify(userNameIndex).put("1123", "Dr. Smith");
+        verify(doctorExistenceCache).markCreated(2123L);
+    }
+
+    @Test
+    void importDoctors_SavesAllAndIndexesEachDoctor() {
+        when(passwordHasher.hashAll(anyList())).thenReturn(List.of("hashed"));
+        when(doctorRepository.saveAll(anyList())).thenReturn(doctorList);
+
+        BulkImportResponseDTO result = doctorService.importDoctors(Arrays.asList(doctorRequestDTO));
+
+        assertEquals(1, result.getImported());
+        assertEquals(List.of("2123"), result.getIds());
+        verify(doctorRepository, never()).save(any(Doctor.class));
+        InOrder inOrder = inOrder(passwordHasher, transactionManager, doctorRepository);
+        inOrder.verify(passwordHasher).hashAll(anyList());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(doctorRepository).saveAll(anyList());
+        inOrder.verify(transactionManager).commit(any());
+        verify(doctorAvailabilityIndex).putDoctor("2123", "Cardiology");
+        verify(specialtyIndex).put("2123", "Cardiology");
+        verify(topRatedDoctorIndex).put("2123", "Cardiology", 4.5);
+    }
+
+    @Test
+    void importDoctors_DuplicateEmail_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> doctorService.importDoctors(Arrays.asList(doctorRequestDTO, doctorRequestDTO)));
+
+        verify(doctorRepository, never()).saveAll(anyList());
+        verifyNoInteractions(specialtyIndex);
     }
 
     @Test
     void getDoctorById_Success() {
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
 
-        DoctorResponseDTO result = doctorService.getDoctorById("doc123");
+        DoctorResponseDTO result = doctorService.getDoctorById("2123");
 
         assertNotNull(result);
-        assertEquals("doc123", result.getId());
+        assertEquals("2123", result.getId());
         assertEquals("Dr. Smith", result.getName());
 
-        verify(doctorRepository).findById("doc123");
+        verify(doctorRepository).findById(2123L);
+    }
+
+    @Test
+    void getDoctorById_CachesProfile() {
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+
+        doctorService.getDoctorById("2123");
+        doctorService.getDoctorRating("2123");
+        doctorService.verifyDoctorLicense("2123", "LIC123456");
+
+        verify(doctorRepository, times(1)).findById(2123L);
+        CacheStatsDTO stats = doctorService.getProfileCacheStats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    void getDoctorById_NotFoundIsNotCached() {
+        when(doctorRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(DoctorNotFoundException.class, () -> doctorService.getDoctorById("999"));
+        assertThrows(DoctorNotFoundException.class, () -> doctorService.getDoctorById("999"));
+
+        verify(doctorRepository, times(2)).findById(999L);
+    }
+
+    @Test
+    void updateDoctor_InvalidatesCachedProfile() {
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        when(doctorRepository.save(any(Doctor.class))).thenReturn(doctor);
+        doctorService.getDoctorById("2123");
+
+        doctorService.updateDoctor("2123", doctorRequestDTO);
+        doctorService.getDoctorById("2123");
+
+        verify(doctorProfileCache).invalidate("2123");
+        verify(doctorRepository, times(3)).findById(2123L);
     }
 
     @Test
     void getDoctorById_NotFound() {
-        when(doctorRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(doctorRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(DoctorNotFoundException.class, () -> {
-            doctorService.getDoctorById("nonexistent");
+            doctorService.getDoctorById("999");
         });
 
-        verify(doctorRepository).findById("nonexistent");
+        verify(doctorRepository).findById(999L);
+    }
+
+    @Test
+    void getDoctorById_NonNumericId_NotFoundWithoutQuery() {
+        assertThrows(DoctorNotFoundException.class, () -> doctorService.getDoctorById("doc123"));
+
+        verify(doctorRepository, never()).findById(anyLong());
     }
 
     @Test
     void updateDoctor_Success() {
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
         when(doctorRepository.save(any(Doctor.class))).thenReturn(doctor);
 
-        DoctorResponseDTO result = doctorService.updateDoctor("doc123", doctorRequestDTO);
+        DoctorResponseDTO result = doctorService.updateDoctor("2123", doctorRequestDTO);
 
         assertNotNull(result);
-        assertEquals("doc123", result.getId());
+        assertEquals("2123", result.getId());
 
-        verify(doctorRepository).findById("doc123");
+        verify(doctorRepository).findById(2123L);
         verify(doctorRepository).save(any(Doctor.class));
+        verify(topRatedDoctorIndex).put("2123", "Cardiology", 4.5);
     }
 
     @Test
     void updateDoctor_NotFound() {
-        when(doctorRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(doctorRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(DoctorNotFoundException.class, () -> {
-            doctorService.updateDoctor("nonexistent", doctorRequestDTO);
+            doctorService.updateDoctor("999", doctorRequestDTO);
         });
 
-        verify(doctorRepository).findById("nonexistent");
+        verify(doctorRepository).findById(999L);
         verify(doctorRepository, never()).save(any(Doctor.class));
     }
 
     @Test
     void deleteDoctor_Success() {
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
-        doNothing().when(doctorRepository).deleteById("doc123");
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
+        doNothing().when(doctorRepository).deleteById(2123L);
 
-        boolean result = doctorService.deleteDoctor("doc123");
+        boolean result = doctorService.deleteDoctor("2123");
 
         assertTrue(result);
-        verify(doctorRepository).findById("doc123");
-        verify(doctorRepository).deleteById("doc123");
+        verify(doctorRepository).findById(2123L);
+        verify(doctorRepository).deleteById(2123L);
+        verify(doctorProfileCache).invalidate("2123");
+        verify(topRatedDoctorIndex).remove("2123");
+        verify(daySlotCache).invalidateDoctor("2123");
+        verify(userNameIndex).remove("1123");
+        verify(doctorExistenceCache).markDeleted(2123L);
     }
 
     @Test
     void deleteDoctor_NotFound() {
-        when(doctorRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(doctorRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(DoctorNotFoundException.class, () -> {
-            doctorService.deleteDoctor("nonexistent");
+            doctorService.deleteDoctor("999");
         });
 
-        verify(doctorRepository).findById("nonexistent");
-        verify(doctorRepository, never()).deleteById(anyString());
+        verify(doctorRepository).findById(999L);
+        verify(doctorRepository, never()).deleteById(anyLong());
     }
 
     @Test
-    void getAllDoctors_Success() {
-        when(doctorRepository.findAll()).thenReturn(doctorList);
+    void getDoctorsPage_FirstPage_ReturnsNextCursor() {
+        Doctor nextDoctor = new Doctor();
+        nextDoctor.setId(2124L);
+        nextDoctor.setUser(user);
+        when(doctorRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(Arrays.asList(doctor, nextDoctor));
 
-        List<DoctorResponseDTO> result = doctorService.getAllDoctors();
+        CursorPageDTO<DoctorResponseDTO> result = doctorService.getDoctorsPage(null, 1);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("doc123", result.get(0).getId());
+        assertEquals(1, result.getItems().size());
+        assertEquals("2123", result.getItems().get(0).getId());
+        assertEquals("2123", result.getNextCursor());
+    }
+
+    @Test
+    void getDoctorsPage_AfterCursor_LastPageHasNoCursor() {
+        when(doctorRepository.findByIdGreaterThanOrderByIdAsc(2100L, Limit.of(51))).thenReturn(doctorList);
 
-        verify(doctorRepository).findAll();
+        CursorPageDTO<DoctorResponseDTO> result = doctorService.getDoctorsPage("2100", 50);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getDoctorsPage_ClampsOversizedLimit() {
+        when(doctorRepository.findAllByOrderByIdAsc(Limit.of(501))).thenReturn(doctorList);
+
+        doctorService.getDoctorsPage(null, 10_000);
+
+        verify(doctorRepository).findAllByOrderByIdAsc(Limit.of(501));
     }
 
     @Test
@@ -192,93 +349,183 @@ class DoctorServiceTest {
     }
 
     @Test
-    void getAvailableDoctors_NotImplemented() {
-        assertThrows(UnsupportedOperationException.class, () -> {
-            doctorService.getAvailableDoctors("2024-01-15", "09:00");
+    void getAvailableDoctors_Success() {
+        when(doctorAvailabilityIndex.findAvailableDoctorIds(LocalDateTime.of(2030, 1, 15, 9, 0), null, 20))
+            .thenReturn(Arrays.asList("2123"));
+        when(doctorRepository.findAllById(Arrays.asList(2123L))).thenReturn(doctorList);
+
+        List<DoctorResponseDTO> result = doctorService.getAvailableDoctors("2030-01-15", "09:00", 20);
+
+        assertEquals(1, result.size());
+        assertEquals("2123", result.get(0).getId());
+    }
+
+    @Test
+    void getAvailableDoctors_BySpecialty_SkipsDeletedDoctors() {
+        when(doctorAvailabilityIndex.findAvailableDoctorIds(LocalDateTime.of(2030, 1, 15, 9, 0), "Cardiology", 20))
+            .thenReturn(Arrays.asList("2999", "2123"));
+        when(doctorRepository.findAllById(Arrays.asList(2999L, 2123L))).thenReturn(doctorList);
+
+        List<DoctorResponseDTO> result = doctorService.getAvailableDoctors("2030-01-15", "09:00:00", "Cardiology", 20);
+
+        assertEquals(1, result.size());
+        assertEquals("2123", result.get(0).getId());
+    }
+
+    @Test
+    void getAvailableDoctors_CapsLimit() {
+        when(doctorAvailabilityIndex.findAvailableDoctorIds(LocalDateTime.of(2030, 1, 15, 9, 0), null, 500))
+            .thenReturn(Collections.emptyList());
+
+        List<DoctorResponseDTO> result = doctorService.getAvailableDoctors("2030-01-15", "09:00", 10_000);
+
+        assertTrue(result.isEmpty());
+        verify(doctorRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void searchDoctorsBySpecialty_KeepsIndexOrder() {
+        Doctor otherDoctor = new Doctor();
+        otherDoctor.setId(2456L);
+        otherDoctor.setUser(user);
+        otherDoctor.setSpecialization("Pediatric Cardiology");
+        when(specialtyIndex.search("card", 20)).thenReturn(Arrays.asList("2456", "2123"));
+        when(doctorRepository.findAllById(Arrays.asList(2456L, 2123L))).thenReturn(Arrays.asList(doctor, otherDoctor));
+
+        List<DoctorResponseDTO> result = doctorService.searchDoctorsBySpecialty("card", 20);
+
+        assertEquals(2, result.size());
+        assertEquals("2456", result.get(0).getId());
+        assertEquals("2123", result.get(1).getId());
+    }
+
+    @Test
+    void searchDoctorsBySpecialty_NoMatchesSkipsDatabase() {
+        when(specialtyIndex.search("xyz", 500)).thenReturn(Collections.emptyList());
+
+        List<DoctorResponseDTO> result = doctorService.searchDoctorsBySpecialty("xyz", 10_000);
+
+        assertTrue(result.isEmpty());
+        verify(doctorRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void getAvailableDoctors_InvalidDate() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            doctorService.getAvailableDoctors("15-01-2030", "09:00", 20);
         });
+
+        verify(doctorAvailabilityIndex, never()).findAvailableDoctorIds(any(), any(), anyInt());
     }
 
     @Test
     void verifyDoctorLicense_Success() {
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
 
-        boolean result = doctorService.verifyDoctorLicense("doc123", "LIC123456");
+        boolean result = doctorService.verifyDoctorLicense("2123", "LIC123456");
 
         assertTrue(result);
-        verify(doctorRepository).findById("doc123");
+        verify(doctorRepository).findById(2123L);
     }
 
     @Test
     void verifyDoctorLicense_WrongLicense() {
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
 
-        boolean result = doctorService.verifyDoctorLicense("doc123", "WRONGLICENSE");
+        boolean result = doctorService.verifyDoctorLicense("2123", "WRONGLICENSE");
 
         assertFalse(result);
-        verify(doctorRepository).findById("doc123");
+        verify(doctorRepository).findById(2123L);
     }
 
     @Test
     void verifyDoctorLicense_DoctorNotFound() {
-        when(doctorRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(doctorRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(DoctorNotFoundException.class, () -> {
-            doctorService.verifyDoctorLicense("nonexistent", "LIC123456");
+            doctorService.verifyDoctorLicense("999", "LIC123456");
         });
 
-        verify(doctorRepository).findById("nonexistent");
+        verify(doctorRepository).findById(999L);
     }
 
     @Test
     void updateDoctorAvailability_NotImplemented() {
         assertThrows(UnsupportedOperationException.class, () -> {
-            doctorService.updateDoctorAvailability("doc123", "schedule");
+            doctorService.updateDoctorAvailability("2123", "schedule");
         });
     }
 
     @Test
     void getDoctorRating_Success() {
-        when(doctorRepository.findById("doc123")).thenReturn(Optional.of(doctor));
+        when(doctorRepository.findById(2123L)).thenReturn(Optional.of(doctor));
 
-        double result = doctorService.getDoctorRating("doc123");
+        double result = doctorService.getDoctorRating("2123");
 
         assertEquals(4.5, result);
-        verify(doctorRepository).findById("doc123");
+        verify(doctorRepository).findById(2123L);
     }
 
     @Test
     void getDoctorRating_DoctorNotFound() {
-        when(doctorRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(doctorRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(DoctorNotFoundException.class, () -> {
-            doctorService.getDoctorRating("nonexistent");
+            doctorService.getDoctorRating("999");
         });
 
-        verify(doctorRepository).findById("nonexistent");
+        verify(doctorRepository).findById(999L);
     }
 
     @Test
     void getTopRatedDoctors_Success() {
-        when(doctorRepository.findAllOrderByRatingDescAndLimit(5)).thenReturn(doctorList);
+        when(topRatedDoctorIndex.top(5, null)).thenReturn(Arrays.asList("2123"));
+        when(doctorRepository.findAllById(any())).thenReturn(doctorList);
 
         List<DoctorResponseDTO> result = doctorService.getTopRatedDoctors(5);
 
         assertNotNull(result);
         assertEquals(1, result.size());
-        assertEquals("doc123", result.get(0).getId());
+        assertEquals("2123", result.get(0).getId());
 
-        verify(doctorRepository).findAllOrderByRatingDescAndLimit(5);
+        verify(topRatedDoctorIndex).top(5, null);
+        verify(doctorRepository, never()).findAllOrderByRatingDescAndLimit(anyInt());
     }
 
     @Test
     void getTopRatedDoctors_DefaultLimit() {
-        when(doctorRepository.findAllOrderByRatingDescAndLimit(10)).thenReturn(doctorList);
+        when(topRatedDoctorIndex.top(10, null)).thenReturn(Arrays.asList("2123"));
+        when(doctorRepository.findAllById(any())).thenReturn(doctorList);
 
         List<DoctorResponseDTO> result = doctorService.getTopRatedDoctors(10);
 
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(doctorRepository).findAllOrderByRatingDescAndLimit(10);
+        verify(topRatedDoctorIndex).top(10, null);
+    }
+
+    @Test
+    void getTopRatedDoctors_BySpecialtyServedFromProfileCache() {
+        when(topRatedDoctorIndex.top(5, "Cardiology")).thenReturn(Arrays.asList("2123"));
+        when(doctorRepository.findAllById(any())).thenReturn(doctorList);
+
+        doctorService.getTopRatedDoctors(5, "Cardiology");
+        List<DoctorResponseDTO> result = doctorService.getTopRatedDoctors(5, "Cardiology");
+
+        assertEquals(1, result.size());
+        assertEquals("2123", result.get(0).getId());
+
+        verify(doctorRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void getTopRatedDoctors_ClampsLimit() {
+        when(topRatedDoctorIndex.top(500, null)).thenReturn(Collections.emptyList());
+
+        List<DoctorResponseDTO> result = doctorService.getTopRatedDoctors(10000);
+
+        assertTrue(result.isEmpty());
+        verify(doctorRepository, never()).findAllById(any());
     }
 }
@@ -2,6 +2,9 @@ package com.example.DoctorHub.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -15,13 +18,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.example.DoctorHub.Enum.Role;
+import com.example.DoctorHub.cache.DoctorProfileCache;
+import com.example.DoctorHub.dto.BulkImportResponseDTO;
+import com.example.DoctorHub.dto.CursorPageDTO;
 import com.example.DoctorHub.dto.UserRequestDTO;
 import com.example.DoctorHub.dto.UserResponseDTO;
+import com.example.DoctorHub.exception.InvalidCursorException;
 import com.example.DoctorHub.exception.UserNotFoundException;
+import com.example.DoctorHub.index.EmailBloomFilter;
+import com.example.DoctorHub.index.UserNameIndex;
 import com.example.DoctorHub.model.User;
+import com.example.DoctorHub.repository.DoctorRepository;
 import com.example.DoctorHub.repository.UserRepository;
+import com.example.DoctorHub.security.PasswordHasher;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -29,6 +43,24 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Mock
+    private DoctorProfileCache doctorProfileCache;
+
+    @Mock
+    private EmailBloomFilter emailBloomFilter;
+
+    @Mock
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UserNameIndex userNameIndex;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private UserService userService;
 
@@ -46,14 +78,14 @@ class UserServiceTest {
         userRequestDTO.setRole(Role.PATIENT);
 
         user = new User();
-        user.setId("user123");
+        user.setId(1123L);
         user.setName("John Doe");
         user.setEmail("john.doe@example.com");
         user.setPassword("password123");
         user.setRole(Role.PATIENT);
 
         userResponseDTO = new UserResponseDTO();
-        userResponseDTO.setId("user123");
+        userResponseDTO.setId("1123");
         userResponseDTO.setName("John Doe");
         userResponseDTO.setEmail("john.doe@example.com");
         userResponseDTO.setRole(Role.PATIENT);
@@ -63,104 +95,203 @@ class UserServiceTest {
 
     @Test
     void createUser_Success() {
+        when(passwordHasher.hash("password123")).thenReturn("hashed");
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         UserResponseDTO result = userService.createUser(userRequestDTO);
 
         assertNotNull(result);
-        assertEquals("user123", result.getId());
+        assertEquals("1123", result.getId());
         assertEquals("John Doe", result.getName());
         assertEquals("john.doe@example.com", result.getEmail());
         assertEquals(Role.PATIENT, result.getRole());
 
-        verify(userRepository).save(any(User.class));
+        verify(emailBloomFilter).put("john.doe@example.com");
+        verify(userRepository).save(argThat((User saved) -> "hashed".equals(saved.getPassword())));
+        verify(userNameIndex).put("1123", "John Doe");
+    }
+
+    @Test
+    void importUsers_SavesAllInOneCall() {
+        User secondUser = new User();
+        secondUser.setId(1124L);
+        when(passwordHasher.hashAll(anyList())).thenReturn(Arrays.asList("hashed1", "hashed2"));
+        when(userRepository.saveAll(anyList())).thenReturn(Arrays.asList(user, secondUser));
+        UserRequestDTO secondRequest = new UserRequestDTO("Jane Doe", "jane.doe@example.com", "password123", Role.PATIENT);
+
+        BulkImportResponseDTO result = userService.importUsers(Arrays.asList(userRequestDTO, secondRequest));
+
+        assertEquals(2, result.getImported());
+        assertEquals(Arrays.asList("1123", "1124"), result.getIds());
+        verify(userRepository, never()).save(any(User.class));
+        // Hashing finishes before the transaction, and so before a connection, is taken
+        InOrder inOrder = inOrder(passwordHasher, transactionManager, userRepository);
+        inOrder.verify(passwordHasher).hashAll(anyList());
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(userRepository).saveAll(anyList());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void importUsers_DuplicateEmail_ThrowsIllegalArgumentException() {
+        UserRequestDTO duplicate = new UserRequestDTO("Johnny Doe", "John.Doe@example.com", "password123", Role.PATIENT);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> userService.importUsers(Arrays.asList(userRequestDTO, duplicate)));
+
+        verify(userRepository, never()).saveAll(anyList());
     }
 
     @Test
     void getUserById_Success() {
-        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1123L)).thenReturn(Optional.of(user));
 
-        UserResponseDTO result = userService.getUserById("user123");
+        UserResponseDTO result = userService.getUserById("1123");
 
         assertNotNull(result);
-        assertEquals("user123", result.getId());
+        assertEquals("1123", result.getId());
         assertEquals("John Doe", result.getName());
 
-        verify(userRepository).findById("user123");
+        verify(userRepository).findById(1123L);
     }
 
     @Test
     void getUserById_NotFound() {
-        when(userRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> {
-            userService.getUserById("nonexistent");
+            userService.getUserById("999");
         });
 
-        verify(userRepository).findById("nonexistent");
+        verify(userRepository).findById(999L);
     }
 
     @Test
     void updateUser_Success() {
-        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1123L)).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
 
-        UserResponseDTO result = userService.updateUser("user123", userRequestDTO);
+        UserResponseDTO result = userService.updateUser("1123", userRequestDTO);
 
         assertNotNull(result);
-        assertEquals("user123", result.getId());
+        assertEquals("1123", result.getId());
 
-        verify(userRepository).findById("user123");
+        verify(userRepository).findById(1123L);
         verify(userRepository).save(any(User.class));
+        verify(doctorRepository, never()).findIdByUserId(anyLong());
+        verify(doctorProfileCache, never()).invalidate(anyString());
+    }
+
+    @Test
+    void updateUser_Doctor_InvalidatesThatDoctorsProfile() {
+        user.setRole(Role.DOCTOR);
+        userRequestDTO.setRole(Role.DOCTOR);
+        when(userRepository.findById(1123L)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenReturn(user);
+        when(doctorRepository.findIdByUserId(1123L)).thenReturn(Optional.of(2123L));
+
+        userService.updateUser("1123", userRequestDTO);
+
+        verify(doctorProfileCache).invalidate("2123");
     }
 
     @Test
     void updateUser_NotFound() {
-        when(userRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> {
-            userService.updateUser("nonexistent", userRequestDTO);
+            userService.updateUser("999", userRequestDTO);
         });
 
-        verify(userRepository).findById("nonexistent");
+        verify(userRepository).findById(999L);
         verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     void deleteUser_Success() {
-        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
-        doNothing().when(userRepository).deleteById("user123");
+        when(userRepository.findById(1123L)).thenReturn(Optional.of(user));
+        doNothing().when(userRepository).deleteById(1123L);
 
-        boolean result = userService.deleteUser("user123");
+        boolean result = userService.deleteUser("1123");
 
         assertTrue(result);
-        verify(userRepository).findById("user123");
-        verify(userRepository).deleteById("user123");
+        verify(userRepository).findById(1123L);
+        verify(userRepository).deleteById(1123L);
+        verify(userNameIndex).remove("1123");
     }
 
     @Test
     void deleteUser_NotFound() {
-        when(userRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> {
-            userService.deleteUser("nonexistent");
+            userService.deleteUser("999");
         });
 
-        verify(userRepository).findById("nonexistent");
-        verify(userRepository, never()).deleteById(anyString());
+        verify(userRepository).findById(999L);
+        verify(userRepository, never()).deleteById(anyLong());
     }
 
     @Test
-    void getAllUsers_Success() {
-        when(userRepository.findAll()).thenReturn(userList);
+    void getUsersPage_FirstPage_ReturnsNextCursor() {
+        User nextUser = new User();
+        nextUser.setId(1124L);
+        when(userRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(Arrays.asList(user, nextUser));
 
-        List<UserResponseDTO> result = userService.getAllUsers();
+        CursorPageDTO<UserResponseDTO> result = userService.getUsersPage(null, 1);
 
-        assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("user123", result.get(0).getId());
+        assertEquals(1, result.getItems().size());
+        assertEquals("1123", result.getItems().get(0).getId());
+        assertEquals("1123", result.getNextCursor());
+    }
+
+    @Test
+    void getUsersPage_AfterCursor_LastPageHasNoCursor() {
+        when(userRepository.findByIdGreaterThanOrderByIdAsc(1100L, Limit.of(51))).thenReturn(userList);
 
-        verify(userRepository).findAll();
+        CursorPageDTO<UserResponseDTO> result = userService.getUsersPage("1100", 50);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getUsersPage_InvalidCursor_ThrowsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> userService.getUsersPage("user100", 50));
+
+        verify(userRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    void searchUsersByName_ReturnsRankedPageWithOffsetCursor() {
+        User secondUser = new User();
+        secondUser.setId(1124L);
+        secondUser.setName("Johnny Doe");
+        when(userNameIndex.search("john", 0, 3)).thenReturn(Arrays.asList("1124", "1123", "1125"));
+        when(userRepository.findAllById(Arrays.asList(1124L, 1123L))).thenReturn(Arrays.asList(user, secondUser));
+
+        CursorPageDTO<UserResponseDTO> result = userService.searchUsersByName("john", null, 2);
+
+        assertEquals(Arrays.asList("1124", "1123"), result.getItems().stream().map(UserResponseDTO::getId).toList());
+        assertEquals("2", result.getNextCursor());
+    }
+
+    @Test
+    void searchUsersByName_LastPageHasNoCursor() {
+        when(userNameIndex.search("john", 20, 21)).thenReturn(Arrays.asList("1123"));
+        when(userRepository.findAllById(Arrays.asList(1123L))).thenReturn(userList);
+
+        CursorPageDTO<UserResponseDTO> result = userService.searchUsersByName("john", "20", 20);
+
+        assertEquals(1, result.getItems().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void searchUsersByName_InvalidCursor_ThrowsInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> userService.searchUsersByName("john", "abc", 20));
+
+        verify(userNameIndex, never()).search(anyString(), anyInt(), anyInt());
     }
 
     @Test
@@ -188,17 +319,36 @@ class UserServiceTest {
 
     @Test
     void verifyUserCredentials_Success() {
+        user.setPassword("$2a$10$hash");
         when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("password123", "$2a$10$hash")).thenReturn(true);
+        when(passwordHasher.needsRehash("$2a$10$hash")).thenReturn(false);
 
         boolean result = userService.verifyUserCredentials("john.doe@example.com", "password123");
 
         assertTrue(result);
         verify(userRepository).findByEmail("john.doe@example.com");
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void verifyUserCredentials_LegacyPlaintext_RehashesOnSuccess() {
+        when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("password123", "password123")).thenReturn(true);
+        when(passwordHasher.needsRehash("password123")).thenReturn(true);
+        when(passwordHasher.hash("password123")).thenReturn("$2a$10$hash");
+
+        boolean result = userService.verifyUserCredentials("john.doe@example.com", "password123");
+
+        assertTrue(result);
+        assertEquals("$2a$10$hash", user.getPassword());
+        verify(userRepository).save(user);
     }
 
     @Test
     void verifyUserCredentials_WrongPassword() {
         when(userRepository.findByEmail("john.doe@example.com")).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("wrongpassword", "password123")).thenReturn(false);
 
         boolean result = userService.verifyUserCredentials("john.doe@example.com", "wrongpassword");
 
@@ -219,57 +369,74 @@ class UserServiceTest {
 
     @Test
     void changePassword_Success() {
-        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1123L)).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("password123", "password123")).thenReturn(true);
+        when(passwordHasher.hash("newpassword123")).thenReturn("$2a$10$hash");
         when(userRepository.save(any(User.class))).thenReturn(user);
 
-        boolean result = userService.changePassword("user123", "password123", "newpassword123");
+        boolean result = userService.changePassword("1123", "password123", "newpassword123");
 
         assertTrue(result);
-        verify(userRepository).findById("user123");
+        verify(userRepository).findById(1123L);
         verify(userRepository).save(any(User.class));
     }
 
     @Test
     void changePassword_WrongOldPassword() {
-        when(userRepository.findById("user123")).thenReturn(Optional.of(user));
+        when(userRepository.findById(1123L)).thenReturn(Optional.of(user));
+        when(passwordHasher.matches("wrongpassword", "password123")).thenReturn(false);
 
-        boolean result = userService.changePassword("user123", "wrongpassword", "newpassword123");
+        boolean result = userService.changePassword("1123", "wrongpassword", "newpassword123");
 
         assertFalse(result);
-        verify(userRepository).findById("user123");
+        verify(userRepository).findById(1123L);
         verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     void changePassword_UserNotFound() {
-        when(userRepository.findById("nonexistent")).thenReturn(Optional.empty());
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> {
-            userService.changePassword("nonexistent", "oldpassword", "newpassword");
+            userService.changePassword("999", "oldpassword", "newpassword");
         });
 
-        verify(userRepository).findById("nonexistent");
+        verify(userRepository).findById(999L);
         verify(userRepository, never()).save(any(User.class));
     }
 
     @Test
     void isEmailExists_True() {
+        when(emailBloomFilter.mightContain("john.doe@example.com")).thenReturn(true);
         when(userRepository.existsByEmail("john.doe@example.com")).thenReturn(true);
 
         boolean result = userService.isEmailExists("john.doe@example.com");
 
         assertTrue(result);
         verify(userRepository).existsByEmail("john.doe@example.com");
+        verify(emailBloomFilter).recordDatabaseResult(true);
     }
 
     @Test
     void isEmailExists_False() {
+        when(emailBloomFilter.mightContain("nonexistent@example.com")).thenReturn(true);
         when(userRepository.existsByEmail("nonexistent@example.com")).thenReturn(false);
 
         boolean result = userService.isEmailExists("nonexistent@example.com");
 
         assertFalse(result);
         verify(userRepository).existsByEmail("nonexistent@example.com");
+        verify(emailBloomFilter).recordDatabaseResult(false);
+    }
+
+    @Test
+    void isEmailExists_RuledOutByFilter_SkipsDatabase() {
+        when(emailBloomFilter.mightContain("nonexistent@example.com")).thenReturn(false);
+
+        boolean result = userService.isEmailExists("nonexistent@example.com");
+
+        assertFalse(result);
+        verify(userRepository, never()).existsByEmail(anyString());
     }
 
     @Test
@@ -288,14 +455,14 @@ class UserServiceTest {
     @Test
     void activateUser_NotImplemented() {
         assertThrows(UnsupportedOperationException.class, () -> {
-            userService.activateUser("user123");
+            userService.activateUser("1123");
         });
     }
 
     @Test
     void deactivateUser_NotImplemented() {
         assertThrows(UnsupportedOperationException.class, () -> {
-            userService.deactivateUser("user123");
+            userService.deactivateUser("1123");
         });
     }
 